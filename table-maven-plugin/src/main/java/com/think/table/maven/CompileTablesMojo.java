@@ -0,0 +1,244 @@
+package com.think.table.maven;
+
+import com.think.table.annotation.CfgTable;
+import com.think.table.bundle.TableCompiler;
+import com.think.table.converter.StringToFormulaConverter;
+import com.think.table.converter.StringToMapConverter;
+import com.think.table.exception.TableException;
+import com.think.table.properties.TableProperties;
+import com.think.table.reader.TableReaderFactory;
+import com.think.table.reader.TableReaderRegistry;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 构建时把配置表编译为二进制配置表, 输出到 classes 目录后随 jar 一起打包.
+ * <p>扫描项目中的 {@link CfgTable} 类, 使用与运行期相同的读取器读取源文件并校验主键, 任意一张表失败时构建失败.
+ * 运行期把 {@code bin} 放在 {@code com.think.table.resolution-order} 的最前面即可优先加载编译结果.</p>
+ * <p>读取器的配置与运行期一致, 从项目的 {@code application.properties}、{@code application.yml} 中读取
+ * {@code com.think.table} 下的配置, 插件参数优先.</p>
+ *
+ * @author veione
+ */
+@Mojo(name = "compile-tables", defaultPhase = LifecyclePhase.PROCESS_CLASSES, threadSafe = true,
+        requiresDependencyResolution = ResolutionScope.COMPILE)
+public class CompileTablesMojo extends AbstractMojo {
+
+    private static final String PREFIX = "com.think.table";
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * 配置表源文件目录
+     */
+    @Parameter(defaultValue = "${project.basedir}/src/main/resources/table", required = true)
+    private File sourceDirectory;
+
+    /**
+     * 二进制配置表输出目录, 对应运行期的 {@code com.think.table.path}
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}/table", required = true)
+    private File outputDirectory;
+
+    /**
+     * 扫描 {@link CfgTable} 类的包
+     */
+    @Parameter(required = true)
+    private List<String> basePackages;
+
+    /**
+     * 读取 {@code com.think.table} 配置的文件, 前面的文件优先, 默认为 {@code src/main/resources} 下的
+     * {@code application.properties}、{@code application.yml}、{@code application.yaml}
+     */
+    @Parameter
+    private List<File> configFiles;
+
+    /**
+     * 覆盖配置文件中的配置, 键为 {@code com.think.table.} 之后的部分, 例如 {@code csv.skip-lines}
+     */
+    @Parameter
+    private Map<String, String> properties = new LinkedHashMap<>();
+
+    /**
+     * 未指定格式的配置表使用的源文件格式, 配置文件中也没有配置时为 CSV
+     */
+    @Parameter
+    private TableProperties.TableType type;
+
+    /**
+     * 源文件格式的查找顺序, 值为文件后缀
+     */
+    @Parameter
+    private List<String> resolutionOrder = new ArrayList<>();
+
+    /**
+     * CSV 分隔符, 等同于 {@code <properties><csv.line-separator>}
+     */
+    @Parameter
+    private String csvSeparator;
+
+    /**
+     * 配置表包文件名, 设置后所有配置表打包为一个文件, 不再逐个输出
+     */
+    @Parameter
+    private String bundleName;
+
+    @Parameter(property = "table.compile.skip", defaultValue = "false")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Table compile skipped");
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(classpath(), getClass().getClassLoader())) {
+            thread.setContextClassLoader(classLoader);
+            List<Class<?>> classes = scan(classLoader);
+            if (classes.isEmpty()) {
+                getLog().warn("No @CfgTable class found in " + basePackages);
+                return;
+            }
+            TableCompiler compiler = new TableCompiler(readers(), sourceDirectory.toPath(), outputDirectory.toPath());
+            if (bundleName != null && !bundleName.isBlank()) {
+                Path bundle = compiler.compileBundle(classes, bundleName);
+                getLog().info(String.format("Packed %d tables into %s", classes.size(), bundle));
+                return;
+            }
+            List<Path> outputs = compiler.compile(classes);
+            getLog().info(String.format("Compiled %d tables into %s", outputs.size(), outputDirectory));
+        } catch (TableException e) {
+            throw new MojoFailureException(e.getMessage(), e);
+        } catch (Exception e) {
+            throw new MojoExecutionException("Table compile failed", e);
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+    }
+
+    private TableReaderRegistry readers() throws IOException {
+        TableProperties tableProperties = tableProperties();
+        if (tableProperties.getType() == null) {
+            tableProperties.setType(TableProperties.TableType.CSV);
+        }
+        DefaultConversionService conversionService = new DefaultConversionService();
+        conversionService.addConverter(new StringToMapConverter(conversionService));
+        conversionService.addConverter(new StringToFormulaConverter());
+        return new TableReaderFactory(tableProperties, conversionService).createTableReaders();
+    }
+
+    /**
+     * 按运行期的规则绑定 {@code com.think.table} 配置, 插件参数优先于配置文件
+     */
+    private TableProperties tableProperties() throws IOException {
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        properties.forEach((key, value) -> overrides.put(PREFIX + "." + key, value));
+        if (type != null) {
+            overrides.put(PREFIX + ".type", type.name());
+        }
+        if (!resolutionOrder.isEmpty()) {
+            overrides.put(PREFIX + ".resolution-order", String.join(",", resolutionOrder));
+        }
+        if (csvSeparator != null) {
+            overrides.put(PREFIX + ".csv.line-separator", csvSeparator);
+        }
+        List<PropertySource<?>> sources = new ArrayList<>();
+        sources.add(new MapPropertySource("plugin", overrides));
+        for (File file : configFiles()) {
+            sources.addAll(load(file));
+        }
+        return new Binder(ConfigurationPropertySources.from(sources)).bind(PREFIX, TableProperties.class)
+                .orElseGet(TableProperties::new);
+    }
+
+    private List<File> configFiles() {
+        if (configFiles != null) {
+            return configFiles;
+        }
+        File resources = new File(project.getBasedir(), "src/main/resources");
+        List<File> files = new ArrayList<>(3);
+        for (String name : List.of("application.properties", "application.yml", "application.yaml")) {
+            File file = new File(resources, name);
+            if (file.isFile()) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * @return 文件中的各个文档, 后面的文档优先, 只对特定 profile 生效的文档不加载
+     */
+    private List<PropertySource<?>> load(File file) throws IOException {
+        String name = file.getName();
+        PropertySourceLoader loader = name.endsWith(".properties") ? new PropertiesPropertySourceLoader() : new YamlPropertySourceLoader();
+        List<PropertySource<?>> documents = new ArrayList<>(loader.load(name, new FileSystemResource(file)));
+        documents.removeIf(document -> document.containsProperty("spring.config.activate.on-profile")
+                || document.containsProperty("spring.profiles"));
+        Collections.reverse(documents);
+        return documents;
+    }
+
+    private URL[] classpath() throws DependencyResolutionRequiredException, MalformedURLException {
+        List<String> elements = project.getCompileClasspathElements();
+        URL[] urls = new URL[elements.size()];
+        for (int i = 0; i < urls.length; i++) {
+            urls[i] = new File(elements.get(i)).toURI().toURL();
+        }
+        return urls;
+    }
+
+    private List<Class<?>> scan(ClassLoader classLoader) throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        scanner.addIncludeFilter(new AnnotationTypeFilter(CfgTable.class));
+        Set<String> names = new LinkedHashSet<>();
+        for (String basePackage : basePackages) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                names.add(candidate.getBeanClassName());
+            }
+        }
+        List<Class<?>> classes = new ArrayList<>(names.size());
+        for (String name : names) {
+            classes.add(Class.forName(name, true, classLoader));
+        }
+        return classes;
+    }
+}
@@ -0,0 +1,577 @@
+package com.think.table;
+
+import com.think.table.annotation.CfgTable;
+import com.think.table.bundle.TableBundle;
+import com.think.table.exception.TableValidationException;
+import com.think.table.properties.TableProperties;
+import com.think.table.query.Query;
+import com.think.table.reader.ExcelTableReader;
+import com.think.table.reader.TableReader;
+import com.think.table.reader.TableReaderRegistry;
+import com.think.table.reader.TableSheet;
+import com.think.table.repository.CfgRepository;
+import com.think.table.validation.TableValidator;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.filefilter.FileFilterUtils;
+import org.apache.commons.io.filefilter.IOFileFilter;
+import org.apache.commons.io.monitor.FileAlterationListenerAdaptor;
+import org.apache.commons.io.monitor.FileAlterationMonitor;
+import org.apache.commons.io.monitor.FileAlterationObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Default table manager implementation.
+ *
+ * @author veione
+ */
+public class DefaultTableManager implements TableManager, AutoCloseable {
+    private final Logger logger = LoggerFactory.getLogger(DefaultTableManager.class);
+    private final Map<Class<?>, CfgRepository<?, ?>> tableMap = new ConcurrentHashMap<>(64);
+    /**
+     * 文件名对应的配置表, Excel 工作簿的多个工作表可以对应多个配置表
+     */
+    private final Map<String, List<Class<?>>> tableNameMap = new HashMap<>(64);
+    private final TableReaderRegistry readers;
+    private final TableProperties properties;
+    /**
+     * 构建时打包的配置表包, 未配置或者不存在时为 {@code null}
+     */
+    private volatile TableBundle bundle;
+    /**
+     * 配置表依赖图, 由 {@link TablePreloader} 在启动完成时构建
+     */
+    private volatile TableDependencyGraph dependencyGraph;
+    /**
+     * 是否推迟加载, 为 {@code true} 时新创建的仓库不加载数据, 由 {@link TablePreloader} 按依赖顺序统一加载
+     */
+    private volatile boolean loadingDeferred;
+    /**
+     * 配置类对应的校验器
+     */
+    private final Map<Class<?>, List<TableValidator<?>>> validators = new ConcurrentHashMap<>(16);
+    /**
+     * 查找注册为 Bean 的校验器, 每张配置表第一次校验时才创建它的校验器, 校验器可以注入仓库
+     */
+    private volatile ListableBeanFactory validatorBeans;
+    /**
+     * 已经创建过校验器 Bean 的配置类
+     */
+    private final Set<Class<?>> validatorsResolved = ConcurrentHashMap.newKeySet();
+    private FileAlterationObserver fileAlterationObserver;
+    private FileAlterationMonitor fileAlterationMonitor;
+
+    public DefaultTableManager(TableProperties properties, TableReader reader) {
+        this(properties, TableReaderRegistry.of(reader));
+    }
+
+    public DefaultTableManager(TableProperties properties, TableReaderRegistry readers) {
+        this.properties = properties;
+        this.readers = readers;
+        this.bundle = openBundle();
+        this.startMonitor();
+    }
+
+    /**
+     * 映射配置表包, 只解析目录, 各配置表在仓库初始化时解码
+     */
+    private TableBundle openBundle() {
+        String name = properties.getBundle().getName();
+        if (!StringUtils.hasText(name)) {
+            return null;
+        }
+        ClassPathResource resource = new ClassPathResource(properties.getPath() + File.separator + name);
+        if (!resource.exists()) {
+            logger.warn("Table bundle {} not found, tables will be loaded from source files", resource.getPath());
+            return null;
+        }
+        try {
+            TableBundle opened = TableBundle.open(resource);
+            logger.info("Table bundle {} opened, tables: {}", name, opened.getTableNames().size());
+            return opened;
+        } catch (Exception e) {
+            logger.error("Table bundle {} open failed, tables will be loaded from source files", name, e);
+            return null;
+        }
+    }
+
+    /**
+     * 开启文件监听
+     */
+    private void startMonitor() {
+        // 轮询间隔 5 秒
+        long interval = TimeUnit.SECONDS.toMillis(properties.getInterval());
+
+        try {
+            String path = new ClassPathResource(properties.getPath()).getFile().getAbsolutePath();
+            // 创建一个文件观察器用于处理文件的格式
+            IOFileFilter fileFilter = FileFilterUtils.and(FileFilterUtils.fileFileFilter());
+            for (String suffix : readers.getSuffixes()) {
+                fileFilter = fileFilter.or(FileFilterUtils.suffixFileFilter(suffix));
+            }
+            String bundleName = properties.getBundle().getName();
+            if (StringUtils.hasText(bundleName)) {
+                fileFilter = fileFilter.or(FileFilterUtils.nameFileFilter(bundleName));
+            }
+            fileAlterationObserver = new FileAlterationObserver(path, fileFilter);
+            //设置文件变化监听器
+            fileAlterationObserver.addListener(new FileAlterationListenerAdaptor() {
+                @Override
+                public void onFileChange(File file) {
+                    String fileName = file.getName();
+                    logger.info("Table resource {} changed.", fileName);
+                    if (fileName.equals(properties.getBundle().getName())) {
+                        reloadBundle();
+                        return;
+                    }
+                    String fileBaseName = FilenameUtils.getBaseName(fileName);
+                    List<Class<?>> classes = tableNameMap.get(fileBaseName);
+                    if (classes == null) {
+                        logger.warn("Table file reload fail, table info not exist -> {}", fileBaseName);
+                        return;
+                    }
+                    TableReader reader = readers.getReader(FilenameUtils.getExtension(fileName));
+                    if (classes.size() > 1 && reader instanceof ExcelTableReader excelReader) {
+                        reloadWorkbook(file, classes, excelReader);
+                        return;
+                    }
+                    // 从发生变化的文件重新加载, 开发时即使存在编译后的二进制配置表, 修改源文件也能立即生效
+                    for (Class<?> clazz : classes) {
+                        CfgRepository repository = tableMap.get(clazz);
+                        if (repository == null) {
+                            logger.warn("Table file reload fail, Repository not exist -> {}", fileBaseName);
+                            continue;
+                        }
+                        if (reader != null && repository instanceof DefaultTableRepositoryInvocationHandler<?> handler) {
+                            String format = handler.getDefinition().getFormat();
+                            if (format.isEmpty() || format.equals(reader.getSuffix())) {
+                                handler.reload(new TableSource(reader, new FileSystemResource(file)));
+                            }
+                            continue;
+                        }
+                        Reloadable reloadable = (Reloadable) repository;
+                        reloadable.reload();
+                    }
+                }
+            });
+            fileAlterationMonitor = new FileAlterationMonitor(interval, fileAlterationObserver);
+            fileAlterationMonitor.start();
+            logger.info("Table hotswap monitor stared :) interval(s): {}, path: {}", interval, path);
+        } catch (Exception e) {
+            logger.error("Start table hotswap monitor failed", e);
+        }
+    }
+
+    /**
+     * 重新映射配置表包, 重新加载包中的所有配置表
+     */
+    private void reloadBundle() {
+        TableBundle reopened = openBundle();
+        if (reopened == null) {
+            return;
+        }
+        this.bundle = reopened;
+        for (String name : reopened.getTableNames()) {
+            for (Class<?> clazz : tableNameMap.getOrDefault(name, List.of())) {
+                if (tableMap.get(clazz) instanceof Reloadable reloadable) {
+                    reloadable.reload();
+                }
+            }
+        }
+    }
+
+    /**
+     * 一次读取工作簿, 把各个工作表分发给对应的配置表, 全部读取成功后才发布新的快照
+     *
+     * @param file        工作簿文件
+     * @param classes     工作簿中的配置表
+     * @param excelReader Excel 读取器
+     */
+    private void reloadWorkbook(File file, List<Class<?>> classes, ExcelTableReader excelReader) {
+        List<DefaultTableRepositoryInvocationHandler<?>> handlers = new ArrayList<>(classes.size());
+        for (Class<?> clazz : classes) {
+            DefaultTableRepositoryInvocationHandler<?> handler = getHandler(clazz);
+            if (handler != null) {
+                handlers.add(handler);
+            }
+        }
+        try {
+            List<WorkbookSheet<?>> pending = readWorkbook(new TableSource(excelReader, new FileSystemResource(file)), handlers);
+            // 所有工作表都通过校验后才一起发布
+            for (WorkbookSheet<?> sheet : pending) {
+                sheet.validate();
+            }
+            pending.forEach(WorkbookSheet::publish);
+            logger.info("Table workbook {} reloaded, sheets: {}", file.getName(), pending.size());
+        } catch (Exception e) {
+            logger.error("配置表读取失败 {} :(", file.getName(), e);
+        }
+    }
+
+    /**
+     * 一次读取工作簿中的多个工作表, 只读取不校验
+     *
+     * @param source   Excel 读取器和工作簿
+     * @param handlers 工作簿中的配置表
+     * @return 已经读取全部行的工作表
+     * @throws Exception 读取失败
+     */
+    List<WorkbookSheet<?>> readWorkbook(TableSource source, List<DefaultTableRepositoryInvocationHandler<?>> handlers) throws Exception {
+        List<TableSheet<?>> sheets = new ArrayList<>(handlers.size());
+        List<WorkbookSheet<?>> pending = new ArrayList<>(handlers.size());
+        for (DefaultTableRepositoryInvocationHandler<?> handler : handlers) {
+            WorkbookSheet<?> sheet = WorkbookSheet.of(handler);
+            pending.add(sheet);
+            sheets.add(sheet.sheet());
+        }
+        Resource resource = source.resource();
+        try (InputStream inputStream = resource.isFile() ? new FileInputStream(resource.getFile()) : resource.getInputStream()) {
+            ((ExcelTableReader) source.reader()).read(inputStream, sheets);
+        }
+        return pending;
+    }
+
+    /**
+     * 工作簿中一个工作表的加载状态
+     */
+    static final class WorkbookSheet<T> {
+        private final DefaultTableRepositoryInvocationHandler<T> handler;
+        private final TableSnapshot.Builder<T> builder;
+        private TableSnapshot<T> validated;
+
+        private WorkbookSheet(DefaultTableRepositoryInvocationHandler<T> handler) {
+            this.handler = handler;
+            this.builder = handler.newSnapshotBuilder();
+        }
+
+        static <T> WorkbookSheet<T> of(DefaultTableRepositoryInvocationHandler<T> handler) {
+            return new WorkbookSheet<>(handler);
+        }
+
+        TableSheet<T> sheet() {
+            return new TableSheet<>(handler.getDefinition().getSheetName(), handler.getTableClass(), builder::add);
+        }
+
+        void validate() throws TableValidationException {
+            validated = handler.validate(builder);
+        }
+
+        void publish() {
+            handler.publish(validated);
+        }
+
+        Class<T> getTableClass() {
+            return handler.getTableClass();
+        }
+    }
+
+    @Override
+    public void close() {
+        tableMap.clear();
+        tableNameMap.clear();
+        fileAlterationMonitor.removeObserver(fileAlterationObserver);
+        logger.info("配置表容器关闭,资源清理完毕 :)");
+    }
+
+    protected TableProperties getProperties() {
+        return properties;
+    }
+
+    @Override
+    public <T> Optional<T> findById(Class<T> clazz, Predicate<T> predicate) {
+        CfgRepository<T, ?> cfgOperationRepository = (CfgRepository<T, ?>) tableMap.get(clazz);
+        if (cfgOperationRepository == null) {
+            return Optional.empty();
+        }
+
+        return cfgOperationRepository.findById(predicate);
+    }
+
+    @Override
+    public <T> T findById(Class<T> clazz, Serializable id) {
+        CfgRepository<T, Serializable> cfgOperationRepository = (CfgRepository<T, Serializable>) tableMap.get(clazz);
+        if (cfgOperationRepository == null) {
+            return null;
+        }
+
+        return cfgOperationRepository.findById(id);
+    }
+
+    @Override
+    public <T> List<T> findAll(Class<T> clazz, Predicate<T> predicate) {
+        CfgRepository<T, Serializable> cfgOperationRepository = (CfgRepository<T, Serializable>) tableMap.get(clazz);
+        if (cfgOperationRepository == null) {
+            return null;
+        }
+
+        return cfgOperationRepository.findAll(predicate);
+    }
+
+    @Override
+    public <T> List<T> findAll(Class<T> clazz) {
+        CfgRepository<T, Serializable> cfgOperationRepository = (CfgRepository<T, Serializable>) tableMap.get(clazz);
+        if (cfgOperationRepository == null) {
+            return null;
+        }
+
+        return cfgOperationRepository.findAll();
+    }
+
+    @Override
+    public <T> long count(Class<T> clazz, Predicate<T> predicate) {
+        CfgRepository<T, Serializable> cfgOperationRepository = (CfgRepository<T, Serializable>) tableMap.get(clazz);
+        if (cfgOperationRepository == null) {
+            return 0L;
+        }
+
+        return cfgOperationRepository.count(predicate);
+    }
+
+    @Override
+    public <T> boolean exists(Class<T> clazz, Serializable id) {
+        CfgRepository<T, Serializable> cfgOperationRepository = (CfgRepository<T, Serializable>) tableMap.get(clazz);
+        if (cfgOperationRepository == null) {
+            return false;
+        }
+
+        return cfgOperationRepository.exists(id);
+    }
+
+    @Override
+    public <T> boolean exists(Class<T> clazz, Predicate<T> predicate) {
+        CfgRepository<T, Serializable> cfgOperationRepository = (CfgRepository<T, Serializable>) tableMap.get(clazz);
+        if (cfgOperationRepository == null) {
+            return false;
+        }
+
+        return cfgOperationRepository.exists(predicate);
+    }
+
+    @Override
+    public <T> Optional<T> findOne(Class<T> clazz, Query query) {
+        CfgRepository<T, Serializable> cfgOperationRepository = (CfgRepository<T, Serializable>) tableMap.get(clazz);
+        if (cfgOperationRepository == null) {
+            return Optional.empty();
+        }
+
+        return cfgOperationRepository.findOne(query);
+    }
+
+    @Override
+    public <T> List<T> findAll(Class<T> clazz, Query query) {
+        CfgRepository<T, Serializable> cfgOperationRepository = (CfgRepository<T, Serializable>) tableMap.get(clazz);
+        if (cfgOperationRepository == null) {
+            return null;
+        }
+
+        return cfgOperationRepository.findAll(query);
+    }
+
+    @Override
+    public <T> long count(Class<T> clazz, Query query) {
+        CfgRepository<T, Serializable> cfgOperationRepository = (CfgRepository<T, Serializable>) tableMap.get(clazz);
+        if (cfgOperationRepository == null) {
+            return 0L;
+        }
+
+        return cfgOperationRepository.count(query);
+    }
+
+    @Override
+    public <T> boolean exists(Class<T> clazz, Query query) {
+        CfgRepository<T, Serializable> cfgOperationRepository = (CfgRepository<T, Serializable>) tableMap.get(clazz);
+        if (cfgOperationRepository == null) {
+            return false;
+        }
+
+        return cfgOperationRepository.exists(query);
+    }
+
+    @Override
+    public <T, R> R getRef(Class<T> clazz, T row, String field) {
+        CfgRepository<T, Serializable> cfgOperationRepository = (CfgRepository<T, Serializable>) tableMap.get(clazz);
+        if (cfgOperationRepository == null) {
+            return null;
+        }
+
+        return cfgOperationRepository.getRef(row, field);
+    }
+
+    protected TableReader getReader() {
+        return readers.getDefaultReader();
+    }
+
+    /**
+     * @return 配置表包, 未配置或者不存在时返回 {@code null}
+     */
+    protected TableBundle getBundle() {
+        return bundle;
+    }
+
+    protected TableReaderRegistry getReaders() {
+        return readers;
+    }
+
+    /**
+     * 查找配置表的数据文件. 指定了格式时只使用该格式, 否则按解析顺序返回第一个存在的文件,
+     * 都不存在时返回默认格式的文件, 由读取时报告文件不存在
+     *
+     * @param definition 配置表定义
+     * @return 读取器和数据文件
+     */
+    TableSource resolve(TableDefinition definition) {
+        List<TableReader> candidates = readers.candidates(definition.getFormat());
+        TableSource source = null;
+        for (TableReader candidate : candidates) {
+            String fileName = String.format("%s%s%s.%s", properties.getPath(), File.separator,
+                    definition.getTableFileName(), candidate.getSuffix());
+            source = new TableSource(candidate, new ClassPathResource(fileName));
+            if (source.resource().exists()) {
+                return source;
+            }
+        }
+        return source;
+    }
+
+    /**
+     * 配置表解析出的读取器和数据文件
+     *
+     * @param reader   读取器
+     * @param resource 数据文件
+     */
+    record TableSource(TableReader reader, Resource resource) {
+    }
+
+    /**
+     * 注册配置表仓库
+     *
+     * @param clazz
+     * @param repository
+     * @param <T>
+     */
+    protected <T> void register(Class<T> clazz, CfgRepository<T, Serializable> repository) {
+        this.tableMap.put(clazz, repository);
+        CfgTable anno = clazz.getAnnotation(CfgTable.class);
+        this.tableNameMap.computeIfAbsent(anno.value(), k -> new ArrayList<>(1)).add(clazz);
+    }
+
+    /**
+     * @param clazz 配置类
+     * @return 已经创建的仓库, 不存在时返回 {@code null}
+     */
+    DefaultTableRepositoryInvocationHandler<?> getHandler(Class<?> clazz) {
+        return tableMap.get(clazz) instanceof DefaultTableRepositoryInvocationHandler<?> handler ? handler : null;
+    }
+
+    /**
+     * 配置表发布新的快照后, 重新解析引用它的配置表
+     *
+     * @param clazz 发布快照的配置类
+     */
+    void published(Class<?> clazz) {
+        TableDependencyGraph graph = dependencyGraph;
+        if (graph != null && graph.contains(clazz)) {
+            // 按拓扑顺序只处理直接或者间接依赖它的配置表
+            for (Class<?> dependent : graph.getTransitiveDependents(clazz)) {
+                DefaultTableRepositoryInvocationHandler<?> handler = getHandler(dependent);
+                if (handler != null) {
+                    handler.revalidate();
+                }
+            }
+            return;
+        }
+        for (CfgRepository<?, ?> repository : List.copyOf(tableMap.values())) {
+            if (repository instanceof DefaultTableRepositoryInvocationHandler<?> handler
+                    && handler.getTableClass() != clazz && handler.dependsOn(clazz)) {
+                handler.revalidate();
+            }
+        }
+    }
+
+    /**
+     * 注册校验器, 在对应配置表下一次加载时生效
+     *
+     * @param validator 校验器
+     */
+    public void addValidator(TableValidator<?> validator) {
+        validators.computeIfAbsent(validator.getTableClass(), k -> new CopyOnWriteArrayList<>()).add(validator);
+    }
+
+    /**
+     * @param clazz 配置类
+     * @return 配置类的校验器
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    <T> List<TableValidator<T>> getValidators(Class<T> clazz) {
+        if (validatorBeans != null && !validatorsResolved.contains(clazz)) {
+            resolveValidators(clazz);
+        }
+        return (List) validators.getOrDefault(clazz, List.of());
+    }
+
+    /**
+     * 只创建该配置表的校验器 Bean, 其他配置表的校验器注入的仓库不会因此提前创建
+     *
+     * @param clazz 配置类
+     */
+    private synchronized void resolveValidators(Class<?> clazz) {
+        if (validatorsResolved.contains(clazz)) {
+            return;
+        }
+        ObjectProvider<TableValidator<?>> provider = validatorBeans.getBeanProvider(
+                ResolvableType.forClassWithGenerics(TableValidator.class, clazz));
+        List<TableValidator<?>> resolved = provider.orderedStream()
+                .filter(validator -> validator.getTableClass() == clazz)
+                .toList();
+        resolved.forEach(this::addValidator);
+        validatorsResolved.add(clazz);
+    }
+
+    /**
+     * @param validatorBeans 查找注册为 Bean 的校验器, 每张配置表第一次校验时创建
+     */
+    void setValidatorBeans(ListableBeanFactory validatorBeans) {
+        this.validatorBeans = validatorBeans;
+    }
+
+    void setDependencyGraph(TableDependencyGraph dependencyGraph) {
+        this.dependencyGraph = dependencyGraph;
+    }
+
+    /**
+     * @return 配置表依赖图, 启动完成前返回 {@code null}
+     */
+    public TableDependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    void setLoadingDeferred(boolean loadingDeferred) {
+        this.loadingDeferred = loadingDeferred;
+    }
+
+    boolean isLoadingDeferred() {
+        return loadingDeferred;
+    }
+}
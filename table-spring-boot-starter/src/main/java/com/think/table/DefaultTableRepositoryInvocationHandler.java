@@ -0,0 +1,529 @@
+package com.think.table;
+
+import com.think.table.annotation.TableRepository;
+import com.think.table.bundle.TableBundle;
+import com.think.table.exception.TableReadException;
+import com.think.table.exception.TableValidationException;
+import com.think.table.index.AliasIndex;
+import com.think.table.index.RangeIndex;
+import com.think.table.query.Query;
+import com.think.table.query.QueryPlanner;
+import com.think.table.reader.BinaryTableReader;
+import com.think.table.reader.ExcelTableReader;
+import com.think.table.reader.TableReader;
+import com.think.table.reader.TableSheet;
+import com.think.table.repository.CfgRepository;
+import com.think.table.repository.WeightedSampler;
+import com.think.table.validation.TableValidation;
+import com.think.table.validation.TableValidator;
+import com.think.table.validation.ValidationReport;
+import com.think.table.validation.Violation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * Default table repository proxy handler.
+ *
+ * @param <T>
+ * @author veione
+ */
+public class DefaultTableRepositoryInvocationHandler<T> implements CfgRepository<T, Serializable>, InvocationHandler, Reloadable {
+    private static final Logger logger = LoggerFactory.getLogger(DefaultTableRepositoryInvocationHandler.class);
+    private final ApplicationContext applicationContext;
+    private final DefaultTableManager manager;
+    private final Class<T> clazz;
+    private final Class<T> tableClazz;
+    private final TableDefinition definition;
+    private final QueryPlanner<T> planner;
+    private final int queryCacheSize;
+    private final Set<Class<?>> dependencies;
+    private volatile TableSnapshot<T> snapshot;
+    /**
+     * 是否已经发布过加载完成的快照
+     */
+    private volatile boolean loaded;
+    /**
+     * 推迟加载期间是否已经因为查询提前加载过, 失败时不再重复加载, 由 {@link TablePreloader} 记为加载失败
+     */
+    private volatile boolean loadAttempted;
+    /**
+     * 不经过代理的权重抽取器, 每次抽取读取当前快照
+     */
+    private final WeightedSampler<T> sampler = new WeightedSampler<>() {
+        @Override
+        public T sample(RandomGenerator random) {
+            return aliasIndex().sample(random);
+        }
+
+        @Override
+        public T sample(long groupKey, RandomGenerator random) {
+            return aliasIndex().sample(groupKey, random);
+        }
+
+        @Override
+        public T sample(Object groupKey, RandomGenerator random) {
+            return aliasIndex().sample(groupKey, random);
+        }
+    };
+
+    public DefaultTableRepositoryInvocationHandler(ApplicationContext applicationContext, Class<T> clazz) {
+        this.applicationContext = applicationContext;
+        this.manager = applicationContext.getBean(DefaultTableManager.class);
+        this.clazz = clazz;
+        this.tableClazz = getCfgBeanType(clazz);
+        this.definition = new TableDefinition(tableClazz);
+        this.planner = new QueryPlanner<>(definition);
+        this.dependencies = TableDependencyGraph.declaredDependencies(tableClazz);
+        TableRepository anno = clazz.getAnnotation(TableRepository.class);
+        this.queryCacheSize = anno != null ? anno.queryCacheSize() : 0;
+        this.snapshot = TableSnapshot.<T>builder(definition, queryCacheSize).build();
+        this.manager.register(tableClazz, this);
+        this.init();
+    }
+
+    private void init() {
+        if (!manager.isLoadingDeferred()) {
+            reload();
+        }
+    }
+
+    /**
+     * 推迟加载期间被查询时 (例如其他 Bean 的构造方法、{@code @PostConstruct} 中读取配置表) 立即加载,
+     * 依赖的配置表先加载, 不返回空数据
+     *
+     * @return 当前快照
+     */
+    private TableSnapshot<T> snapshot() {
+        if (!loaded && !loadAttempted && manager.isLoadingDeferred()) {
+            loadOnAccess();
+        }
+        return snapshot;
+    }
+
+    private synchronized void loadOnAccess() {
+        if (loaded || loadAttempted) {
+            return;
+        }
+        TableDependencyGraph graph = manager.getDependencyGraph();
+        for (Class<?> dependency : graph != null ? graph.getDependencies(tableClazz) : dependencies) {
+            if (dependency != tableClazz) {
+                handler(dependency).snapshot();
+            }
+        }
+        reload();
+        loadAttempted = true;
+    }
+
+    @Override
+    public void reload() {
+        TableBundle bundle = manager.getBundle();
+        if (inBundle(bundle) && reload(bundle)) {
+            return;
+        }
+        reload(manager.resolve(definition));
+    }
+
+    private boolean inBundle(TableBundle bundle) {
+        String format = definition.getFormat();
+        return bundle != null && bundle.contains(definition.getTableFileName())
+                && (format.isEmpty() || format.equals(BinaryTableReader.SUFFIX));
+    }
+
+    /**
+     * @return 从 Excel 工作表加载时的工作簿, 可以与同一工作簿中的其他配置表一起读取; 从配置表包加载或者不是工作表时返回 {@code null}
+     */
+    DefaultTableManager.TableSource workbookSource() {
+        if (!StringUtils.hasText(definition.getSheetName()) || inBundle(manager.getBundle())) {
+            return null;
+        }
+        DefaultTableManager.TableSource source = manager.resolve(definition);
+        return source != null && source.reader() instanceof ExcelTableReader ? source : null;
+    }
+
+    /**
+     * 从配置表包的映射区域解码
+     *
+     * @return 是否加载成功, 包中的数据与配置类结构不一致时返回 {@code false}, 由调用方回退为读取源文件
+     */
+    private synchronized boolean reload(TableBundle bundle) {
+        try {
+            TableSnapshot.Builder<T> builder = newSnapshotBuilder();
+            bundle.read(definition.getTableFileName(), tableClazz, builder::add,
+                    manager.getProperties().getBundle().getParallelThreshold());
+            publish(builder);
+            return true;
+        } catch (TableReadException e) {
+            logger.error("配置表包读取失败 {}, 回退为读取源文件 :(", definition.getTableFileName(), e);
+            return false;
+        } catch (Exception e) {
+            logger.error("配置表包读取失败 {} :(", definition.getTableFileName(), e);
+            return true;
+        }
+    }
+
+    /**
+     * 从指定的文件重新加载
+     *
+     * @param source 读取器和数据文件
+     */
+    synchronized void reload(DefaultTableManager.TableSource source) {
+        TableReader reader = source.reader();
+        Resource resource = source.resource();
+        String tableFileName = resource.getDescription();
+
+        // 文件系统中的配置表直接打开文件流, 读取器可以对其做内存映射
+        try (InputStream inputStream = resource.isFile() ? new FileInputStream(resource.getFile()) : resource.getInputStream()) {
+            // 边读取边建立主键表和索引, 全部成功后才替换快照, 失败时保留上一次的数据
+            TableSnapshot.Builder<T> builder = newSnapshotBuilder();
+            if (reader instanceof ExcelTableReader excelReader && StringUtils.hasText(definition.getSheetName())) {
+                excelReader.read(inputStream, List.of(new TableSheet<>(definition.getSheetName(), tableClazz, builder::add)));
+            } else {
+                reader.read(inputStream, tableClazz, builder::add);
+            }
+            publish(builder);
+        } catch (Exception e) {
+            logger.error("配置表读取失败 {} :(", tableFileName, e);
+        }
+    }
+
+    /**
+     * @return 新的快照构建器, 与同一工作簿中的其他配置表一起加载时使用
+     */
+    TableSnapshot.Builder<T> newSnapshotBuilder() {
+        return TableSnapshot.builder(definition, queryCacheSize);
+    }
+
+    /**
+     * 校验并发布加载完成的快照
+     *
+     * @param builder 已经加入全部行的构建器
+     * @throws TableValidationException 校验失败, 继续使用上一次的数据
+     */
+    synchronized void publish(TableSnapshot.Builder<T> builder) throws TableValidationException {
+        publish(validate(builder));
+    }
+
+    /**
+     * 发布已经通过校验的快照
+     *
+     * @param validated {@link #validate} 的结果
+     */
+    synchronized void publish(TableSnapshot<T> validated) {
+        snapshot = validated;
+        loaded = true;
+        manager.published(tableClazz);
+    }
+
+    /**
+     * 解析引用字段并执行校验流水线, 悬空引用和所有校验器的错误汇总为一份报告
+     *
+     * @param builder 已经加入全部行的构建器
+     * @return 可以发布的快照
+     * @throws TableValidationException 校验失败
+     */
+    TableSnapshot<T> validate(TableSnapshot.Builder<T> builder) throws TableValidationException {
+        TableSnapshot<T> built = builder.build();
+        Function<Class<?>, TableSnapshot<?>> tables = target -> referencedSnapshot(target, built);
+        ValidationReport.Collector collector = new ValidationReport.Collector(definition.getTableFileName());
+        // 被引用的配置表加载失败时不能发布, 否则引用字段没有解析
+        for (TableDefinition.Reference reference : definition.getReferences()) {
+            if (tables.apply(reference.target()) == null) {
+                collector.add(new Violation(TableReferences.VALIDATOR_NAME, null, reference.field().getName(),
+                        String.format("referenced table %s is not loaded", reference.target().getSimpleName())));
+            }
+        }
+        TableSnapshot<T> resolved = definition.getReferences().isEmpty() ? built
+                : built.withRefs(TableReferences.resolve(definition, built.rows(), tables, collector::add));
+        ValidationReport report = TableValidation.validate(resolved, manager.getValidators(tableClazz), true, tables, collector);
+        if (!report.isValid()) {
+            throw new TableValidationException(report);
+        }
+        return resolved;
+    }
+
+    /**
+     * 依赖的配置表重新加载后重新解析引用并重新执行注册的校验器, 失败时继续使用上一次的结果
+     */
+    synchronized void revalidate() {
+        List<TableValidator<T>> validators = manager.getValidators(tableClazz);
+        if (!loaded || (definition.getReferences().isEmpty() && validators.isEmpty())) {
+            return;
+        }
+        TableSnapshot<T> current = snapshot;
+        Function<Class<?>, TableSnapshot<?>> tables = target -> referencedSnapshot(target, current);
+        ValidationReport.Collector collector = new ValidationReport.Collector(definition.getTableFileName());
+        TableSnapshot<T> resolved = definition.getReferences().isEmpty() ? current
+                : current.withRefs(TableReferences.resolve(definition, current.rows(), tables, collector::add));
+        ValidationReport report = TableValidation.validate(resolved, validators, false, tables, collector);
+        if (!report.isValid()) {
+            logger.error("依赖的配置表重新加载后校验失败, 继续使用上一次的结果 :(\n{}", report);
+            return;
+        }
+        snapshot = resolved;
+    }
+
+    /**
+     * @param target 配置类
+     * @return 是否依赖该配置表
+     * @see TableDependencyGraph#declaredDependencies(Class)
+     */
+    boolean dependsOn(Class<?> target) {
+        return dependencies.contains(target);
+    }
+
+    /**
+     * @return 是否已经发布过加载完成的快照
+     */
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return 推迟加载期间是否已经因为查询提前加载过
+     */
+    boolean isLoadAttempted() {
+        return loadAttempted;
+    }
+
+    /**
+     * 查找被引用配置表的快照, 被引用的配置表还没有加载完成时返回 {@code null}, 等它发布后再解析.
+     *
+     * @param target 被引用的配置类
+     * @param self   本表正在发布的快照, 用于解析引用本表的字段
+     */
+    private TableSnapshot<?> referencedSnapshot(Class<?> target, TableSnapshot<T> self) {
+        if (target == tableClazz) {
+            return self;
+        }
+        DefaultTableRepositoryInvocationHandler<?> handler = handler(target);
+        return handler.loaded ? handler.snapshot : null;
+    }
+
+    /**
+     * 仓库是懒加载的, 配置类的仓库还没有创建时先创建
+     *
+     * @param target 配置类
+     * @return 配置类对应的仓库
+     */
+    private DefaultTableRepositoryInvocationHandler<?> handler(Class<?> target) {
+        DefaultTableRepositoryInvocationHandler<?> handler = manager.getHandler(target);
+        if (handler == null) {
+            for (String beanName : applicationContext.getBeanNamesForType(CfgRepository.class, true, false)) {
+                Class<?> type = applicationContext.getType(beanName, false);
+                if (type != null && type.isAnnotationPresent(TableRepository.class) && getCfgBeanType(type) == target) {
+                    applicationContext.getBean(beanName);
+                }
+            }
+            handler = manager.getHandler(target);
+        }
+        if (handler == null) {
+            throw new IllegalStateException(String.format("Table %s references %s which has no @TableRepository",
+                    definition.getTableFileName(), target.getName()));
+        }
+        return handler;
+    }
+
+    TableDefinition getDefinition() {
+        return definition;
+    }
+
+    Class<T> getTableClass() {
+        return tableClazz;
+    }
+
+    static <T> Class<T> getCfgBeanType(Class<?> clazz) {
+        Type genericSuperclass = clazz.getGenericInterfaces()[0]; // Assuming the first interface is the one we want
+
+        if (!(genericSuperclass instanceof ParameterizedType parameterizedType)) {
+            throw new IllegalArgumentException("Supertype is not parameterized");
+        }
+
+        Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
+
+        if (actualTypeArguments.length == 0) {
+            throw new IllegalStateException("No generic types found");
+        }
+
+        Type beanType = actualTypeArguments[0];
+
+        if (!(beanType instanceof Class)) {
+            throw new IllegalArgumentException("First generic type is not a class");
+        }
+
+        return (Class<T>) beanType;
+    }
+
+    @Override
+    public T findById(Serializable id) {
+        return snapshot().get(id);
+    }
+
+    @Override
+    public Optional<T> findById(Predicate<T> predicate) {
+        return snapshot().rows().stream().filter(predicate).findFirst();
+    }
+
+    @Override
+    public List<T> findAll(Predicate<T> predicate) {
+        return snapshot().rows().stream().filter(predicate).toList();
+    }
+
+    @Override
+    public List<T> findAll(String name, Predicate<T> predicate) {
+        TableSnapshot<T> current = snapshot();
+        return current.cached(name, () -> current.rows().stream().filter(predicate).toList());
+    }
+
+    @Override
+    public List<T> findAll() {
+        return snapshot().rows();
+    }
+
+    @Override
+    public long count(Predicate<T> predicate) {
+        return snapshot().rows().stream().filter(predicate).count();
+    }
+
+    @Override
+    public boolean exists(Serializable id) {
+        return snapshot().containsId(id);
+    }
+
+    @Override
+    public boolean exists(Predicate<T> predicate) {
+        return snapshot().rows().stream().anyMatch(predicate);
+    }
+
+    @Override
+    public Optional<T> findOne(Query query) {
+        return planner.plan(query).first(snapshot(), query);
+    }
+
+    @Override
+    public List<T> findAll(Query query) {
+        TableSnapshot<T> current = snapshot();
+        if (queryCacheSize == 0) {
+            return planner.plan(query).list(current, query);
+        }
+        return current.cached(query.key(), () -> planner.plan(query).list(current, query));
+    }
+
+    @Override
+    public long count(Query query) {
+        return planner.plan(query).count(snapshot(), query);
+    }
+
+    @Override
+    public boolean exists(Query query) {
+        return planner.plan(query).exists(snapshot(), query);
+    }
+
+    @Override
+    public T floor(String field, long value) {
+        return rangeIndex(field).floor(value);
+    }
+
+    @Override
+    public T floor(String field, double value) {
+        return rangeIndex(field).floor(value);
+    }
+
+    @Override
+    public T ceiling(String field, long value) {
+        return rangeIndex(field).ceiling(value);
+    }
+
+    @Override
+    public T ceiling(String field, double value) {
+        return rangeIndex(field).ceiling(value);
+    }
+
+    @Override
+    public List<T> between(String field, long from, long to) {
+        return rangeIndex(field).between(from, to);
+    }
+
+    @Override
+    public List<T> between(String field, double from, double to) {
+        return rangeIndex(field).between(from, to);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> R getRef(T row, String field) {
+        return (R) snapshot().getRef(row, field);
+    }
+
+    @Override
+    public T sample(RandomGenerator random) {
+        return aliasIndex().sample(random);
+    }
+
+    @Override
+    public T sample(long groupKey, RandomGenerator random) {
+        return aliasIndex().sample(groupKey, random);
+    }
+
+    @Override
+    public T sample(Object groupKey, RandomGenerator random) {
+        return aliasIndex().sample(groupKey, random);
+    }
+
+    @Override
+    public WeightedSampler<T> sampler() {
+        aliasIndex();
+        return sampler;
+    }
+
+    private AliasIndex<T> aliasIndex() {
+        AliasIndex<T> index = snapshot().getAliasIndex();
+        if (index == null) {
+            throw new IllegalArgumentException(String.format("Table %s has no @Weight field", definition.getTableFileName()));
+        }
+        return index;
+    }
+
+    private RangeIndex<T> rangeIndex(String field) {
+        RangeIndex<T> index = snapshot().getRangeIndex(field);
+        if (index == null) {
+            throw new IllegalArgumentException(String.format("Table %s field %s has no range index", definition.getTableFileName(), field));
+        }
+        return index;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        // Object 方法，走原生方法,比如hashCode()
+        if (Object.class.equals(method.getDeclaringClass())) {
+            return method.invoke(this, args);
+        }
+        // 其它走本地代理
+        return method.invoke(this, args);
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultCfgRepositoryInvocationHandler{" +
+                "manager=" + manager +
+                ", repositoryClazz=" + clazz +
+                ", tableClazz=" + tableClazz +
+                '}';
+    }
+}
@@ -1,17 +1,21 @@
 package com.think.table;
 
+import com.think.table.converter.StringToFormulaConverter;
 import com.think.table.converter.StringToMapConverter;
 import com.think.table.properties.CsvProperties;
 import com.think.table.properties.ExcelProperties;
+import com.think.table.properties.JsonProperties;
 import com.think.table.properties.TableProperties;
-import com.think.table.reader.TableReader;
+import com.think.table.reader.TableReaderRegistry;
 import com.think.table.reader.TableReaderFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.GenericConversionService;
 
@@ -21,10 +25,11 @@ import org.springframework.core.convert.support.GenericConversionService;
  * @author veione
  */
 @Configuration
-@EnableConfigurationProperties({TableProperties.class, ExcelProperties.class, CsvProperties.class})
+@EnableConfigurationProperties({TableProperties.class, ExcelProperties.class, CsvProperties.class, JsonProperties.class})
 @ConditionalOnProperty(prefix = "com.think.table", name = "enabled", havingValue = "true")
 @ComponentScan(basePackages = "com.think.table")
 @Import(TableScanImportBeanDefinitionRegister.class)
+@ImportRuntimeHints(TableRuntimeHints.class)
 public class TableAutoConfiguration {
     private final TableProperties tableProperties;
 
@@ -35,13 +40,26 @@ public class TableAutoConfiguration {
         this.conversionService = conversionService;
         if (conversionService instanceof GenericConversionService cs) {
             cs.addConverter(new StringToMapConverter(conversionService));
+            cs.addConverter(new StringToFormulaConverter());
         }
     }
 
     @Bean(destroyMethod = "close")
-    public DefaultTableManager tableManager(TableReaderFactory tableReaderFactory) {
-        TableReader tableReader = tableReaderFactory.createTableReader();
-        return new DefaultTableManager(tableProperties, tableReader);
+    public DefaultTableManager tableManager(TableReaderFactory tableReaderFactory,
+                                            ListableBeanFactory beanFactory) {
+        TableReaderRegistry tableReaders = tableReaderFactory.createTableReaders();
+        DefaultTableManager manager = new DefaultTableManager(tableProperties, tableReaders);
+        // 校验器可能注入仓库, 而仓库创建时需要配置表管理器, 推迟到配置表第一次校验时再创建
+        manager.setValidatorBeans(beanFactory);
+        // 在任何仓库创建之前检查循环依赖, 开启预加载时仓库创建时不加载, 统一由 TablePreloader 按依赖顺序加载
+        manager.setDependencyGraph(TableDependencyGraph.of(TablePreloader.repositories(beanFactory).keySet()));
+        manager.setLoadingDeferred(tableProperties.isPreload());
+        return manager;
+    }
+
+    @Bean
+    public TablePreloader tablePreloader(DefaultTableManager tableManager) {
+        return new TablePreloader(tableManager);
     }
 
     @Bean
@@ -0,0 +1,66 @@
+package com.think.table;
+
+import com.think.table.annotation.TableRepository;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.util.Set;
+
+/**
+ * Table class path bean definition scanner.
+ *
+ * @author veione
+ */
+public class TableClassPathBeanDefinitionScanner extends ClassPathBeanDefinitionScanner {
+
+    public TableClassPathBeanDefinitionScanner(BeanDefinitionRegistry registry, boolean useDefaultFilters) {
+        super(registry, useDefaultFilters);
+    }
+
+    @Override
+    protected Set<BeanDefinitionHolder> doScan(String... basePackages) {
+        // 添加过滤器,只扫描@TableRepository注解的类
+        addIncludeFilter(new AnnotationTypeFilter(TableRepository.class));
+        return super.doScan(basePackages);
+    }
+
+    @Override
+    protected void registerBeanDefinition(BeanDefinitionHolder definitionHolder, BeanDefinitionRegistry registry) {
+        // 将beanClassName中的类名解析为Class对象
+        String beanClassName = definitionHolder.getBeanDefinition().getBeanClassName();
+        Class<?> repositoryInterface = ClassUtils.resolveClassName(beanClassName, getResourceLoader().getClassLoader());
+        RootBeanDefinition definition = repositoryDefinition(repositoryInterface);
+        definition.setSource(definitionHolder.getBeanDefinition().getSource());
+        super.registerBeanDefinition(new BeanDefinitionHolder(definition, definitionHolder.getBeanName(),
+                definitionHolder.getAliases()), registry);
+    }
+
+    /**
+     * 创建仓库的工厂 BeanDefinition. 目标类型带上仓库接口的泛型, 按类型注入时不需要先创建工厂,
+     * Spring AOT 也能据此在构建时生成完整的 BeanDefinition, 启动时不再扫描.
+     *
+     * @param repositoryInterface 仓库接口
+     * @return BeanDefinition
+     */
+    static RootBeanDefinition repositoryDefinition(Class<?> repositoryInterface) {
+        RootBeanDefinition definition = new RootBeanDefinition(TableRepositoryFactoryBean.class);
+        definition.setTargetType(ResolvableType.forClassWithGenerics(TableRepositoryFactoryBean.class, repositoryInterface));
+        // 设置构造函数参数
+        definition.getConstructorArgumentValues().addIndexedArgumentValue(0, repositoryInterface);
+        definition.setLazyInit(true);
+        return definition;
+    }
+
+    @Override
+    protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+        AnnotationMetadata metadata = beanDefinition.getMetadata();
+        return metadata.isInterface() && metadata.isIndependent();
+    }
+}
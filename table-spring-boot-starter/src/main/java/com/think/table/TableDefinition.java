@@ -0,0 +1,275 @@
+package com.think.table;
+
+import com.think.table.annotation.CfgTable;
+import com.think.table.annotation.IndexType;
+import com.think.table.annotation.Indexes;
+import com.think.table.annotation.Ref;
+import com.think.table.annotation.Weight;
+import com.think.table.descriptor.TableDescriptor;
+import com.think.table.descriptor.TableDescriptors;
+import com.think.table.index.RangeIndex;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Table definition
+ * <p>配置类经过 {@link com.think.table.processor.TableDescriptorProcessor} 编译时, 字段和主键通过生成的
+ * {@link TableDescriptor} 直接读取, 否则通过反射读取.</p>
+ *
+ * @author veione
+ */
+public final class TableDefinition {
+    private final Class<?> clazz;
+    private final String tableFileName;
+    private final String sheetName;
+    private final String format;
+    private Field idField;
+    private final List<Field> indexesFields = new ArrayList<>(4);
+    private final List<Field> rangeIndexesFields = new ArrayList<>(4);
+    private final List<Reference> references = new ArrayList<>(2);
+    private Field weightField;
+    private Field weightGroupField;
+    private final Map<String, Field> fieldMap = new LinkedHashMap<>(16);
+    private final Map<Field, Function<Object, Object>> accessors = new HashMap<>(16);
+    private final TableDescriptor<Object> descriptor;
+
+    @SuppressWarnings("unchecked")
+    public TableDefinition(Class<?> clazz) {
+        this.clazz = clazz;
+        CfgTable anno = clazz.getAnnotation(CfgTable.class);
+        this.tableFileName = anno.value();
+        this.sheetName = anno.sheet();
+        this.format = anno.format();
+        this.descriptor = (TableDescriptor<Object>) TableDescriptors.find(clazz);
+        this.parseIndexes(anno);
+        this.bindAccessors();
+    }
+
+    /**
+     * 解析索引
+     *
+     * @param anno
+     */
+    private void parseIndexes(CfgTable anno) {
+        String idName = anno.id();
+        if (idName != null && !idName.isEmpty()) {
+            idField = FieldUtils.getField(clazz, idName, true);
+        } else {
+            idField = FieldUtils.getField(clazz, "id", true);
+        }
+        idField.setAccessible(true);
+
+        Field[] fields = FieldUtils.getAllFields(clazz);
+        for (Field field : fields) {
+            if (field.isSynthetic() || Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            fieldMap.putIfAbsent(field.getName(), field);
+            Ref ref = field.getAnnotation(Ref.class);
+            if (ref != null) {
+                if (!ref.value().isAnnotationPresent(CfgTable.class)) {
+                    throw new IllegalArgumentException(String.format("Table %s field %s references %s which is not a @CfgTable class",
+                            tableFileName, field.getName(), ref.value().getName()));
+                }
+                references.add(new Reference(field, ref.value(), ref.optional()));
+            }
+            if (field.isAnnotationPresent(Weight.class)) {
+                if (weightField != null) {
+                    throw new IllegalArgumentException(String.format("Table %s has more than one @Weight field: %s, %s",
+                            tableFileName, weightField.getName(), field.getName()));
+                }
+                if (!RangeIndex.isSupported(field.getType())) {
+                    throw new IllegalArgumentException(String.format("Table %s field %s weight only supports numeric type", tableFileName, field.getName()));
+                }
+                weightField = field;
+            }
+            Indexes indexes = field.getAnnotation(Indexes.class);
+            if (indexes == null) {
+                continue;
+            }
+            if (indexes.type() == IndexType.RANGE) {
+                if (!RangeIndex.isSupported(field.getType())) {
+                    throw new IllegalArgumentException(String.format("Table %s field %s range index only supports numeric type", tableFileName, field.getName()));
+                }
+                rangeIndexesFields.add(field);
+            } else {
+                indexesFields.add(field);
+            }
+        }
+        if (weightField != null) {
+            String group = weightField.getAnnotation(Weight.class).group();
+            if (!group.isEmpty()) {
+                weightGroupField = getField(group);
+            }
+        }
+    }
+
+    /**
+     * 生成的描述中存在的字段使用直接调用, 其余字段使用反射
+     */
+    private void bindAccessors() {
+        if (descriptor != null) {
+            String[] names = descriptor.getFieldNames();
+            for (int i = 0; i < names.length; i++) {
+                Field field = fieldMap.get(names[i]);
+                if (field != null) {
+                    int index = i;
+                    accessors.put(field, item -> descriptor.getValue(item, index));
+                }
+            }
+        }
+        for (Field field : fieldMap.values()) {
+            accessors.computeIfAbsent(field, f -> item -> getReflectiveValue(f, item));
+        }
+    }
+
+    public Class<?> getTableClass() {
+        return clazz;
+    }
+
+    public String getTableFileName() {
+        return tableFileName;
+    }
+
+    /**
+     * @return 工作表名称, 为空表示工作簿的第一个工作表
+     */
+    public String getSheetName() {
+        return sheetName;
+    }
+
+    /**
+     * @return 指定的文件格式, 为空表示按解析顺序查找
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    public List<Field> getIndexesFields() {
+        return indexesFields;
+    }
+
+    public List<Field> getRangeIndexesFields() {
+        return rangeIndexesFields;
+    }
+
+    public Field getIdField() {
+        return idField;
+    }
+
+    /**
+     * @return 引用其他配置表的字段
+     */
+    public List<Reference> getReferences() {
+        return references;
+    }
+
+    /**
+     * @return 权重字段, 没有标注 {@link Weight} 时返回 {@code null}
+     */
+    public Field getWeightField() {
+        return weightField;
+    }
+
+    /**
+     * @return 权重分组字段, 整张表作为一组时返回 {@code null}
+     */
+    public Field getWeightGroupField() {
+        return weightGroupField;
+    }
+
+    /**
+     * @return 所有实例字段, 按声明顺序排列
+     */
+    public Collection<Field> getFields() {
+        return fieldMap.values();
+    }
+
+    /**
+     * 根据名称获取字段
+     *
+     * @param name 字段名称
+     * @return 字段
+     * @throws IllegalArgumentException 字段不存在
+     */
+    public Field getField(String name) {
+        Field field = fieldMap.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException(String.format("Table %s has no field %s", tableFileName, name));
+        }
+        return field;
+    }
+
+    /**
+     * @return 编译期生成的描述, 不存在时返回 {@code null}
+     */
+    public TableDescriptor<?> getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * 获取字段读取函数, 调用方在循环外获取一次, 避免每次读取都查找
+     *
+     * @param field 字段
+     * @return 读取函数
+     */
+    public Function<Object, Object> getAccessor(Field field) {
+        Function<Object, Object> accessor = accessors.get(field);
+        return accessor != null ? accessor : item -> getReflectiveValue(field, item);
+    }
+
+    /**
+     * 获取字段值
+     *
+     * @param field 字段
+     * @param item  配置对象
+     * @return 字段值
+     */
+    public Object getFieldValue(Field field, Object item) {
+        return getAccessor(field).apply(item);
+    }
+
+    private Object getReflectiveValue(Field field, Object item) {
+        try {
+            return field.get(item);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Table %s field %s is not accessible", tableFileName, field.getName()), e);
+        }
+    }
+
+    /**
+     * 获取主键ID值
+     *
+     * @param item
+     * @param <T>
+     * @return
+     * @throws IllegalAccessException
+     */
+    public <T> Serializable getIdValue(T item) throws IllegalAccessException {
+        if (descriptor != null) {
+            return descriptor.getId(item);
+        }
+        return idField.getInt(item);
+    }
+
+    /**
+     * 引用字段
+     *
+     * @param field    字段
+     * @param target   被引用的配置类
+     * @param optional 是否允许引用不存在的主键
+     */
+    public record Reference(Field field, Class<?> target, boolean optional) {
+    }
+}
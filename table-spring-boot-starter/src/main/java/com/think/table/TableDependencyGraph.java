@@ -0,0 +1,197 @@
+package com.think.table;
+
+import com.think.table.annotation.CfgTable;
+import com.think.table.annotation.Ref;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 配置表依赖图.
+ * <p>依赖来自 {@link Ref} 字段和 {@link CfgTable#dependsOn()}, 只在参与构建的配置表之间建立边, 自引用不算依赖.
+ * 构建时按拓扑顺序分层, 同一层的配置表互不依赖, 可以并行加载, 存在环时构建失败.</p>
+ *
+ * @author veione
+ */
+public final class TableDependencyGraph {
+    private final Map<Class<?>, Set<Class<?>>> dependencies;
+    private final Map<Class<?>, Set<Class<?>>> dependents;
+    private final List<List<Class<?>>> levels;
+    private final Map<Class<?>, Integer> levelOf;
+
+    private TableDependencyGraph(Map<Class<?>, Set<Class<?>>> dependencies, Map<Class<?>, Set<Class<?>>> dependents,
+                                 List<List<Class<?>>> levels) {
+        this.dependencies = dependencies;
+        this.dependents = dependents;
+        this.levels = levels;
+        this.levelOf = new HashMap<>(dependencies.size() * 2);
+        for (int i = 0; i < levels.size(); i++) {
+            for (Class<?> clazz : levels.get(i)) {
+                levelOf.put(clazz, i);
+            }
+        }
+    }
+
+    /**
+     * 构建依赖图
+     *
+     * @param classes 配置类
+     * @return 依赖图
+     * @throws IllegalStateException 存在循环依赖
+     */
+    public static TableDependencyGraph of(Collection<Class<?>> classes) {
+        Map<Class<?>, Set<Class<?>>> dependencies = new LinkedHashMap<>(classes.size() * 2);
+        Map<Class<?>, Set<Class<?>>> dependents = new LinkedHashMap<>(classes.size() * 2);
+        for (Class<?> clazz : classes) {
+            dependencies.put(clazz, new LinkedHashSet<>(2));
+            dependents.put(clazz, new LinkedHashSet<>(2));
+        }
+        for (Class<?> clazz : classes) {
+            for (Class<?> target : declaredDependencies(clazz)) {
+                if (target != clazz && dependencies.containsKey(target)) {
+                    dependencies.get(clazz).add(target);
+                    dependents.get(target).add(clazz);
+                }
+            }
+        }
+        return new TableDependencyGraph(dependencies, dependents, sort(dependencies, dependents));
+    }
+
+    /**
+     * @param clazz 配置类
+     * @return 配置类声明的所有依赖, 包括自引用和不在依赖图中的配置表
+     */
+    public static Set<Class<?>> declaredDependencies(Class<?> clazz) {
+        Set<Class<?>> targets = new LinkedHashSet<>(2);
+        CfgTable anno = clazz.getAnnotation(CfgTable.class);
+        if (anno != null) {
+            Collections.addAll(targets, anno.dependsOn());
+        }
+        for (Field field : FieldUtils.getAllFields(clazz)) {
+            Ref ref = field.getAnnotation(Ref.class);
+            if (ref != null) {
+                targets.add(ref.value());
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Kahn 算法分层, 每层只包含依赖都在前面各层的配置表
+     */
+    private static List<List<Class<?>>> sort(Map<Class<?>, Set<Class<?>>> dependencies, Map<Class<?>, Set<Class<?>>> dependents) {
+        Map<Class<?>, Integer> pending = new HashMap<>(dependencies.size() * 2);
+        List<Class<?>> current = new ArrayList<>();
+        for (Map.Entry<Class<?>, Set<Class<?>>> entry : dependencies.entrySet()) {
+            pending.put(entry.getKey(), entry.getValue().size());
+            if (entry.getValue().isEmpty()) {
+                current.add(entry.getKey());
+            }
+        }
+        List<List<Class<?>>> levels = new ArrayList<>();
+        int sorted = 0;
+        while (!current.isEmpty()) {
+            levels.add(Collections.unmodifiableList(current));
+            sorted += current.size();
+            List<Class<?>> next = new ArrayList<>();
+            for (Class<?> clazz : current) {
+                for (Class<?> dependent : dependents.get(clazz)) {
+                    if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                        next.add(dependent);
+                    }
+                }
+            }
+            current = next;
+        }
+        if (sorted < dependencies.size()) {
+            throw new IllegalStateException("Table dependency cycle: " + findCycle(dependencies, pending));
+        }
+        return Collections.unmodifiableList(levels);
+    }
+
+    /**
+     * 从没有排序的配置表出发沿依赖查找一个环, 用于错误信息
+     */
+    private static String findCycle(Map<Class<?>, Set<Class<?>>> dependencies, Map<Class<?>, Integer> pending) {
+        Class<?> start = null;
+        for (Map.Entry<Class<?>, Integer> entry : pending.entrySet()) {
+            if (entry.getValue() > 0) {
+                start = entry.getKey();
+                break;
+            }
+        }
+        List<Class<?>> path = new ArrayList<>();
+        Map<Class<?>, Integer> visited = new HashMap<>();
+        Class<?> clazz = start;
+        while (clazz != null && !visited.containsKey(clazz)) {
+            visited.put(clazz, path.size());
+            path.add(clazz);
+            Class<?> next = null;
+            for (Class<?> dependency : dependencies.get(clazz)) {
+                if (pending.get(dependency) > 0) {
+                    next = dependency;
+                    break;
+                }
+            }
+            clazz = next;
+        }
+        List<String> names = new ArrayList<>();
+        for (Class<?> node : path.subList(clazz != null ? visited.get(clazz) : 0, path.size())) {
+            names.add(node.getSimpleName());
+        }
+        if (clazz != null) {
+            names.add(clazz.getSimpleName());
+        }
+        return String.join(" -> ", names);
+    }
+
+    /**
+     * @return 按拓扑顺序分层的配置类, 同一层互不依赖
+     */
+    public List<List<Class<?>>> getLevels() {
+        return levels;
+    }
+
+    public boolean contains(Class<?> clazz) {
+        return dependencies.containsKey(clazz);
+    }
+
+    /**
+     * @param clazz 配置类
+     * @return 直接依赖的配置类
+     */
+    public Set<Class<?>> getDependencies(Class<?> clazz) {
+        return Collections.unmodifiableSet(dependencies.getOrDefault(clazz, Set.of()));
+    }
+
+    /**
+     * 配置表重新加载后需要重新处理的配置表
+     *
+     * @param clazz 配置类
+     * @return 直接或者间接依赖它的配置类, 按拓扑顺序排列, 不包括自身
+     */
+    public List<Class<?>> getTransitiveDependents(Class<?> clazz) {
+        Set<Class<?>> visited = new LinkedHashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>(dependents.getOrDefault(clazz, Set.of()));
+        while (!queue.isEmpty()) {
+            Class<?> dependent = queue.poll();
+            if (visited.add(dependent)) {
+                queue.addAll(dependents.get(dependent));
+            }
+        }
+        List<Class<?>> ordered = new ArrayList<>(visited);
+        ordered.sort((a, b) -> Integer.compare(levelOf.get(a), levelOf.get(b)));
+        return ordered;
+    }
+}
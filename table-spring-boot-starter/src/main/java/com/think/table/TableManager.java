@@ -1,5 +1,7 @@
 package com.think.table;
 
+import com.think.table.query.Query;
+
 import java.io.Serializable;
 import java.util.List;
 import java.util.Optional;
@@ -25,4 +27,14 @@ public interface TableManager {
     <T> boolean exists(Class<T> clazz, Serializable id);
 
     <T> boolean exists(Class<T> clazz, Predicate<T> predicate);
+
+    <T> Optional<T> findOne(Class<T> clazz, Query query);
+
+    <T> List<T> findAll(Class<T> clazz, Query query);
+
+    <T> long count(Class<T> clazz, Query query);
+
+    <T> boolean exists(Class<T> clazz, Query query);
+
+    <T, R> R getRef(Class<T> clazz, T row, String field);
 }
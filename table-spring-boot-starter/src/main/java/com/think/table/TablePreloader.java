@@ -0,0 +1,182 @@
+package com.think.table;
+
+import com.think.table.annotation.TableRepository;
+import com.think.table.repository.CfgRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.Resource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 启动时按依赖顺序加载配置表.
+ * <p>配置表管理器创建时根据仓库的 Bean 定义构建 {@link TableDependencyGraph}, 存在循环依赖时启动失败, 此时还没有加载任何配置表.
+ * 开启 {@code com.think.table.preload} 时仓库创建时不加载数据, 所有单例创建完成后先创建剩余的仓库, 再逐层加载,
+ * 同一层的配置表互不依赖, 在 ForkJoin 公共线程池中并行加载, 下一层在上一层全部完成后开始.
+ * 在此之前被查询的配置表在查询时连同它依赖的配置表立即加载, 这里不再重复加载.
+ * 加载失败的配置表, 直接或者间接依赖它的配置表都不再加载.</p>
+ * <p>同一个 Excel 工作簿中的多个工作表在逐层加载之前一起读取, 工作簿只解析一次,
+ * 读取结果在各自的层中校验并发布.</p>
+ *
+ * @author veione
+ */
+public class TablePreloader implements SmartInitializingSingleton, BeanFactoryAware {
+    private static final Logger logger = LoggerFactory.getLogger(TablePreloader.class);
+    private final DefaultTableManager manager;
+    private ListableBeanFactory beanFactory;
+
+    public TablePreloader(DefaultTableManager manager) {
+        this.manager = manager;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = (ListableBeanFactory) beanFactory;
+    }
+
+    /**
+     * 只读取 Bean 定义, 不创建仓库
+     *
+     * @param beanFactory Bean 工厂
+     * @return 配置类 -> 仓库 Bean 名称
+     */
+    static Map<Class<?>, String> repositories(ListableBeanFactory beanFactory) {
+        Map<Class<?>, String> repositories = new LinkedHashMap<>(64);
+        for (String beanName : beanFactory.getBeanNamesForType(CfgRepository.class, true, false)) {
+            Class<?> type = beanFactory.getType(beanName, false);
+            if (type != null && type.isAnnotationPresent(TableRepository.class)) {
+                repositories.putIfAbsent(DefaultTableRepositoryInvocationHandler.getCfgBeanType(type), beanName);
+            }
+        }
+        return repositories;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Map<Class<?>, String> repositories = repositories(beanFactory);
+        TableDependencyGraph graph = manager.getDependencyGraph();
+        if (graph == null) {
+            graph = TableDependencyGraph.of(repositories.keySet());
+            manager.setDependencyGraph(graph);
+        }
+        if (!manager.isLoadingDeferred()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        // 管理器创建时已经推迟加载, 已经注入的仓库还没有加载数据, 这里创建剩余的仓库后统一按依赖顺序加载
+        try {
+            for (String beanName : repositories.values()) {
+                beanFactory.getBean(beanName);
+            }
+        } finally {
+            manager.setLoadingDeferred(false);
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        Set<Class<?>> failed = new LinkedHashSet<>();
+        Set<Class<?>> skipped = new LinkedHashSet<>();
+        Map<Class<?>, DefaultTableManager.WorkbookSheet<?>> workbookSheets = readWorkbooks(graph, pool, failed);
+        for (List<Class<?>> level : graph.getLevels()) {
+            Map<Class<?>, ForkJoinTask<?>> tasks = new LinkedHashMap<>(level.size() * 2);
+            for (Class<?> clazz : level) {
+                DefaultTableRepositoryInvocationHandler<?> handler = manager.getHandler(clazz);
+                if (handler == null || handler.isLoaded() || failed.contains(clazz)) {
+                    continue;
+                }
+                if (handler.isLoadAttempted()) {
+                    // 启动过程中被查询时已经加载过, 失败时不再重复加载
+                    failed.add(clazz);
+                    continue;
+                }
+                if (graph.getDependencies(clazz).stream().anyMatch(dependency -> failed.contains(dependency) || skipped.contains(dependency))) {
+                    skipped.add(clazz);
+                    continue;
+                }
+                DefaultTableManager.WorkbookSheet<?> sheet = workbookSheets.get(clazz);
+                Runnable load = sheet != null ? () -> publish(sheet) : handler::reload;
+                tasks.put(clazz, pool.submit(load));
+            }
+            tasks.forEach((clazz, task) -> {
+                task.join();
+                if (!manager.getHandler(clazz).isLoaded()) {
+                    failed.add(clazz);
+                }
+            });
+        }
+        if (!failed.isEmpty()) {
+            logger.error("Tables failed to load: {}, dependent tables not loaded: {}", names(failed), names(skipped));
+        }
+        logger.info("Tables preloaded, tables: {}, levels: {}, cost: {}ms", repositories.size(), graph.getLevels().size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 同一个工作簿中有多个配置表时只读取一次工作簿, 不同的工作簿并行读取
+     *
+     * @param failed 读取失败的配置表
+     * @return 配置类 -> 已经读取全部行的工作表
+     */
+    private Map<Class<?>, DefaultTableManager.WorkbookSheet<?>> readWorkbooks(TableDependencyGraph graph, ForkJoinPool pool,
+                                                                            Set<Class<?>> failed) {
+        Map<Resource, List<DefaultTableRepositoryInvocationHandler<?>>> workbooks = new LinkedHashMap<>();
+        Map<Resource, DefaultTableManager.TableSource> sources = new HashMap<>();
+        for (List<Class<?>> level : graph.getLevels()) {
+            for (Class<?> clazz : level) {
+                DefaultTableRepositoryInvocationHandler<?> handler = manager.getHandler(clazz);
+                DefaultTableManager.TableSource source = handler != null && !handler.isLoaded() && !handler.isLoadAttempted()
+                        ? handler.workbookSource() : null;
+                if (source != null) {
+                    workbooks.computeIfAbsent(source.resource(), k -> new ArrayList<>(4)).add(handler);
+                    sources.putIfAbsent(source.resource(), source);
+                }
+            }
+        }
+        workbooks.values().removeIf(handlers -> handlers.size() < 2);
+        Map<Resource, ForkJoinTask<List<DefaultTableManager.WorkbookSheet<?>>>> tasks = new LinkedHashMap<>();
+        workbooks.forEach((resource, handlers) ->
+                tasks.put(resource, pool.submit(() -> manager.readWorkbook(sources.get(resource), handlers))));
+        Map<Class<?>, DefaultTableManager.WorkbookSheet<?>> sheets = new HashMap<>();
+        tasks.forEach((resource, task) -> {
+            try {
+                for (DefaultTableManager.WorkbookSheet<?> sheet : task.get()) {
+                    sheets.put(sheet.getTableClass(), sheet);
+                }
+            } catch (ExecutionException e) {
+                logger.error("配置表读取失败 {} :(", resource.getDescription(), e.getCause());
+                workbooks.get(resource).forEach(handler -> failed.add(handler.getTableClass()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+        return sheets;
+    }
+
+    private static void publish(DefaultTableManager.WorkbookSheet<?> sheet) {
+        try {
+            sheet.validate();
+            sheet.publish();
+        } catch (Exception e) {
+            logger.error("配置表读取失败 {} :(", sheet.getTableClass().getSimpleName(), e);
+        }
+    }
+
+    private static List<String> names(Collection<Class<?>> classes) {
+        return classes.stream().map(Class::getSimpleName).toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.think.table;
+
+import com.think.table.validation.Violation;
+import org.springframework.util.ClassUtils;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 引用字段解析, 运行期加载和构建时编译共用.
+ * <p>每个引用字段解析为一张 行 -> 被引用行 的表, 按行对象的identity查找, 集合或者数组字段解析为不可变的行列表.
+ * 悬空引用作为校验错误报告, 由调用方决定是否拒绝发布.</p>
+ *
+ * @author veione
+ */
+public final class TableReferences {
+    /**
+     * 悬空引用在校验报告中的校验器名称
+     */
+    public static final String VALIDATOR_NAME = "Ref";
+
+    private TableReferences() {
+    }
+
+    /**
+     * 解析所有引用字段
+     *
+     * @param definition 配置表定义
+     * @param rows       配置表的所有行
+     * @param targets    按配置类查找被引用配置表的快照, 返回 {@code null} 表示被引用的配置表还没有加载, 跳过对应字段
+     * @param dangling   悬空引用
+     * @param <T>
+     * @return 字段名称 -> (行 -> 被引用的行或者行列表)
+     */
+    public static <T> Map<String, Map<T, Object>> resolve(TableDefinition definition, List<T> rows,
+                                                          Function<Class<?>, TableSnapshot<?>> targets,
+                                                          Consumer<Violation> dangling) {
+        Map<String, Map<T, Object>> refs = new HashMap<>(4);
+        for (TableDefinition.Reference reference : definition.getReferences()) {
+            TableSnapshot<?> target = targets.apply(reference.target());
+            if (target == null) {
+                continue;
+            }
+            String fieldName = reference.field().getName();
+            Function<Object, Object> accessor = definition.getAccessor(reference.field());
+            Class<?> idType = ClassUtils.resolvePrimitiveIfNecessary(target.getDefinition().getIdField().getType());
+            Map<T, Object> resolved = new IdentityHashMap<>(rows.size());
+            for (T row : rows) {
+                Object value = accessor.apply(row);
+                if (value == null) {
+                    continue;
+                }
+                if (value instanceof Collection<?> || value.getClass().isArray()) {
+                    List<Object> ids = value instanceof Collection<?> collection ? new ArrayList<>(collection) : arrayToList(value);
+                    List<Object> targetRows = new ArrayList<>(ids.size());
+                    for (Object id : ids) {
+                        Object targetRow = id != null ? target.get(toId(id, idType)) : null;
+                        if (targetRow != null) {
+                            targetRows.add(targetRow);
+                        } else if (id != null && !reference.optional()) {
+                            dangling.accept(violation(definition, row, fieldName, id, reference));
+                        }
+                    }
+                    resolved.put(row, Collections.unmodifiableList(targetRows));
+                    continue;
+                }
+                Object targetRow = target.get(toId(value, idType));
+                if (targetRow != null) {
+                    resolved.put(row, targetRow);
+                } else if (!reference.optional()) {
+                    dangling.accept(violation(definition, row, fieldName, value, reference));
+                }
+            }
+            refs.put(fieldName, resolved);
+        }
+        return refs;
+    }
+
+    private static List<Object> arrayToList(Object array) {
+        int length = Array.getLength(array);
+        List<Object> values = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            values.add(Array.get(array, i));
+        }
+        return values;
+    }
+
+    /**
+     * 把引用值转换为被引用配置表的主键类型, 例如 long 字段引用 int 主键
+     */
+    private static Serializable toId(Object value, Class<?> idType) {
+        if (value instanceof Number number && idType != value.getClass()) {
+            if (idType == Integer.class) {
+                return number.intValue();
+            }
+            if (idType == Long.class) {
+                return number.longValue();
+            }
+            if (idType == Short.class) {
+                return number.shortValue();
+            }
+            if (idType == Byte.class) {
+                return number.byteValue();
+            }
+        }
+        if (idType == String.class && !(value instanceof String)) {
+            return value.toString();
+        }
+        return (Serializable) value;
+    }
+
+    private static Violation violation(TableDefinition definition, Object row, String fieldName, Object value,
+                                       TableDefinition.Reference reference) {
+        Object id;
+        try {
+            id = definition.getIdValue(row);
+        } catch (IllegalAccessException | RuntimeException e) {
+            id = null;
+        }
+        return new Violation(VALIDATOR_NAME, id, fieldName, String.format("%s %s not found", reference.target().getSimpleName(), value));
+    }
+}
@@ -0,0 +1,80 @@
+package com.think.table;
+
+import com.think.table.descriptor.TableDescriptor;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 配置表仓库的构建时处理.
+ * <p>仓库的 BeanDefinition 由 Spring AOT 在构建时生成, 优化模式启动时不再扫描包, 也不再加载候选类.
+ * 这里在构建时为每个仓库解析配置类并创建 {@link TableDefinition}, 索引声明错误直接导致构建失败,
+ * 同时登记仓库的 JDK 代理、配置类的反射和数据绑定、生成的 {@link TableDescriptor} 以及配置表资源.</p>
+ *
+ * @author veione
+ */
+public class TableRepositoryAotProcessor implements BeanFactoryInitializationAotProcessor {
+    private static final String PATH_PROPERTY = "com.think.table.path";
+    private static final String BUNDLE_PROPERTY = "com.think.table.bundle.name";
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        List<Class<?>> repositories = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            ResolvableType type = beanFactory.getMergedBeanDefinition(beanName).getResolvableType();
+            if (type.resolve() == TableRepositoryFactoryBean.class) {
+                Class<?> repository = type.as(FactoryBean.class).getGeneric(0).resolve();
+                if (repository != null) {
+                    repositories.add(repository);
+                }
+            }
+        }
+        if (repositories.isEmpty()) {
+            return null;
+        }
+        Environment environment = beanFactory.getBean(Environment.class);
+        String path = environment.getProperty(PATH_PROPERTY, "");
+        String bundleName = environment.getProperty(BUNDLE_PROPERTY, "");
+        List<TableDefinition> definitions = new ArrayList<>(repositories.size());
+        for (Class<?> repository : repositories) {
+            definitions.add(new TableDefinition(DefaultTableRepositoryInvocationHandler.getCfgBeanType(repository)));
+        }
+        return (generationContext, code) -> {
+            RuntimeHints hints = generationContext.getRuntimeHints();
+            BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+            for (int i = 0; i < repositories.size(); i++) {
+                Class<?> repository = repositories.get(i);
+                TableDefinition definition = definitions.get(i);
+                Class<?> tableClass = definition.getTableClass();
+                hints.proxies().registerJdkProxy(repository);
+                hints.reflection().registerType(repository, MemberCategory.INVOKE_PUBLIC_METHODS);
+                // 读取器通过反射创建行对象、读写字段, JSON 读取器还会绑定嵌套类型
+                bindingRegistrar.registerReflectionHints(hints.reflection(), tableClass);
+                hints.reflection().registerType(tableClass, MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+                TableDescriptor<?> descriptor = definition.getDescriptor();
+                if (descriptor != null) {
+                    hints.reflection().registerType(descriptor.getClass(), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+                }
+                hints.resources().registerPattern(location(path, definition.getTableFileName() + ".*"));
+            }
+            if (StringUtils.hasText(bundleName)) {
+                hints.resources().registerPattern(location(path, bundleName));
+            }
+        };
+    }
+
+    private static String location(String path, String name) {
+        return StringUtils.hasText(path) ? StringUtils.trimTrailingCharacter(path, '/') + "/" + name : name;
+    }
+}
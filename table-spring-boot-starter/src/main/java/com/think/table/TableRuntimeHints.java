@@ -0,0 +1,22 @@
+package com.think.table;
+
+import com.think.table.repository.CfgRepository;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * 与具体配置表无关的运行时提示: 仓库代理通过反射把接口方法转发给 {@link DefaultTableRepositoryInvocationHandler}.
+ * 每个仓库自己的代理、配置类和配置表资源由 {@link TableRepositoryAotProcessor} 在构建时登记.
+ *
+ * @author veione
+ */
+public class TableRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.reflection()
+                .registerType(CfgRepository.class, MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(DefaultTableRepositoryInvocationHandler.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
@@ -0,0 +1,238 @@
+package com.think.table;
+
+import com.think.table.index.AliasIndex;
+import com.think.table.index.HashIndex;
+import com.think.table.index.RangeIndex;
+import com.think.table.query.QueryResultCache;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 配置表快照, 每次加载生成一个新的不可变快照, 加载完成后整体替换, 查询期间不会看到半加载的数据.
+ *
+ * @param <T>
+ * @author veione
+ */
+public final class TableSnapshot<T> {
+    private final TableDefinition definition;
+    private final Map<Serializable, T> items;
+    private final List<T> rows;
+    private final Map<String, HashIndex<T>> hashIndexes;
+    private final Map<String, RangeIndex<T>> rangeIndexes;
+    private final AliasIndex<T> aliasIndex;
+    private final QueryResultCache<T> queryCache;
+    private final Map<String, Map<T, Object>> refs;
+    /**
+     * 行 -> 加载顺序, 第一次按加载顺序排序时创建
+     */
+    private volatile Map<T, Integer> positions;
+
+    private TableSnapshot(TableDefinition definition, Map<Serializable, T> items, List<T> rows,
+                          Map<String, HashIndex<T>> hashIndexes, Map<String, RangeIndex<T>> rangeIndexes,
+                          AliasIndex<T> aliasIndex, QueryResultCache<T> queryCache, Map<String, Map<T, Object>> refs) {
+        this.definition = definition;
+        this.items = items;
+        this.rows = rows;
+        this.hashIndexes = hashIndexes;
+        this.rangeIndexes = rangeIndexes;
+        this.aliasIndex = aliasIndex;
+        this.queryCache = queryCache;
+        this.refs = refs;
+    }
+
+    /**
+     * 创建快照构建器
+     *
+     * @param definition 配置表定义
+     * @param cacheSize  查询结果缓存大小, 0 表示不缓存
+     * @param <T>
+     * @return 快照构建器
+     */
+    public static <T> Builder<T> builder(TableDefinition definition, int cacheSize) {
+        return new Builder<>(definition, cacheSize);
+    }
+
+    public TableDefinition getDefinition() {
+        return definition;
+    }
+
+    public T get(Serializable id) {
+        return items.get(id);
+    }
+
+    public boolean containsId(Serializable id) {
+        return items.containsKey(id);
+    }
+
+    /**
+     * @return 按加载顺序排列的所有行
+     */
+    public List<T> rows() {
+        return rows;
+    }
+
+    /**
+     * @param fieldName 字段名称
+     * @return 字段上的哈希索引, 未建立索引时返回 {@code null}
+     */
+    public HashIndex<T> getHashIndex(String fieldName) {
+        return hashIndexes.get(fieldName);
+    }
+
+    /**
+     * @param fieldName 字段名称
+     * @return 字段上的范围索引, 未建立索引时返回 {@code null}
+     */
+    public RangeIndex<T> getRangeIndex(String fieldName) {
+        return rangeIndexes.get(fieldName);
+    }
+
+    /**
+     * @return 权重索引, 没有权重字段时返回 {@code null}
+     */
+    public AliasIndex<T> getAliasIndex() {
+        return aliasIndex;
+    }
+
+    /**
+     * 查询结果缓存, 与快照同生命周期, 快照替换后自动失效
+     *
+     * @param key    查询标识
+     * @param loader 查询
+     * @return 查询结果
+     */
+    public List<T> cached(Object key, Supplier<List<T>> loader) {
+        return queryCache != null ? queryCache.get(key, loader) : loader.get();
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * @param row 本表的行
+     * @return 行在加载顺序中的位置, 不是本快照的行时返回 -1
+     */
+    public int indexOf(T row) {
+        Map<T, Integer> map = positions;
+        if (map == null) {
+            map = new IdentityHashMap<>(rows.size() * 2);
+            for (int i = 0, size = rows.size(); i < size; i++) {
+                map.put(rows.get(i), i);
+            }
+            positions = map;
+        }
+        Integer index = map.get(row);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * 读取引用字段解析出的行
+     *
+     * @param row       本表的行
+     * @param fieldName 引用字段名称
+     * @return 被引用的行, 集合或者数组字段返回行列表, 没有引用或者被引用的配置表还没有加载时返回 {@code null}
+     * @throws IllegalArgumentException 字段不是引用字段
+     */
+    public Object getRef(T row, String fieldName) {
+        Map<T, Object> resolved = refs.get(fieldName);
+        if (resolved == null) {
+            boolean declared = definition.getReferences().stream().anyMatch(ref -> ref.field().getName().equals(fieldName));
+            if (!declared) {
+                throw new IllegalArgumentException(String.format("Table %s field %s is not a @Ref field", definition.getTableFileName(), fieldName));
+            }
+            return null;
+        }
+        return resolved.get(row);
+    }
+
+    /**
+     * 替换引用解析结果, 行、索引和查询结果缓存与当前快照共享
+     *
+     * @param refs 字段名称 -> (行 -> 被引用的行)
+     * @return 新的快照
+     */
+    public TableSnapshot<T> withRefs(Map<String, Map<T, Object>> refs) {
+        return new TableSnapshot<>(definition, items, rows, hashIndexes, rangeIndexes, aliasIndex, queryCache, refs);
+    }
+
+    /**
+     * 快照构建器, 读取器每推送一行就同时写入主键表和所有索引, 加载过程只遍历一次数据
+     *
+     * @param <T>
+     */
+    public static final class Builder<T> {
+        private final TableDefinition definition;
+        private final int cacheSize;
+        private final Map<Serializable, T> items = new HashMap<>(64);
+        private final List<T> rows = new ArrayList<>(64);
+        private final List<HashIndex.Builder<T>> hashIndexes = new ArrayList<>(4);
+        private final List<RangeIndex.Builder<T>> rangeIndexes = new ArrayList<>(4);
+        private final AliasIndex.Builder<T> aliasIndex;
+
+        private Builder(TableDefinition definition, int cacheSize) {
+            this.definition = definition;
+            this.cacheSize = cacheSize;
+            for (Field field : definition.getIndexesFields()) {
+                hashIndexes.add(new HashIndex.Builder<>(definition, field));
+            }
+            for (Field field : definition.getRangeIndexesFields()) {
+                rangeIndexes.add(new RangeIndex.Builder<>(definition, field));
+            }
+            this.aliasIndex = definition.getWeightField() != null
+                    ? new AliasIndex.Builder<>(definition, definition.getWeightField(), definition.getWeightGroupField()) : null;
+        }
+
+        /**
+         * 加入一行
+         *
+         * @param row 行对象
+         * @throws IllegalArgumentException 主键重复
+         */
+        public void add(T row) {
+            Serializable id;
+            try {
+                id = definition.getIdValue(row);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(String.format("Table %s id is not accessible", definition.getTableFileName()), e);
+            }
+            if (items.putIfAbsent(id, row) != null) {
+                throw new IllegalArgumentException(String.format("Table %s id %s duplicated", definition.getTableFileName(), id));
+            }
+            rows.add(row);
+            for (HashIndex.Builder<T> index : hashIndexes) {
+                index.add(row);
+            }
+            for (RangeIndex.Builder<T> index : rangeIndexes) {
+                index.add(row);
+            }
+            if (aliasIndex != null) {
+                aliasIndex.add(row);
+            }
+        }
+
+        public TableSnapshot<T> build() {
+            Map<String, HashIndex<T>> hashIndexMap = new HashMap<>(4);
+            for (HashIndex.Builder<T> index : hashIndexes) {
+                HashIndex<T> hashIndex = index.build();
+                hashIndexMap.put(hashIndex.getField().getName(), hashIndex);
+            }
+            Map<String, RangeIndex<T>> rangeIndexMap = new HashMap<>(4);
+            for (RangeIndex.Builder<T> index : rangeIndexes) {
+                RangeIndex<T> rangeIndex = index.build();
+                rangeIndexMap.put(rangeIndex.getField().getName(), rangeIndex);
+            }
+            QueryResultCache<T> queryCache = cacheSize > 0 ? new QueryResultCache<>(cacheSize) : null;
+            return new TableSnapshot<>(definition, Collections.unmodifiableMap(items), Collections.unmodifiableList(rows),
+                    hashIndexMap, rangeIndexMap, aliasIndex != null ? aliasIndex.build() : null, queryCache, Map.of());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.think.table.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * It's used to the configuration table class
+ *
+ * @author veione
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CfgTable {
+
+    String value() default "";
+
+    String id() default "";
+
+    /**
+     * 工作表名称, 多个配置表可以放在同一个 Excel 工作簿的不同工作表中, 为空时读取第一个工作表.
+     * 只对 Excel 格式生效.
+     */
+    String sheet() default "";
+
+    /**
+     * 文件格式, 即读取器的文件后缀, 例如 csv、json、xlsx. 为空时按 com.think.table.resolution-order
+     * 查找第一个存在的文件, 都不存在时使用 com.think.table.type 指定的格式.
+     */
+    String format() default "";
+
+    /**
+     * 依赖的配置表, 启动时在它们之后加载, 它们重新加载后本表的引用和跨表校验会重新执行.
+     * {@link Ref} 字段引用的配置表自动成为依赖, 不需要重复声明.
+     */
+    Class<?>[] dependsOn() default {};
+}
@@ -0,0 +1,27 @@
+package com.think.table.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 公式类型, 标注在只有一个抽象方法的接口上. 配置表中该类型的字段填写公式字符串, 例如 {@code base*1.2+level*5},
+ * 加载时编译为实现该接口的类, 方法参数名就是公式中可以使用的变量名, 需要使用 {@code -parameters} 编译.
+ * <pre>
+ * &#64;Formula
+ * public interface DamageFormula {
+ *     double apply(double base, int level);
+ * }
+ * </pre>
+ * 参数和返回值支持 {@code double}、{@code float}、{@code int} 和 {@code long}, 公式按 {@code double} 计算,
+ * 返回整数时按 Java 强制类型转换截断. 公式语法和可以使用的函数见 {@link com.think.table.formula.FormulaCompiler}.
+ *
+ * @author veione
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Formula {
+}
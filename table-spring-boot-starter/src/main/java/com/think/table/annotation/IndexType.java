@@ -0,0 +1,17 @@
+package com.think.table.annotation;
+
+/**
+ * 索引类型
+ *
+ * @author veione
+ */
+public enum IndexType {
+    /**
+     * 哈希索引, 用于等值查询
+     */
+    HASH,
+    /**
+     * 范围索引, 按字段值排序存储, 用于区间查询和 floor/ceiling 查询, 只支持数值类型字段
+     */
+    RANGE
+}
@@ -0,0 +1,28 @@
+package com.think.table.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 索引注解
+ *
+ * @author veione
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Indexes {
+
+    /**
+     * 索引类型
+     */
+    IndexType type() default IndexType.HASH;
+
+    /**
+     * 字段值是否唯一, 加载时校验, 存在重复值时拒绝发布
+     */
+    boolean unique() default false;
+}
@@ -7,16 +7,16 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * It's used to the configuration table class
+ * 数值字段的取值范围, 闭区间, {@code null} 不校验. 加载时校验, 不满足时拒绝发布
  *
  * @author veione
  */
-@Target(ElementType.TYPE)
+@Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
-public @interface CfgTable {
+public @interface Range {
 
-    String value() default "";
+    double min() default Double.NEGATIVE_INFINITY;
 
-    String id() default "";
+    double max() default Double.POSITIVE_INFINITY;
 }
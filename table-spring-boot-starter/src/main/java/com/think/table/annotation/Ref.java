@@ -0,0 +1,30 @@
+package com.think.table.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 引用其他配置表的主键. 加载时解析为被引用的行, 通过 {@code CfgRepository#getRef} 直接读取,
+ * 不需要再到被引用配置表的仓库中查找. 集合或者数组字段解析为行列表, {@code null} 表示没有引用.
+ * 被引用的配置表重新加载后自动重新解析.
+ *
+ * @author veione
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Ref {
+
+    /**
+     * 被引用的配置类
+     */
+    Class<?> value();
+
+    /**
+     * 是否允许引用不存在的主键, 例如用 0 表示没有引用. 为 {@code false} 时引用不存在的主键是加载错误
+     */
+    boolean optional() default false;
+}
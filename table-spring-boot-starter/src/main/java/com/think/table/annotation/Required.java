@@ -7,13 +7,12 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * 索引注解
+ * 必填字段, 值不能为 {@code null}, 字符串、集合、Map 和数组不能为空. 加载时校验, 不满足时拒绝发布
  *
  * @author veione
  */
 @Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
-public @interface Indexes {
-
+public @interface Required {
 }
@@ -26,4 +26,10 @@ public @interface TableRepository {
     @AliasFor(annotation = Component.class)
     String value() default "";
 
+    /**
+     * 查询结果缓存的最大条目数, 缓存 {@code findAll(Query)} 和命名查询的结果, 重新加载配置表后自动失效.
+     * 默认为 0, 表示不开启缓存.
+     */
+    int queryCacheSize() default 0;
+
 }
@@ -0,0 +1,25 @@
+package com.think.table.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 权重字段, 用于掉落、抽卡等按权重随机的配置表. 加载时按分组字段为每组预先生成别名表(Walker alias method),
+ * 通过 {@code CfgRepository#sample} 以 O(1) 时间随机抽取一行, 抽取过程不创建对象.
+ * 权重为 0 或者 {@code null} 的行不参与抽取, 负数、NaN 和无穷大是加载错误.
+ *
+ * @author veione
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Weight {
+
+    /**
+     * 分组字段名称, 例如掉落表的掉落组编号, 为空表示整张表作为一组
+     */
+    String group() default "";
+}
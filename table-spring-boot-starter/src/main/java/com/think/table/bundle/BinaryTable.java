@@ -0,0 +1,195 @@
+package com.think.table.bundle;
+
+import com.think.table.exception.TableReadException;
+import com.think.table.reader.RowSink;
+import com.think.table.reader.util.BufferUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 编译后的二进制配置表.
+ * <pre>
+ * int     magic
+ * short   version
+ * long    结构哈希
+ * varint  列数, 之后是各列名称
+ * int     行数
+ * int[]   行数 + 1 个行偏移, 相对于行数据开始位置
+ * byte[]  行数据, 每行按列顺序保存 {@link RowCodec} 编码的字段值
+ * </pre>
+ * 行偏移用于按行随机访问和按行切分后并行解码.
+ *
+ * @author veione
+ */
+public final class BinaryTable {
+    static final int MAGIC = 0x54424C31;
+    static final short VERSION = 1;
+    private final ByteBuffer buffer;
+    private final long hash;
+    private final String[] columns;
+    private final int rowCount;
+    private final int offsetsStart;
+    private final int rowsStart;
+
+    private BinaryTable(ByteBuffer buffer, long hash, String[] columns, int rowCount, int offsetsStart) {
+        this.buffer = buffer;
+        this.hash = hash;
+        this.columns = columns;
+        this.rowCount = rowCount;
+        this.offsetsStart = offsetsStart;
+        this.rowsStart = offsetsStart + (rowCount + 1) * Integer.BYTES;
+    }
+
+    /**
+     * 读取表头, 不解码行数据
+     *
+     * @param buffer 从当前位置开始的二进制表, 不会修改其位置
+     * @return 二进制表
+     * @throws TableReadException 不是二进制配置表或者版本不一致
+     */
+    public static BinaryTable open(ByteBuffer buffer) throws TableReadException {
+        ByteBuffer in = buffer.slice();
+        if (in.remaining() < Integer.BYTES + Short.BYTES || in.getInt() != MAGIC) {
+            throw new TableReadException("Not a binary table");
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new TableReadException(String.format("Binary table version %d is not supported, expected %d", version, VERSION));
+        }
+        long hash = in.getLong();
+        String[] columns = new String[(int) RowCodec.readVarLong(in)];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = RowCodec.readString(in);
+        }
+        int rowCount = in.getInt();
+        return new BinaryTable(in, hash, columns, rowCount, in.position());
+    }
+
+    /**
+     * 编码并写出二进制表
+     *
+     * @param out    输出流
+     * @param schema 列结构
+     * @param rows   配置对象
+     * @param <T>
+     * @throws IOException              写出失败
+     * @throws IllegalArgumentException 存在不支持编码的字段类型
+     */
+    public static <T> void write(OutputStream out, TableSchema<T> schema, List<T> rows) throws IOException {
+        RowCodec.Output data = new RowCodec.Output(rows.size() * 32);
+        int[] offsets = new int[rows.size() + 1];
+        for (int i = 0; i < rows.size(); i++) {
+            offsets[i] = data.size();
+            T row = rows.get(i);
+            for (int column = 0; column < schema.getColumnCount(); column++) {
+                try {
+                    RowCodec.encode(data, schema.getValue(row, column));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(String.format("Table class %s field %s: %s",
+                            schema.getTableClass().getSimpleName(), schema.getName(column), e.getMessage()), e);
+                }
+            }
+        }
+        offsets[rows.size()] = data.size();
+
+        RowCodec.Output header = new RowCodec.Output(64 + offsets.length * Integer.BYTES);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION >>> 8);
+        header.writeByte(VERSION);
+        header.writeLong(schema.getHash());
+        header.writeVarLong(schema.getColumnCount());
+        for (int column = 0; column < schema.getColumnCount(); column++) {
+            header.writeString(schema.getName(column));
+        }
+        header.writeInt(rows.size());
+        for (int offset : offsets) {
+            header.writeInt(offset);
+        }
+        header.writeTo(out);
+        data.writeTo(out);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @param schema 当前配置类的列结构
+     * @throws TableReadException 二进制表按其他结构编译, 需要重新编译
+     */
+    public void checkSchema(TableSchema<?> schema) throws TableReadException {
+        if (hash != schema.getHash()) {
+            throw new TableReadException(String.format("Binary table of %s was compiled with columns %s, "
+                            + "which no longer match the class, recompile the tables",
+                    schema.getTableClass().getSimpleName(), String.join(",", columns)));
+        }
+    }
+
+    /**
+     * 解码所有行, 行数达到 parallelThreshold 时按行偏移切分后在 ForkJoin 公共线程池中并行解码,
+     * 结果按文件顺序推送, 前面的块解码完成后立即推送
+     *
+     * @param schema            列结构, 需要先通过 {@link #checkSchema} 校验
+     * @param sink              行消费者
+     * @param parallelThreshold 并行解码的最小行数
+     * @param <T>
+     * @throws TableReadException 解码失败, 多块失败时报告文件中最靠前的错误
+     */
+    public <T> void decode(TableSchema<T> schema, RowSink<? super T> sink, int parallelThreshold) throws TableReadException {
+        if (rowCount < parallelThreshold) {
+            decode(schema, 0, rowCount, sink);
+            return;
+        }
+        int chunkRows = BufferUtils.chunkSize(rowCount, 1);
+        List<BufferUtils.Chunk<List<T>>> chunks = new ArrayList<>();
+        for (int from = 0; from < rowCount; from += chunkRows) {
+            int start = from;
+            int end = Math.min(rowCount, from + chunkRows);
+            chunks.add(() -> {
+                List<T> rows = new ArrayList<>(end - start);
+                decode(schema, start, end, rows::add);
+                return rows;
+            });
+        }
+        BufferUtils.runOrdered(chunks, rows -> {
+            for (T row : rows) {
+                sink.accept(row);
+            }
+        });
+    }
+
+    /**
+     * 按文件顺序解码 [from, to) 行, 可以在多个线程中同时解码不同区间
+     *
+     * @param schema 列结构, 需要先通过 {@link #checkSchema} 校验
+     * @param from   起始行
+     * @param to     结束行(不包含)
+     * @param sink   行消费者
+     * @param <T>
+     * @throws TableReadException 解码失败
+     */
+    public <T> void decode(TableSchema<T> schema, int from, int to, RowSink<? super T> sink) throws TableReadException {
+        ByteBuffer in = buffer.duplicate();
+        in.position(rowsStart + buffer.getInt(offsetsStart + from * Integer.BYTES));
+        Object[] values = new Object[schema.getColumnCount()];
+        for (int row = from; row < to; row++) {
+            try {
+                for (int column = 0; column < values.length; column++) {
+                    values[column] = RowCodec.decode(in, schema.getType(column));
+                }
+                sink.accept(schema.newRow(values));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new TableReadException(String.format("Binary table %s row %d decode failed",
+                        schema.getTableClass().getSimpleName(), row + 1), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.think.table.bundle;
+
+import com.think.table.formula.CompiledFormula;
+import com.think.table.formula.FormulaCompiler;
+import org.springframework.core.CollectionFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 二进制配置表的字段编码. 每个值以一个字节的类型标记开头, 整数使用 zigzag 变长编码,
+ * 字符串为 UTF-8, 数组和集合先写元素个数, 公式保存为公式字符串. 解码时按字段声明的类型创建数组、集合、枚举和公式.
+ *
+ * @author veione
+ */
+public final class RowCodec {
+    static final byte NULL = 0;
+    static final byte FALSE = 1;
+    static final byte TRUE = 2;
+    static final byte INT = 3;
+    static final byte LONG = 4;
+    static final byte FLOAT = 5;
+    static final byte DOUBLE = 6;
+    static final byte STRING = 7;
+    static final byte SEQUENCE = 8;
+    static final byte MAP = 9;
+    static final byte CHAR = 10;
+    static final byte DECIMAL = 11;
+    static final byte INTEGER = 12;
+
+    private RowCodec() {
+    }
+
+    /**
+     * 编码一个字段值
+     *
+     * @param out   输出
+     * @param value 字段值
+     * @throws IllegalArgumentException 不支持的类型
+     */
+    public static void encode(Output out, Object value) {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(b ? TRUE : FALSE);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(INT);
+            out.writeVarLong(((Number) value).intValue());
+        } else if (value instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeVarLong(l);
+        } else if (value instanceof Float f) {
+            out.writeByte(FLOAT);
+            out.writeInt(Float.floatToRawIntBits(f));
+        } else if (value instanceof Double d) {
+            out.writeByte(DOUBLE);
+            out.writeLong(Double.doubleToRawLongBits(d));
+        } else if (value instanceof Character c) {
+            out.writeByte(CHAR);
+            out.writeVarLong(c);
+        } else if (value instanceof String s) {
+            out.writeByte(STRING);
+            out.writeString(s);
+        } else if (value instanceof CompiledFormula formula) {
+            out.writeByte(STRING);
+            out.writeString(formula.getSource());
+        } else if (value instanceof Enum<?> e) {
+            out.writeByte(STRING);
+            out.writeString(e.name());
+        } else if (value instanceof BigDecimal d) {
+            out.writeByte(DECIMAL);
+            out.writeString(d.toString());
+        } else if (value instanceof BigInteger i) {
+            out.writeByte(INTEGER);
+            out.writeString(i.toString());
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            out.writeByte(SEQUENCE);
+            out.writeVarLong(length);
+            for (int i = 0; i < length; i++) {
+                encode(out, Array.get(value, i));
+            }
+        } else if (value instanceof Collection<?> collection) {
+            out.writeByte(SEQUENCE);
+            out.writeVarLong(collection.size());
+            for (Object element : collection) {
+                encode(out, element);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(MAP);
+            out.writeVarLong(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                encode(out, entry.getKey());
+                encode(out, entry.getValue());
+            }
+        } else {
+            throw new IllegalArgumentException("Binary table does not support value type " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * 按字段声明的类型解码一个值
+     *
+     * @param in   输入, 从当前位置读取
+     * @param type 字段声明的类型
+     * @return 字段值
+     */
+    public static Object decode(ByteBuffer in, Type type) {
+        byte tag = in.get();
+        return switch (tag) {
+            case NULL -> null;
+            case FALSE -> Boolean.FALSE;
+            case TRUE -> Boolean.TRUE;
+            case INT -> narrow((int) readVarLong(in), rawType(type));
+            case LONG -> readVarLong(in);
+            case FLOAT -> Float.intBitsToFloat(in.getInt());
+            case DOUBLE -> Double.longBitsToDouble(in.getLong());
+            case CHAR -> (char) readVarLong(in);
+            case STRING -> fromString(readString(in), rawType(type));
+            case DECIMAL -> new BigDecimal(readString(in));
+            case INTEGER -> new BigInteger(readString(in));
+            case SEQUENCE -> readSequence(in, type);
+            case MAP -> readMap(in, type);
+            default -> throw new IllegalArgumentException("Binary table unknown value tag " + tag + " at " + (in.position() - 1));
+        };
+    }
+
+    private static Object narrow(int value, Class<?> type) {
+        if (type == short.class || type == Short.class) {
+            return (short) value;
+        }
+        if (type == byte.class || type == Byte.class) {
+            return (byte) value;
+        }
+        return value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object fromString(String value, Class<?> type) {
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) type, value);
+        }
+        if (FormulaCompiler.isFormulaType(type)) {
+            return FormulaCompiler.compile(type, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object readSequence(ByteBuffer in, Type type) {
+        int size = (int) readVarLong(in);
+        Class<?> raw = rawType(type);
+        if (raw.isArray()) {
+            Type componentType = type instanceof GenericArrayType arrayType ? arrayType.getGenericComponentType() : raw.getComponentType();
+            Object array = Array.newInstance(raw.getComponentType(), size);
+            for (int i = 0; i < size; i++) {
+                Array.set(array, i, decode(in, componentType));
+            }
+            return array;
+        }
+        Type elementType = typeArgument(type, 0);
+        Collection<Object> collection = CollectionFactory.createCollection(
+                Collection.class.isAssignableFrom(raw) ? raw : List.class, rawType(elementType), size);
+        for (int i = 0; i < size; i++) {
+            collection.add(decode(in, elementType));
+        }
+        return collection;
+    }
+
+    private static Object readMap(ByteBuffer in, Type type) {
+        int size = (int) readVarLong(in);
+        Class<?> raw = rawType(type);
+        Type keyType = typeArgument(type, 0);
+        Type valueType = typeArgument(type, 1);
+        Map<Object, Object> map = CollectionFactory.createMap(Map.class.isAssignableFrom(raw) ? raw : Map.class,
+                rawType(keyType), size);
+        for (int i = 0; i < size; i++) {
+            Object key = decode(in, keyType);
+            map.put(key, decode(in, valueType));
+        }
+        // 与 StringToMapConverter 的结果一致, 声明为接口的字段得到不可修改的 Map
+        return raw.isInterface() ? Collections.unmodifiableMap(map) : map;
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType parameterizedType && parameterizedType.getActualTypeArguments().length > index) {
+            return parameterizedType.getActualTypeArguments()[index];
+        }
+        return Object.class;
+    }
+
+    static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterizedType) {
+            return rawType(parameterizedType.getRawType());
+        }
+        if (type instanceof GenericArrayType arrayType) {
+            return Array.newInstance(rawType(arrayType.getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof WildcardType wildcardType) {
+            return rawType(wildcardType.getUpperBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    static long readVarLong(ByteBuffer in) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return (result >>> 1) ^ -(result & 1);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in);
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(in.position(), bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        in.position(in.position() + length);
+        return value;
+    }
+
+    /**
+     * 可扩容的字节输出
+     */
+    public static final class Output {
+        private byte[] bytes;
+        private int size;
+
+        public Output(int capacity) {
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(size + extra, bytes.length << 1));
+            }
+        }
+
+        public void writeByte(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        public void writeInt(int v) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (v >>> shift);
+            }
+        }
+
+        public void writeLong(long v) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (v >>> shift);
+            }
+        }
+
+        public void writeVarLong(long v) {
+            long zigzag = (v << 1) ^ (v >> 63);
+            ensure(10);
+            while ((zigzag & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            bytes[size++] = (byte) zigzag;
+        }
+
+        public void writeString(String s) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        public void write(byte[] b, int off, int len) {
+            ensure(len);
+            System.arraycopy(b, off, bytes, size, len);
+            size += len;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        public void writeTo(OutputStream out) throws IOException {
+            out.write(bytes, 0, size);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.think.table.bundle;
+
+import com.think.table.exception.TableReadException;
+import com.think.table.reader.RowSink;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 把所有二进制配置表打包成一个文件, 启动时只需要一次查找和一次内存映射.
+ * <pre>
+ * int     magic
+ * short   version
+ * int     配置表数量
+ * 目录    每张表: 名称, 结构哈希(long), 偏移(long), 长度(int), 行数(int)
+ * byte[]  各配置表的 {@link BinaryTable} 数据
+ * </pre>
+ * 打开时只解析目录, 各配置表在首次读取时从映射区域直接解码.
+ *
+ * @author veione
+ */
+public final class TableBundle {
+    static final int MAGIC = 0x54424E44;
+    static final short VERSION = 1;
+    /**
+     * 目录中每张表除名称以外的固定长度
+     */
+    private static final int ENTRY_FIXED_BYTES = Long.BYTES * 2 + Integer.BYTES * 2;
+
+    private final ByteBuffer buffer;
+    private final Map<String, Entry> entries;
+
+    private TableBundle(ByteBuffer buffer, Map<String, Entry> entries) {
+        this.buffer = buffer;
+        this.entries = entries;
+    }
+
+    /**
+     * 打开配置表包, 文件系统中的包直接做内存映射, jar 中的包一次读入堆内
+     *
+     * @param resource 配置表包
+     * @return 配置表包
+     * @throws IOException        读取失败
+     * @throws TableReadException 不是配置表包或者版本不一致
+     */
+    public static TableBundle open(Resource resource) throws IOException, TableReadException {
+        ByteBuffer buffer;
+        if (resource.isFile()) {
+            try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        } else {
+            try (InputStream in = resource.getInputStream()) {
+                buffer = ByteBuffer.wrap(in.readAllBytes());
+            }
+        }
+        return open(buffer);
+    }
+
+    /**
+     * @param buffer 配置表包数据
+     * @return 配置表包
+     * @throws TableReadException 不是配置表包或者版本不一致
+     */
+    public static TableBundle open(ByteBuffer buffer) throws TableReadException {
+        ByteBuffer in = buffer.duplicate();
+        if (in.remaining() < Integer.BYTES + Short.BYTES || in.getInt() != MAGIC) {
+            throw new TableReadException("Not a table bundle");
+        }
+        short version = in.getShort();
+        if (version != VERSION) {
+            throw new TableReadException(String.format("Table bundle version %d is not supported, expected %d", version, VERSION));
+        }
+        int count = in.getInt();
+        Map<String, Entry> entries = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            String name = RowCodec.readString(in);
+            entries.put(name, new Entry(name, in.getLong(), in.getLong(), in.getInt(), in.getInt()));
+        }
+        return new TableBundle(buffer, Collections.unmodifiableMap(entries));
+    }
+
+    /**
+     * 写出配置表包
+     *
+     * @param out    输出流
+     * @param tables 表名和 {@link BinaryTable#write} 编码后的数据
+     * @throws IOException 写出失败
+     */
+    public static void write(OutputStream out, List<EncodedTable> tables) throws IOException {
+        int headerSize = Integer.BYTES + Short.BYTES + Integer.BYTES;
+        for (EncodedTable table : tables) {
+            RowCodec.Output name = new RowCodec.Output(32);
+            name.writeString(table.name());
+            headerSize += name.size() + ENTRY_FIXED_BYTES;
+        }
+        RowCodec.Output header = new RowCodec.Output(headerSize);
+        header.writeInt(MAGIC);
+        header.writeByte(VERSION >>> 8);
+        header.writeByte(VERSION);
+        header.writeInt(tables.size());
+        long offset = headerSize;
+        for (EncodedTable table : tables) {
+            header.writeString(table.name());
+            header.writeLong(table.hash());
+            header.writeLong(offset);
+            header.writeInt(table.data().length);
+            header.writeInt(table.rowCount());
+            offset += table.data().length;
+        }
+        header.writeTo(out);
+        for (EncodedTable table : tables) {
+            out.write(table.data());
+        }
+    }
+
+    /**
+     * @param name 配置表文件名
+     * @return 是否包含该配置表
+     */
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    public Set<String> getTableNames() {
+        return entries.keySet();
+    }
+
+    /**
+     * @param name 配置表文件名
+     * @return 目录项, 不存在时返回 {@code null}
+     */
+    public Entry getEntry(String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * 从映射区域解码一张配置表, 行数达到 parallelThreshold 时按行切分后并行解码
+     *
+     * @param name              配置表文件名
+     * @param clazz             配置类
+     * @param sink              行消费者
+     * @param parallelThreshold 并行解码的最小行数
+     * @param <T>
+     * @throws TableReadException 配置表不存在、结构不一致或者解码失败
+     */
+    public <T> void read(String name, Class<T> clazz, RowSink<? super T> sink, int parallelThreshold) throws TableReadException {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new TableReadException(String.format("Table bundle has no table %s", name));
+        }
+        BinaryTable table = BinaryTable.open(buffer.slice((int) entry.offset(), entry.length()));
+        TableSchema<T> schema = TableSchema.of(clazz);
+        table.checkSchema(schema);
+        table.decode(schema, sink, parallelThreshold);
+    }
+
+    /**
+     * 目录项
+     *
+     * @param name     配置表文件名
+     * @param hash     结构哈希
+     * @param offset   数据在包中的偏移
+     * @param length   数据长度
+     * @param rowCount 行数
+     */
+    public record Entry(String name, long hash, long offset, int length, int rowCount) {
+    }
+
+    /**
+     * 编码后等待打包的配置表
+     *
+     * @param name     配置表文件名
+     * @param hash     结构哈希
+     * @param rowCount 行数
+     * @param data     {@link BinaryTable} 数据
+     */
+    public record EncodedTable(String name, long hash, int rowCount, byte[] data) {
+    }
+}
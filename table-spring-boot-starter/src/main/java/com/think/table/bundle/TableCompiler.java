@@ -0,0 +1,186 @@
+package com.think.table.bundle;
+
+import com.think.table.TableDefinition;
+import com.think.table.TableReferences;
+import com.think.table.TableSnapshot;
+import com.think.table.exception.TableException;
+import com.think.table.reader.BinaryTableReader;
+import com.think.table.reader.ExcelTableReader;
+import com.think.table.reader.TableReader;
+import com.think.table.reader.TableReaderRegistry;
+import com.think.table.reader.TableSheet;
+import com.think.table.validation.TableValidation;
+import com.think.table.validation.ValidationReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 构建时把配置表源文件编译为二进制配置表.
+ * <p>使用与运行期相同的读取器读取源文件, 按运行期的规则建立主键表校验主键, 全部配置表都成功后才算编译成功,
+ * 同时校验一起编译的配置表之间的 {@link com.think.table.annotation.Ref} 引用, 失败时一次报告所有出错的配置表. 编译结果以 {@code 表名.bin} 写到输出目录, 运行期把 {@code bin} 放在
+ * {@code com.think.table.resolution-order} 的最前面即可优先加载; 也可以打包为一个 {@link TableBundle}.</p>
+ *
+ * @author veione
+ */
+public class TableCompiler {
+    private static final Logger log = LoggerFactory.getLogger(TableCompiler.class);
+    private final TableReaderRegistry readers;
+    private final Path sourceDirectory;
+    private final Path outputDirectory;
+
+    /**
+     * @param readers         源文件读取器
+     * @param sourceDirectory 源文件目录
+     * @param outputDirectory 输出目录
+     */
+    public TableCompiler(TableReaderRegistry readers, Path sourceDirectory, Path outputDirectory) {
+        this.readers = readers;
+        this.sourceDirectory = sourceDirectory;
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * 编译配置表, 每张表输出一个 {@code 表名.bin}
+     *
+     * @param classes 配置类
+     * @return 编译出的文件
+     * @throws TableException 存在读取、校验或者编码失败的配置表
+     */
+    public List<Path> compile(Collection<Class<?>> classes) throws TableException {
+        List<TableBundle.EncodedTable> tables = encode(classes);
+        List<Path> outputs = new ArrayList<>(tables.size());
+        for (TableBundle.EncodedTable table : tables) {
+            Path output = outputDirectory.resolve(table.name() + "." + BinaryTableReader.SUFFIX);
+            write(output, out -> out.write(table.data()));
+            outputs.add(output);
+        }
+        return outputs;
+    }
+
+    /**
+     * 编译配置表并打包为一个文件
+     *
+     * @param classes    配置类
+     * @param bundleName 配置表包文件名, 相对于输出目录
+     * @return 配置表包文件
+     * @throws TableException 存在读取、校验或者编码失败的配置表
+     * @see TableBundle
+     */
+    public Path compileBundle(Collection<Class<?>> classes, String bundleName) throws TableException {
+        List<TableBundle.EncodedTable> tables = encode(classes);
+        Path output = outputDirectory.resolve(bundleName);
+        write(output, out -> TableBundle.write(out, tables));
+        log.info("Table bundle {} written, tables: {}", output.getFileName(), tables.size());
+        return output;
+    }
+
+    private List<TableBundle.EncodedTable> encode(Collection<Class<?>> classes) throws TableException {
+        List<TableBundle.EncodedTable> tables = new ArrayList<>(classes.size());
+        Map<Class<?>, TableSnapshot<?>> snapshots = new HashMap<>(classes.size() * 2);
+        List<String> failures = new ArrayList<>();
+        Throwable firstFailure = null;
+        for (Class<?> clazz : classes) {
+            try {
+                tables.add(encode(clazz, snapshots));
+            } catch (Exception e) {
+                failures.add(clazz.getSimpleName() + ": " + e.getMessage());
+                firstFailure = firstFailure != null ? firstFailure : e;
+            }
+        }
+        // 被引用的配置表不在本次编译范围内时跳过对应字段, 由运行期加载时校验
+        for (TableSnapshot<?> snapshot : snapshots.values()) {
+            ValidationReport report = validate(snapshot, snapshots);
+            if (!report.isValid()) {
+                failures.add(snapshot.getDefinition().getTableClass().getSimpleName() + ": " + report);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new TableException(String.format("%d of %d tables failed to compile%n  %s", failures.size(),
+                    classes.size(), String.join(System.lineSeparator() + "  ", failures)), firstFailure);
+        }
+        return tables;
+    }
+
+    /**
+     * 校验字段规则和引用字段, 自定义校验器依赖运行期的 Spring 容器, 不在编译期执行
+     */
+    private static <T> ValidationReport validate(TableSnapshot<T> snapshot, Map<Class<?>, TableSnapshot<?>> snapshots) {
+        TableDefinition definition = snapshot.getDefinition();
+        ValidationReport.Collector collector = new ValidationReport.Collector(definition.getTableFileName());
+        TableReferences.resolve(definition, snapshot.rows(), snapshots::get, collector::add);
+        return TableValidation.validate(snapshot, List.of(), true, snapshots::get, collector);
+    }
+
+    private <T> TableBundle.EncodedTable encode(Class<T> clazz, Map<Class<?>, TableSnapshot<?>> snapshots) throws Exception {
+        TableDefinition definition = new TableDefinition(clazz);
+        TableReader reader = null;
+        Path source = null;
+        for (TableReader candidate : readers.candidates(definition.getFormat())) {
+            if (candidate instanceof BinaryTableReader) {
+                continue;
+            }
+            reader = candidate;
+            source = sourceDirectory.resolve(definition.getTableFileName() + "." + candidate.getSuffix());
+            if (Files.isRegularFile(source)) {
+                break;
+            }
+        }
+        if (reader == null || !Files.isRegularFile(source)) {
+            throw new TableException("Table source file not found: " + source);
+        }
+
+        // 与运行期加载相同, 通过快照构建器校验主键
+        TableSnapshot.Builder<T> builder = TableSnapshot.builder(definition, 0);
+        List<T> rows = new ArrayList<>(64);
+        try (InputStream in = Files.newInputStream(source)) {
+            if (reader instanceof ExcelTableReader excelReader && StringUtils.hasText(definition.getSheetName())) {
+                excelReader.read(in, List.of(new TableSheet<>(definition.getSheetName(), clazz, row -> {
+                    builder.add(row);
+                    rows.add(row);
+                })));
+            } else {
+                reader.read(in, clazz, row -> {
+                    builder.add(row);
+                    rows.add(row);
+                });
+            }
+        }
+
+        snapshots.put(clazz, builder.build());
+
+        TableSchema<T> schema = TableSchema.of(clazz);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows.size() * 32 + 256);
+        BinaryTable.write(out, schema, rows);
+        log.info("Table {} compiled from {}, rows: {}", clazz.getSimpleName(), source.getFileName(), rows.size());
+        return new TableBundle.EncodedTable(definition.getTableFileName(), schema.getHash(), rows.size(), out.toByteArray());
+    }
+
+    private static void write(Path output, Writer writer) throws TableException {
+        try {
+            Files.createDirectories(output.toAbsolutePath().getParent());
+            try (OutputStream out = Files.newOutputStream(output)) {
+                writer.write(out);
+            }
+        } catch (IOException e) {
+            throw new TableException("Write compiled table failed: " + output, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+}
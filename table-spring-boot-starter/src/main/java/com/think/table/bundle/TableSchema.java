@@ -0,0 +1,186 @@
+package com.think.table.bundle;
+
+import com.think.table.descriptor.TableDescriptor;
+import com.think.table.descriptor.TableDescriptors;
+import com.think.table.reader.util.TypeUtils;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.springframework.beans.BeanUtils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 二进制配置表的列结构, 列顺序与 {@code FieldUtils.getAllFields} 一致.
+ * <p>结构哈希由列名和字段声明类型计算, 配置类修改字段后旧的二进制文件会被拒绝加载.</p>
+ *
+ * @param <T> 配置类
+ * @author veione
+ */
+public final class TableSchema<T> {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final ClassValue<TableSchema<?>> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected TableSchema<?> computeValue(Class<?> type) {
+            return new TableSchema<>(type);
+        }
+    };
+
+    private final Class<T> clazz;
+    private final Field[] fields;
+    private final String[] names;
+    private final Type[] types;
+    private final long hash;
+    private final TableDescriptor<T> descriptor;
+    private final int[] descriptorIndexes;
+    private final Constructor<T> constructor;
+    private final TableDescriptor<T> rowFactory;
+    /**
+     * 按构造参数顺序保存对应的列下标
+     */
+    private final int[] parameterColumns;
+
+    @SuppressWarnings("unchecked")
+    private TableSchema(Class<T> clazz) {
+        this.clazz = clazz;
+        List<Field> columns = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Field field : FieldUtils.getAllFields(clazz)) {
+            if (field.isSynthetic() || Modifier.isStatic(field.getModifiers()) || !seen.add(field.getName())) {
+                continue;
+            }
+            field.setAccessible(true);
+            columns.add(field);
+        }
+        this.fields = columns.toArray(new Field[0]);
+        this.names = new String[fields.length];
+        this.types = new Type[fields.length];
+        long h = FNV_OFFSET;
+        for (int i = 0; i < fields.length; i++) {
+            names[i] = fields[i].getName();
+            types[i] = fields[i].getGenericType();
+            for (char c : (names[i] + ':' + types[i].getTypeName() + ';').toCharArray()) {
+                h = (h ^ c) * FNV_PRIME;
+            }
+        }
+        this.hash = h;
+
+        Map<String, Integer> columnIndexes = new HashMap<>(fields.length);
+        for (int i = 0; i < names.length; i++) {
+            columnIndexes.put(names[i], i);
+        }
+        this.descriptor = TableDescriptors.find(clazz);
+        this.descriptorIndexes = new int[fields.length];
+        if (descriptor != null) {
+            String[] descriptorNames = descriptor.getFieldNames();
+            Arrays.fill(descriptorIndexes, -1);
+            for (int i = 0; i < descriptorNames.length; i++) {
+                Integer column = columnIndexes.get(descriptorNames[i]);
+                if (column != null) {
+                    descriptorIndexes[column] = i;
+                }
+            }
+        }
+
+        Constructor<T> resolved = (Constructor<T>) BeanUtils.getResolvableConstructor(clazz);
+        if (resolved.getParameterCount() > 0) {
+            this.constructor = resolved;
+            this.rowFactory = TableDescriptors.findRowFactory(clazz, resolved);
+            String[] parameterNames = rowFactory != null ? rowFactory.getParameterNames() : BeanUtils.getParameterNames(resolved);
+            this.parameterColumns = new int[parameterNames.length];
+            for (int i = 0; i < parameterNames.length; i++) {
+                Integer column = columnIndexes.get(parameterNames[i]);
+                if (column == null) {
+                    throw new IllegalArgumentException(String.format("Table class %s constructor parameter %s has no field",
+                            clazz.getName(), parameterNames[i]));
+                }
+                parameterColumns[i] = column;
+            }
+        } else {
+            this.constructor = null;
+            this.rowFactory = null;
+            this.parameterColumns = null;
+        }
+    }
+
+    /**
+     * @param clazz 配置类
+     * @param <T>
+     * @return 列结构, 每个配置类只解析一次
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> TableSchema<T> of(Class<T> clazz) {
+        return (TableSchema<T>) SCHEMAS.get(clazz);
+    }
+
+    public Class<T> getTableClass() {
+        return clazz;
+    }
+
+    public int getColumnCount() {
+        return fields.length;
+    }
+
+    public String getName(int column) {
+        return names[column];
+    }
+
+    public Type getType(int column) {
+        return types[column];
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @param row    配置对象
+     * @param column 列下标
+     * @return 字段值
+     */
+    public Object getValue(T row, int column) {
+        if (descriptor != null && descriptorIndexes[column] >= 0) {
+            return descriptor.getValue(row, descriptorIndexes[column]);
+        }
+        try {
+            return fields[column].get(row);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Table class %s field %s is not accessible", clazz.getName(), names[column]), e);
+        }
+    }
+
+    /**
+     * 创建配置对象
+     *
+     * @param values 按列顺序排列的字段值, 原始类型字段为 {@code null} 时使用默认值
+     * @return 配置对象
+     * @throws ReflectiveOperationException 创建或者赋值失败
+     */
+    public T newRow(Object[] values) throws ReflectiveOperationException {
+        if (constructor != null) {
+            Object[] args = new Object[parameterColumns.length];
+            for (int i = 0; i < args.length; i++) {
+                Object value = values[parameterColumns[i]];
+                Class<?> type = fields[parameterColumns[i]].getType();
+                args[i] = value == null && type.isPrimitive() ? TypeUtils.getPrimitiveValue(type) : value;
+            }
+            return rowFactory != null ? rowFactory.newRow(args) : constructor.newInstance(args);
+        }
+        T row = clazz.getDeclaredConstructor().newInstance();
+        for (int i = 0; i < fields.length; i++) {
+            if (values[i] != null) {
+                fields[i].set(row, values[i]);
+            }
+        }
+        return row;
+    }
+}
@@ -0,0 +1,38 @@
+package com.think.table.converter;
+
+import com.think.table.formula.FormulaCompiler;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
+import org.springframework.util.StringUtils;
+
+import java.util.Set;
+
+/**
+ * String to {@link com.think.table.annotation.Formula} converter, 同时支持转换回公式字符串
+ *
+ * @author veione
+ */
+public class StringToFormulaConverter implements ConditionalGenericConverter {
+
+    @Override
+    public Set<ConvertiblePair> getConvertibleTypes() {
+        return Set.of(new ConvertiblePair(String.class, Object.class), new ConvertiblePair(Object.class, String.class));
+    }
+
+    @Override
+    public boolean matches(TypeDescriptor sourceType, TypeDescriptor targetType) {
+        return targetType.getType() == String.class ? FormulaCompiler.isFormulaType(sourceType.getType())
+                : sourceType.getType() == String.class && FormulaCompiler.isFormulaType(targetType.getType());
+    }
+
+    @Override
+    public Object convert(Object source, TypeDescriptor sourceType, TypeDescriptor targetType) {
+        if (targetType.getType() == String.class) {
+            return FormulaCompiler.getSource(source);
+        }
+        if (!StringUtils.hasText((String) source)) {
+            return null;
+        }
+        return FormulaCompiler.compile(targetType.getType(), (String) source);
+    }
+}
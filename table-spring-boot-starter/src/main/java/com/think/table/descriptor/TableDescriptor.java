@@ -0,0 +1,58 @@
+package com.think.table.descriptor;
+
+import java.io.Serializable;
+
+/**
+ * 编译期生成的配置表描述, 由 {@link com.think.table.processor.TableDescriptorProcessor} 为每个
+ * {@link com.think.table.annotation.CfgTable} 类生成, 类名为 {@code 配置类名_TableDescriptor}.
+ * <p>字段读取、主键读取和行对象创建都是直接的方法调用, 存在描述时运行期不再通过反射访问配置对象.</p>
+ *
+ * @param <T> 配置类
+ * @author veione
+ */
+public interface TableDescriptor<T> {
+
+    /**
+     * @return 配置类
+     */
+    Class<T> getTableClass();
+
+    /**
+     * @return 字段名称, 下标与 {@link #getValue(Object, int)} 一致
+     */
+    String[] getFieldNames();
+
+    /**
+     * 读取字段值
+     *
+     * @param row   配置对象
+     * @param field 字段下标
+     * @return 字段值, 原始类型会装箱
+     */
+    Object getValue(T row, int field);
+
+    /**
+     * @param row 配置对象
+     * @return 主键值
+     */
+    Serializable getId(T row);
+
+    /**
+     * @return 行工厂使用的构造函数参数类型, 不支持创建行对象时返回 {@code null}
+     */
+    Class<?>[] getParameterTypes();
+
+    /**
+     * @return 行工厂使用的构造函数参数名称, 不支持创建行对象时返回 {@code null}
+     */
+    String[] getParameterNames();
+
+    /**
+     * 创建行对象
+     *
+     * @param args 按构造函数参数顺序排列的值, 原始类型参数不能为 {@code null}
+     * @return 行对象
+     * @throws UnsupportedOperationException 配置类没有可用的全参构造函数
+     */
+    T newRow(Object[] args);
+}
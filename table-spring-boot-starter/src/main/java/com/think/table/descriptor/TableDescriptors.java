@@ -0,0 +1,76 @@
+package com.think.table.descriptor;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+
+/**
+ * 查找编译期生成的 {@link TableDescriptor}, 每个配置类只查找一次
+ *
+ * @author veione
+ */
+public final class TableDescriptors {
+    /**
+     * 生成类的名称后缀
+     */
+    public static final String SUFFIX = "_TableDescriptor";
+    private static final ClassValue<TableDescriptor<?>> DESCRIPTORS = new ClassValue<>() {
+        @Override
+        protected TableDescriptor<?> computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private TableDescriptors() {
+    }
+
+    /**
+     * @param clazz 配置类
+     * @param <T>
+     * @return 生成的描述, 没有经过注解处理器编译时返回 {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> TableDescriptor<T> find(Class<T> clazz) {
+        return (TableDescriptor<T>) DESCRIPTORS.get(clazz);
+    }
+
+    /**
+     * @param clazz       配置类
+     * @param constructor 调用方使用的构造函数
+     * @param <T>
+     * @return 参数与构造函数一致时返回生成的描述, 否则返回 {@code null}
+     */
+    public static <T> TableDescriptor<T> findRowFactory(Class<T> clazz, Constructor<?> constructor) {
+        TableDescriptor<T> descriptor = find(clazz);
+        if (descriptor == null || constructor == null
+                || !Arrays.equals(descriptor.getParameterTypes(), constructor.getParameterTypes())) {
+            return null;
+        }
+        return descriptor;
+    }
+
+    /**
+     * 生成类的名称, 嵌套类的外部类名用下划线连接
+     *
+     * @param packageName 包名
+     * @param simpleNames 从最外层开始的类名
+     * @return 生成类的全限定名
+     */
+    public static String descriptorName(String packageName, String simpleNames) {
+        String name = simpleNames.replace('.', '_') + SUFFIX;
+        return packageName.isEmpty() ? name : packageName + "." + name;
+    }
+
+    private static TableDescriptor<?> load(Class<?> type) {
+        String packageName = type.getPackageName();
+        String binaryName = type.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+        String name = descriptorName(packageName, binaryName.replace('$', '.'));
+        try {
+            Class<?> descriptorClass = Class.forName(name, true, type.getClassLoader());
+            return (TableDescriptor<?>) descriptorClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Table descriptor " + name + " can not be created", e);
+        }
+    }
+}
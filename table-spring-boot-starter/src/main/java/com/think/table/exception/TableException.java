@@ -9,6 +9,10 @@ public class TableException extends Exception {
     public TableException() {
     }
 
+    public TableException(String msg) {
+        super(msg);
+    }
+
     public TableException(Throwable e) {
         super(e);
     }
@@ -9,6 +9,10 @@ public class TableReadException extends TableException {
     public TableReadException() {
     }
 
+    public TableReadException(String msg) {
+        super(msg);
+    }
+
     public TableReadException(Throwable e) {
         super(e);
     }
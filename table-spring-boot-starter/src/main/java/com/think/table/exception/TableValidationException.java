@@ -0,0 +1,21 @@
+package com.think.table.exception;
+
+import com.think.table.validation.ValidationReport;
+
+/**
+ * Table validation exception, 新加载的数据没有通过校验, 快照不会发布
+ *
+ * @author veione
+ */
+public class TableValidationException extends TableException {
+    private final transient ValidationReport report;
+
+    public TableValidationException(ValidationReport report) {
+        super(report.toString());
+        this.report = report;
+    }
+
+    public ValidationReport getReport() {
+        return report;
+    }
+}
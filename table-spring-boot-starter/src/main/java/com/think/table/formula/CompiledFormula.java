@@ -0,0 +1,14 @@
+package com.think.table.formula;
+
+/**
+ * 编译后的公式都实现该接口, 用于取回公式字符串, 例如编码为二进制配置表时
+ *
+ * @author veione
+ */
+public interface CompiledFormula {
+
+    /**
+     * @return 公式字符串
+     */
+    String getSource();
+}
@@ -0,0 +1,307 @@
+package com.think.table.formula;
+
+import com.think.table.annotation.Formula;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 公式编译器. 公式在加载配置表时解析一次, 生成实现 {@link Formula} 接口的隐藏类, 计算时直接执行字节码,
+ * 参数和中间结果都是基本类型, 不创建对象, 可以被 JIT 内联. 公式字符串相同的行共享同一个实例,
+ * 实例由软引用缓存, 热更新后不再使用的隐藏类可以被卸载.
+ * <p>支持 {@code + - * / %}、{@code ^}(乘方)、括号、数字常量、接口方法的参数名, 以及函数
+ * {@code min max abs floor ceil round sqrt pow exp log log10 clamp(x, min, max)}, 语义与 {@link Math} 一致.</p>
+ * <p>运行期生成字节码, 不支持 GraalVM native image.</p>
+ *
+ * @author veione
+ */
+public final class FormulaCompiler {
+    private static final String MATH = "java/lang/Math";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String STRING_DESCRIPTOR = "()Ljava/lang/String;";
+    private static final Set<Class<?>> NUMERIC_TYPES = Set.of(double.class, float.class, int.class, long.class);
+    private static final ClassValue<FormulaType> TYPES = new ClassValue<>() {
+        @Override
+        protected FormulaType computeValue(Class<?> type) {
+            return new FormulaType(type);
+        }
+    };
+
+    private FormulaCompiler() {
+    }
+
+    /**
+     * @param type 字段类型
+     * @return 是否为标注了 {@link Formula} 的接口
+     */
+    public static boolean isFormulaType(Class<?> type) {
+        return type.isInterface() && type.isAnnotationPresent(Formula.class);
+    }
+
+    /**
+     * 编译公式
+     *
+     * @param type   公式接口, 只有一个参数和返回值都是数值类型的抽象方法
+     * @param source 公式字符串
+     * @return 实现公式接口的实例, 同时实现 {@link CompiledFormula}
+     * @throws IllegalArgumentException 公式接口不合法、语法错误、未知的变量或者函数
+     */
+    public static <F> F compile(Class<F> type, String source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Formula must not be null");
+        }
+        return type.cast(TYPES.get(type).compile(source.strip()));
+    }
+
+    /**
+     * @param formula 公式实例
+     * @return 公式字符串, 不是编译生成的公式时返回 {@code null}
+     */
+    public static String getSource(Object formula) {
+        return formula instanceof CompiledFormula compiled ? compiled.getSource() : null;
+    }
+
+    /**
+     * 一个公式接口的编译信息
+     */
+    private static final class FormulaType {
+        private final Class<?> type;
+        private final Method method;
+        private final List<String> variables;
+        private final MethodHandles.Lookup lookup;
+        private final String className;
+        private final Map<String, Object> instances = new ConcurrentReferenceHashMap<>();
+
+        FormulaType(Class<?> type) {
+            if (!type.isInterface()) {
+                throw new IllegalArgumentException("Formula type must be an interface: " + type.getName());
+            }
+            this.type = type;
+            this.method = abstractMethod(type);
+            this.variables = new ArrayList<>(method.getParameterCount());
+            for (Parameter parameter : method.getParameters()) {
+                if (!parameter.isNamePresent()) {
+                    throw new IllegalArgumentException(String.format("Formula type %s parameter names not found, compile with -parameters",
+                            type.getName()));
+                }
+                if (!NUMERIC_TYPES.contains(parameter.getType())) {
+                    throw new IllegalArgumentException(String.format("Formula type %s parameter %s must be double, float, int or long",
+                            type.getName(), parameter.getName()));
+                }
+                variables.add(parameter.getName());
+            }
+            if (!NUMERIC_TYPES.contains(method.getReturnType())) {
+                throw new IllegalArgumentException(String.format("Formula type %s must return double, float, int or long", type.getName()));
+            }
+            this.lookup = lookup(type);
+            this.className = lookup.lookupClass().getPackageName().replace('.', '/') + '/' + type.getSimpleName() + "$$Formula";
+        }
+
+        private static Method abstractMethod(Class<?> type) {
+            Method found = null;
+            for (Method candidate : type.getMethods()) {
+                if (!Modifier.isAbstract(candidate.getModifiers()) || isObjectMethod(candidate)) {
+                    continue;
+                }
+                if (found != null) {
+                    throw new IllegalArgumentException("Formula type must have exactly one abstract method: " + type.getName());
+                }
+                found = candidate;
+            }
+            if (found == null) {
+                throw new IllegalArgumentException("Formula type has no abstract method: " + type.getName());
+            }
+            return found;
+        }
+
+        private static boolean isObjectMethod(Method method) {
+            try {
+                Object.class.getMethod(method.getName(), method.getParameterTypes());
+                return true;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+
+        /**
+         * 优先把隐藏类定义在公式接口所在的包中, 这样包内可见的接口也可以使用
+         */
+        private static MethodHandles.Lookup lookup(Class<?> type) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                if (lookup.hasFullPrivilegeAccess()) {
+                    return lookup;
+                }
+            } catch (IllegalAccessException e) {
+                // 接口所在的包没有开放, 定义在本包中
+            }
+            if (!Modifier.isPublic(type.getModifiers())) {
+                throw new IllegalArgumentException("Formula type is not accessible, make it public: " + type.getName());
+            }
+            return MethodHandles.lookup();
+        }
+
+        Object compile(String source) {
+            return instances.computeIfAbsent(source, this::define);
+        }
+
+        private Object define(String source) {
+            FormulaParser.Node node = new FormulaParser(source, variables).parse();
+            byte[] bytes = generate(source, node);
+            try {
+                MethodHandles.Lookup hidden = lookup.defineHiddenClass(bytes, true);
+                return hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+            } catch (Throwable e) {
+                throw new IllegalStateException("Formula type " + type.getName() + " define class failed: " + source, e);
+            }
+        }
+
+        private byte[] generate(String source, FormulaParser.Node node) {
+            ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+            cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, className, null, OBJECT,
+                    new String[]{Type.getInternalName(type), Type.getInternalName(CompiledFormula.class)});
+
+            MethodVisitor init = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+            init.visitCode();
+            init.visitVarInsn(Opcodes.ALOAD, 0);
+            init.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+            init.visitInsn(Opcodes.RETURN);
+            init.visitMaxs(0, 0);
+            init.visitEnd();
+
+            MethodVisitor apply = cw.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, method.getName(),
+                    Type.getMethodDescriptor(method), null, null);
+            apply.visitCode();
+            emit(apply, node, slots(method.getParameterTypes()));
+            emitReturn(apply, method.getReturnType());
+            apply.visitMaxs(0, 0);
+            apply.visitEnd();
+
+            for (String name : new String[]{"getSource", "toString"}) {
+                MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, name, STRING_DESCRIPTOR, null, null);
+                mv.visitCode();
+                mv.visitLdcInsn(source);
+                mv.visitInsn(Opcodes.ARETURN);
+                mv.visitMaxs(0, 0);
+                mv.visitEnd();
+            }
+            cw.visitEnd();
+            return cw.toByteArray();
+        }
+
+        /**
+         * @return 各参数的局部变量槽位, long 和 double 占两个槽位
+         */
+        private static int[] slots(Class<?>[] parameterTypes) {
+            int[] slots = new int[parameterTypes.length];
+            int slot = 1;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                slots[i] = slot;
+                slot += parameterTypes[i] == long.class || parameterTypes[i] == double.class ? 2 : 1;
+            }
+            return slots;
+        }
+
+        /**
+         * 生成计算节点的字节码, 结果以 double 留在操作数栈上
+         */
+        private void emit(MethodVisitor mv, FormulaParser.Node node, int[] slots) {
+            if (node instanceof FormulaParser.Num num) {
+                mv.visitLdcInsn(num.value());
+            } else if (node instanceof FormulaParser.Var var) {
+                Class<?> parameterType = method.getParameterTypes()[var.index()];
+                int slot = slots[var.index()];
+                if (parameterType == double.class) {
+                    mv.visitVarInsn(Opcodes.DLOAD, slot);
+                } else if (parameterType == float.class) {
+                    mv.visitVarInsn(Opcodes.FLOAD, slot);
+                    mv.visitInsn(Opcodes.F2D);
+                } else if (parameterType == long.class) {
+                    mv.visitVarInsn(Opcodes.LLOAD, slot);
+                    mv.visitInsn(Opcodes.L2D);
+                } else {
+                    mv.visitVarInsn(Opcodes.ILOAD, slot);
+                    mv.visitInsn(Opcodes.I2D);
+                }
+            } else if (node instanceof FormulaParser.Neg neg) {
+                emit(mv, neg.operand(), slots);
+                mv.visitInsn(Opcodes.DNEG);
+            } else if (node instanceof FormulaParser.Binary binary) {
+                emit(mv, binary.left(), slots);
+                emit(mv, binary.right(), slots);
+                mv.visitInsn(switch (binary.operator()) {
+                    case '+' -> Opcodes.DADD;
+                    case '-' -> Opcodes.DSUB;
+                    case '*' -> Opcodes.DMUL;
+                    case '/' -> Opcodes.DDIV;
+                    case '%' -> Opcodes.DREM;
+                    default -> throw new IllegalStateException("Unknown operator " + binary.operator());
+                });
+            } else if (node instanceof FormulaParser.Call call) {
+                emitCall(mv, call, slots);
+            }
+        }
+
+        private void emitCall(MethodVisitor mv, FormulaParser.Call call, int[] slots) {
+            List<FormulaParser.Node> args = call.args();
+            switch (call.function()) {
+                case MIN, MAX -> {
+                    String name = call.function() == FormulaParser.Function.MIN ? "min" : "max";
+                    emit(mv, args.get(0), slots);
+                    for (FormulaParser.Node arg : args.subList(1, args.size())) {
+                        emit(mv, arg, slots);
+                        mv.visitMethodInsn(Opcodes.INVOKESTATIC, MATH, name, "(DD)D", false);
+                    }
+                }
+                case CLAMP -> {
+                    emit(mv, args.get(0), slots);
+                    emit(mv, args.get(1), slots);
+                    mv.visitMethodInsn(Opcodes.INVOKESTATIC, MATH, "max", "(DD)D", false);
+                    emit(mv, args.get(2), slots);
+                    mv.visitMethodInsn(Opcodes.INVOKESTATIC, MATH, "min", "(DD)D", false);
+                }
+                case ROUND -> {
+                    emit(mv, args.get(0), slots);
+                    mv.visitMethodInsn(Opcodes.INVOKESTATIC, MATH, "round", "(D)J", false);
+                    mv.visitInsn(Opcodes.L2D);
+                }
+                case POW -> {
+                    emit(mv, args.get(0), slots);
+                    emit(mv, args.get(1), slots);
+                    mv.visitMethodInsn(Opcodes.INVOKESTATIC, MATH, "pow", "(DD)D", false);
+                }
+                default -> {
+                    emit(mv, args.get(0), slots);
+                    mv.visitMethodInsn(Opcodes.INVOKESTATIC, MATH, call.function().name, "(D)D", false);
+                }
+            }
+        }
+
+        private static void emitReturn(MethodVisitor mv, Class<?> returnType) {
+            if (returnType == double.class) {
+                mv.visitInsn(Opcodes.DRETURN);
+            } else if (returnType == float.class) {
+                mv.visitInsn(Opcodes.D2F);
+                mv.visitInsn(Opcodes.FRETURN);
+            } else if (returnType == long.class) {
+                mv.visitInsn(Opcodes.D2L);
+                mv.visitInsn(Opcodes.LRETURN);
+            } else {
+                mv.visitInsn(Opcodes.D2I);
+                mv.visitInsn(Opcodes.IRETURN);
+            }
+        }
+    }
+}
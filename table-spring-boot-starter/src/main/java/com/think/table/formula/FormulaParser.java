@@ -0,0 +1,262 @@
+package com.think.table.formula;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 公式语法分析, 递归下降生成语法树.
+ * <pre>
+ * expr    := term (('+' | '-') term)*
+ * term    := unary (('*' | '/' | '%') unary)*
+ * unary   := ('-' | '+') unary | power
+ * power   := primary ('^' unary)?
+ * primary := number | variable | function '(' expr (',' expr)* ')' | '(' expr ')'
+ * </pre>
+ *
+ * @author veione
+ */
+final class FormulaParser {
+    private final String source;
+    private final List<String> variables;
+    private int pos;
+
+    /**
+     * @param source    公式字符串
+     * @param variables 可以使用的变量, 下标即参数位置
+     */
+    FormulaParser(String source, List<String> variables) {
+        this.source = source;
+        this.variables = variables;
+    }
+
+    /**
+     * @return 语法树
+     * @throws IllegalArgumentException 语法错误、未知的变量或者函数
+     */
+    Node parse() {
+        Node node = expr();
+        skipWhitespace();
+        if (pos < source.length()) {
+            throw error("unexpected '" + source.charAt(pos) + "'");
+        }
+        return node;
+    }
+
+    private Node expr() {
+        Node node = term();
+        while (true) {
+            if (accept('+')) {
+                node = new Binary('+', node, term());
+            } else if (accept('-')) {
+                node = new Binary('-', node, term());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node term() {
+        Node node = unary();
+        while (true) {
+            if (accept('*')) {
+                node = new Binary('*', node, unary());
+            } else if (accept('/')) {
+                node = new Binary('/', node, unary());
+            } else if (accept('%')) {
+                node = new Binary('%', node, unary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private Node unary() {
+        if (accept('-')) {
+            Node operand = unary();
+            return operand instanceof Num num ? new Num(-num.value()) : new Neg(operand);
+        }
+        if (accept('+')) {
+            return unary();
+        }
+        Node node = primary();
+        // 乘方右结合, 并且优先于一元负号: -2^2 = -4
+        return accept('^') ? new Call(Function.POW, List.of(node, unary())) : node;
+    }
+
+    private Node primary() {
+        skipWhitespace();
+        if (pos >= source.length()) {
+            throw error("unexpected end of formula");
+        }
+        char c = source.charAt(pos);
+        if (accept('(')) {
+            Node node = expr();
+            expect(')');
+            return node;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return number();
+        }
+        if (Character.isJavaIdentifierStart(c)) {
+            int start = pos;
+            while (pos < source.length() && Character.isJavaIdentifierPart(source.charAt(pos))) {
+                pos++;
+            }
+            String name = source.substring(start, pos);
+            if (accept('(')) {
+                return call(name, start);
+            }
+            int index = variables.indexOf(name);
+            if (index < 0) {
+                pos = start;
+                throw error("unknown variable '" + name + "', expected one of " + variables);
+            }
+            return new Var(index);
+        }
+        throw error("unexpected '" + c + "'");
+    }
+
+    private Node number() {
+        int start = pos;
+        while (pos < source.length() && (Character.isDigit(source.charAt(pos)) || source.charAt(pos) == '.')) {
+            pos++;
+        }
+        if (pos < source.length() && (source.charAt(pos) == 'e' || source.charAt(pos) == 'E')) {
+            pos++;
+            if (pos < source.length() && (source.charAt(pos) == '+' || source.charAt(pos) == '-')) {
+                pos++;
+            }
+            while (pos < source.length() && Character.isDigit(source.charAt(pos))) {
+                pos++;
+            }
+        }
+        try {
+            return new Num(Double.parseDouble(source.substring(start, pos)));
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("malformed number");
+        }
+    }
+
+    private Node call(String name, int start) {
+        Function function = Function.of(name);
+        if (function == null) {
+            pos = start;
+            throw error("unknown function '" + name + "'");
+        }
+        List<Node> args = new ArrayList<>(4);
+        if (!accept(')')) {
+            do {
+                args.add(expr());
+            } while (accept(','));
+            expect(')');
+        }
+        if (args.size() < function.minArgs || (function.maxArgs >= 0 && args.size() > function.maxArgs)) {
+            pos = start;
+            throw error(String.format("function '%s' does not accept %d arguments", name, args.size()));
+        }
+        return new Call(function, List.copyOf(args));
+    }
+
+    private boolean accept(char c) {
+        skipWhitespace();
+        if (pos < source.length() && source.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!accept(c)) {
+            throw error(pos < source.length() ? "expected '" + c + "' but found '" + source.charAt(pos) + "'"
+                    : "expected '" + c + "' but found end of formula");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(String.format("Formula \"%s\" error at position %d: %s", source, pos + 1, message));
+    }
+
+    /**
+     * 语法树节点
+     */
+    sealed interface Node permits Num, Var, Neg, Binary, Call {
+    }
+
+    /**
+     * 数字常量
+     */
+    record Num(double value) implements Node {
+    }
+
+    /**
+     * 变量, 对应接口方法的第 index 个参数
+     */
+    record Var(int index) implements Node {
+    }
+
+    /**
+     * 取负
+     */
+    record Neg(Node operand) implements Node {
+    }
+
+    /**
+     * 四则运算和取余
+     */
+    record Binary(char operator, Node left, Node right) implements Node {
+    }
+
+    /**
+     * 函数调用
+     */
+    record Call(Function function, List<Node> args) implements Node {
+    }
+
+    /**
+     * 可以使用的函数, 都映射到 {@link Math} 的静态方法
+     */
+    enum Function {
+        MIN("min", 2, -1),
+        MAX("max", 2, -1),
+        ABS("abs", 1, 1),
+        FLOOR("floor", 1, 1),
+        CEIL("ceil", 1, 1),
+        ROUND("round", 1, 1),
+        SQRT("sqrt", 1, 1),
+        POW("pow", 2, 2),
+        EXP("exp", 1, 1),
+        LOG("log", 1, 1),
+        LOG10("log10", 1, 1),
+        CLAMP("clamp", 3, 3);
+
+        final String name;
+        final int minArgs;
+        /**
+         * 最多参数个数, -1 表示不限
+         */
+        final int maxArgs;
+
+        Function(String name, int minArgs, int maxArgs) {
+            this.name = name;
+            this.minArgs = minArgs;
+            this.maxArgs = maxArgs;
+        }
+
+        static Function of(String name) {
+            for (Function function : values()) {
+                if (function.name.equals(name)) {
+                    return function;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.think.table.index;
+
+import com.think.table.TableDefinition;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * 权重索引, 按分组字段为每组生成 Walker 别名表, 随机抽取只需要两次随机数和一次数组访问, 与组内行数无关.
+ * <p>整数类型的分组键保存在以 long 为键的开放寻址表中, 按 long 抽取时不需要装箱, 抽取过程不产生额外对象.</p>
+ *
+ * @param <T>
+ * @author veione
+ * @see com.think.table.annotation.Weight
+ */
+public final class AliasIndex<T> {
+    private final Field field;
+    private final Field groupField;
+    private final AliasTable<T> table;
+    private final Map<Object, AliasTable<T>> groups;
+    private final long[] longKeys;
+    private final AliasTable<T>[] longGroups;
+    private final int mask;
+
+    private AliasIndex(Field field, Field groupField, AliasTable<T> table, Map<Object, AliasTable<T>> groups,
+                       long[] longKeys, AliasTable<T>[] longGroups) {
+        this.field = field;
+        this.groupField = groupField;
+        this.table = table;
+        this.groups = groups;
+        this.longKeys = longKeys;
+        this.longGroups = longGroups;
+        this.mask = longKeys != null ? longKeys.length - 1 : 0;
+    }
+
+    /**
+     * @param type 分组字段类型
+     * @return 分组键是否按 long 保存
+     */
+    private static boolean isIntegral(Class<?> type) {
+        Class<?> boxed = ClassUtils.resolvePrimitiveIfNecessary(type);
+        return boxed == Integer.class || boxed == Long.class || boxed == Short.class || boxed == Byte.class;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @return 权重字段
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return 分组字段, 整张表作为一组时返回 {@code null}
+     */
+    public Field getGroupField() {
+        return groupField;
+    }
+
+    /**
+     * 在整张表中按权重随机抽取
+     *
+     * @param random 随机数生成器
+     * @return 行, 没有权重大于 0 的行时返回 {@code null}
+     * @throws IllegalArgumentException 权重字段声明了分组
+     */
+    public T sample(RandomGenerator random) {
+        if (groupField != null) {
+            throw new IllegalArgumentException(String.format("Weight field %s is grouped by %s, sample with a group key",
+                    field.getName(), groupField.getName()));
+        }
+        return table != null ? table.sample(random) : null;
+    }
+
+    /**
+     * 在整数分组键对应的组内按权重随机抽取
+     *
+     * @param groupKey 分组键
+     * @param random   随机数生成器
+     * @return 行, 分组不存在或者组内没有权重大于 0 的行时返回 {@code null}
+     * @throws IllegalArgumentException 权重字段没有分组或者分组字段不是整数类型
+     */
+    public T sample(long groupKey, RandomGenerator random) {
+        if (longKeys == null) {
+            if (groupField == null) {
+                throw new IllegalArgumentException(String.format("Weight field %s is not grouped", field.getName()));
+            }
+            return sample((Object) groupKey, random);
+        }
+        for (int i = hash(groupKey) & mask; ; i = (i + 1) & mask) {
+            AliasTable<T> group = longGroups[i];
+            if (group == null) {
+                return null;
+            }
+            if (longKeys[i] == groupKey) {
+                return group.sample(random);
+            }
+        }
+    }
+
+    /**
+     * 在分组键对应的组内按权重随机抽取
+     *
+     * @param groupKey 分组键, 整数类型的分组字段可以使用任意整数类型的键, 其他类型的键 (例如 {@code Double}) 返回 {@code null}
+     * @param random   随机数生成器
+     * @return 行, 分组不存在或者组内没有权重大于 0 的行时返回 {@code null}
+     * @throws IllegalArgumentException 权重字段没有分组
+     */
+    public T sample(Object groupKey, RandomGenerator random) {
+        if (groupField == null) {
+            throw new IllegalArgumentException(String.format("Weight field %s is not grouped", field.getName()));
+        }
+        if (longKeys != null) {
+            return groupKey instanceof Number number && isIntegral(number.getClass()) ? sample(number.longValue(), random) : null;
+        }
+        AliasTable<T> group = groups.get(groupKey);
+        return group != null ? group.sample(random) : null;
+    }
+
+    /**
+     * @return 分组数量, 没有分组时为 1
+     */
+    public int size() {
+        if (groupField == null) {
+            return 1;
+        }
+        return longKeys != null ? (int) Arrays.stream(longGroups).filter(group -> group != null).count() : groups.size();
+    }
+
+    /**
+     * 一组行的别名表
+     */
+    private static final class AliasTable<T> {
+        private final Object[] rows;
+        private final double[] probability;
+        private final int[] alias;
+
+        private AliasTable(Object[] rows, double[] probability, int[] alias) {
+            this.rows = rows;
+            this.probability = probability;
+            this.alias = alias;
+        }
+
+        /**
+         * Vose 构造方法, 权重按平均值归一化后, 每次用一个不足平均值的列填满一个超出平均值的列的缺口
+         *
+         * @param rows    行
+         * @param weights 对应的权重, 都大于 0
+         */
+        static <T> AliasTable<T> of(List<T> rows, double[] weights) {
+            int n = rows.size();
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += weights[i];
+            }
+            double[] scaled = new double[n];
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallSize = 0;
+            int largeSize = 0;
+            for (int i = 0; i < n; i++) {
+                scaled[i] = weights[i] * n / sum;
+                if (scaled[i] < 1) {
+                    small[smallSize++] = i;
+                } else {
+                    large[largeSize++] = i;
+                }
+            }
+            double[] probability = new double[n];
+            int[] alias = new int[n];
+            while (smallSize > 0 && largeSize > 0) {
+                int less = small[--smallSize];
+                int more = large[--largeSize];
+                probability[less] = scaled[less];
+                alias[less] = more;
+                scaled[more] = (scaled[more] + scaled[less]) - 1;
+                if (scaled[more] < 1) {
+                    small[smallSize++] = more;
+                } else {
+                    large[largeSize++] = more;
+                }
+            }
+            // 剩余的列因为浮点误差与 1 略有偏差, 直接视为满列
+            while (largeSize > 0) {
+                int index = large[--largeSize];
+                probability[index] = 1;
+                alias[index] = index;
+            }
+            while (smallSize > 0) {
+                int index = small[--smallSize];
+                probability[index] = 1;
+                alias[index] = index;
+            }
+            return new AliasTable<>(rows.toArray(), probability, alias);
+        }
+
+        @SuppressWarnings("unchecked")
+        T sample(RandomGenerator random) {
+            int index = random.nextInt(rows.length);
+            return (T) (random.nextDouble() < probability[index] ? rows[index] : rows[alias[index]]);
+        }
+    }
+
+    /**
+     * 增量构建器, 加载时逐行加入
+     *
+     * @param <T>
+     */
+    public static final class Builder<T> {
+        private final Field field;
+        private final Field groupField;
+        private final Function<Object, Object> accessor;
+        private final Function<Object, Object> groupAccessor;
+        private final Map<Object, Group<T>> groups = new LinkedHashMap<>();
+
+        /**
+         * @param definition 配置表定义
+         * @param field      权重字段
+         * @param groupField 分组字段, 为 {@code null} 表示整张表作为一组
+         */
+        public Builder(TableDefinition definition, Field field, Field groupField) {
+            this.field = field;
+            this.groupField = groupField;
+            this.accessor = definition.getAccessor(field);
+            this.groupAccessor = groupField != null ? definition.getAccessor(groupField) : null;
+        }
+
+        /**
+         * 加入一行, 权重不大于 0 或者不是有限值的行不参与抽取, 由字段校验报告错误
+         *
+         * @param row 行对象
+         */
+        public void add(T row) {
+            if (!(accessor.apply(row) instanceof Number number)) {
+                return;
+            }
+            double weight = number.doubleValue();
+            if (!(weight > 0) || Double.isInfinite(weight)) {
+                return;
+            }
+            Object key = groupAccessor != null ? groupAccessor.apply(row) : null;
+            if (groupAccessor != null && key == null) {
+                return;
+            }
+            groups.computeIfAbsent(key, k -> new Group<>()).add(row, weight);
+        }
+
+        @SuppressWarnings("unchecked")
+        public AliasIndex<T> build() {
+            if (groupField == null) {
+                Group<T> group = groups.get(null);
+                return new AliasIndex<>(field, null, group != null ? group.build() : null, null, null, null);
+            }
+            if (!isIntegral(groupField.getType())) {
+                Map<Object, AliasTable<T>> tables = new HashMap<>(Math.max(16, groups.size() * 2));
+                groups.forEach((key, group) -> tables.put(key, group.build()));
+                return new AliasIndex<>(field, groupField, null, tables, null, null);
+            }
+            // 负载因子不超过 0.5, 线性探测的平均探测次数接近 1
+            int capacity = Integer.highestOneBit(Math.max(8, groups.size() * 2 - 1)) << 1;
+            long[] keys = new long[capacity];
+            AliasTable<T>[] tables = new AliasTable[capacity];
+            groups.forEach((key, group) -> {
+                long longKey = ((Number) key).longValue();
+                int i = hash(longKey) & (capacity - 1);
+                while (tables[i] != null) {
+                    i = (i + 1) & (capacity - 1);
+                }
+                keys[i] = longKey;
+                tables[i] = group.build();
+            });
+            return new AliasIndex<>(field, groupField, null, null, keys, tables);
+        }
+    }
+
+    /**
+     * 构建中的一组行
+     */
+    private static final class Group<T> {
+        private final List<T> rows = new ArrayList<>(8);
+        private double[] weights = new double[8];
+
+        void add(T row, double weight) {
+            if (rows.size() == weights.length) {
+                weights = Arrays.copyOf(weights, weights.length << 1);
+            }
+            weights[rows.size()] = weight;
+            rows.add(row);
+        }
+
+        AliasTable<T> build() {
+            return AliasTable.of(rows, weights);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.think.table.index;
+
+import com.think.table.TableDefinition;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 哈希索引, 按字段值对配置行分组, 用于等值查询.
+ *
+ * @param <T>
+ * @author veione
+ */
+public final class HashIndex<T> {
+    private final Field field;
+    private final Map<Object, List<T>> buckets;
+
+    private HashIndex(Field field, Map<Object, List<T>> buckets) {
+        this.field = field;
+        this.buckets = buckets;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * 获取键对应的所有行
+     *
+     * @param key 索引键
+     * @return 不可修改的行列表, 不存在时返回空列表
+     */
+    public List<T> get(Object key) {
+        return buckets.getOrDefault(key, Collections.emptyList());
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * 增量构建器, 加载时逐行加入
+     *
+     * @param <T>
+     */
+    public static final class Builder<T> {
+        private final Field field;
+        private final Function<Object, Object> accessor;
+        private final Map<Object, List<T>> buckets = new HashMap<>();
+
+        public Builder(TableDefinition definition, Field field) {
+            this.field = field;
+            this.accessor = definition.getAccessor(field);
+        }
+
+        public void add(T row) {
+            Object key = accessor.apply(row);
+            buckets.computeIfAbsent(key, k -> new ArrayList<>(4)).add(row);
+        }
+
+        public HashIndex<T> build() {
+            buckets.replaceAll((key, bucket) -> Collections.unmodifiableList(bucket));
+            return new HashIndex<>(field, buckets);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.think.table.index;
+
+import com.think.table.TableDefinition;
+import com.think.table.query.Operator;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 范围索引, 将数值字段排序后保存为原始类型数组, 通过二分查找定位, 查询过程不产生额外对象.
+ * <p>浮点数通过保序编码转换为 long 保存, 字段值为 {@code null} 的行不进入索引.</p>
+ *
+ * @param <T>
+ * @author veione
+ */
+public final class RangeIndex<T> {
+    private final Field field;
+    private final boolean floating;
+    private final long[] keys;
+    private final List<T> rows;
+
+    private RangeIndex(Field field, boolean floating, long[] keys, List<T> rows) {
+        this.field = field;
+        this.floating = floating;
+        this.keys = keys;
+        this.rows = rows;
+    }
+
+    /**
+     * @param type 字段类型
+     * @return 该类型是否可以建立范围索引
+     */
+    public static boolean isSupported(Class<?> type) {
+        Class<?> boxed = ClassUtils.resolvePrimitiveIfNecessary(type);
+        return boxed == Integer.class || boxed == Long.class || boxed == Short.class || boxed == Byte.class
+                || boxed == Double.class || boxed == Float.class;
+    }
+
+    /**
+     * 浮点数保序编码, 编码后的 long 大小顺序与原浮点数一致
+     */
+    private static long encode(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * @return 按字段值升序排列的行
+     */
+    public List<T> rows() {
+        return rows;
+    }
+
+    /**
+     * 小于等于 value 的最大键对应的行, 键相同时取最后加载的一行
+     *
+     * @param value 查询值
+     * @return 行, 不存在时返回 {@code null}
+     */
+    public T floor(long value) {
+        int index = upperBound(floating ? encode(value) : value) - 1;
+        return index >= 0 ? rows.get(index) : null;
+    }
+
+    public T floor(double value) {
+        if (!floating) {
+            double floor = Math.floor(value);
+            if (floor >= Long.MAX_VALUE) {
+                return rows.isEmpty() ? null : rows.get(rows.size() - 1);
+            }
+            return floor(Double.isNaN(floor) ? Long.MIN_VALUE : (long) floor);
+        }
+        int index = upperBound(encode(value)) - 1;
+        return index >= 0 ? rows.get(index) : null;
+    }
+
+    /**
+     * 大于等于 value 的最小键对应的行, 键相同时取最先加载的一行
+     *
+     * @param value 查询值
+     * @return 行, 不存在时返回 {@code null}
+     */
+    public T ceiling(long value) {
+        int index = lowerBound(floating ? encode(value) : value);
+        return index < keys.length ? rows.get(index) : null;
+    }
+
+    public T ceiling(double value) {
+        if (!floating) {
+            double ceil = Math.ceil(value);
+            if (ceil <= Long.MIN_VALUE) {
+                return rows.isEmpty() ? null : rows.get(0);
+            }
+            return ceiling(Double.isNaN(ceil) ? Long.MAX_VALUE : (long) ceil);
+        }
+        int index = lowerBound(encode(value));
+        return index < keys.length ? rows.get(index) : null;
+    }
+
+    /**
+     * 闭区间 [from, to] 内的行
+     *
+     * @param from 下界
+     * @param to   上界
+     * @return 按字段值升序排列的行视图
+     */
+    public List<T> between(long from, long to) {
+        if (floating) {
+            return slice(lowerBound(encode(from)), upperBound(encode(to)));
+        }
+        return slice(lowerBound(from), upperBound(to));
+    }
+
+    public List<T> between(double from, double to) {
+        if (floating) {
+            return slice(lowerBound(encode(from)), upperBound(encode(to)));
+        }
+        double lo = Math.ceil(from);
+        double hi = Math.floor(to);
+        if (Double.isNaN(lo) || Double.isNaN(hi)) {
+            return Collections.emptyList();
+        }
+        return between((long) lo, (long) hi);
+    }
+
+    /**
+     * 按查询条件截取行, 参数已转换为字段类型
+     *
+     * @param operator 比较运算符
+     * @param args     参数
+     * @return 按字段值升序排列的行视图
+     */
+    public List<T> slice(Operator operator, Object[] args) {
+        long key = key(args[0]);
+        return switch (operator) {
+            case GT -> slice(upperBound(key), keys.length);
+            case GE -> slice(lowerBound(key), keys.length);
+            case LT -> slice(0, lowerBound(key));
+            case LE -> slice(0, upperBound(key));
+            case EQ -> slice(lowerBound(key), upperBound(key));
+            case BETWEEN -> slice(lowerBound(key), upperBound(key(args[1])));
+            default -> throw new IllegalArgumentException("Range index does not support operator " + operator);
+        };
+    }
+
+    private long key(Object value) {
+        Number number = (Number) value;
+        return floating ? encode(number.doubleValue()) : number.longValue();
+    }
+
+    private List<T> slice(int from, int to) {
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+        return rows.subList(from, to);
+    }
+
+    /**
+     * @return 第一个大于等于 key 的下标
+     */
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return 第一个大于 key 的下标
+     */
+    private int upperBound(long key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * 增量构建器, 加载时逐行加入, 构建时统一排序
+     *
+     * @param <T>
+     */
+    public static final class Builder<T> {
+        private final Field field;
+        private final Function<Object, Object> accessor;
+        private final boolean floating;
+        private long[] keys = new long[64];
+        private final List<T> rows = new ArrayList<>(64);
+
+        public Builder(TableDefinition definition, Field field) {
+            Class<?> boxed = ClassUtils.resolvePrimitiveIfNecessary(field.getType());
+            this.field = field;
+            this.accessor = definition.getAccessor(field);
+            this.floating = boxed == Double.class || boxed == Float.class;
+        }
+
+        public void add(T row) {
+            Number value = (Number) accessor.apply(row);
+            if (value == null) {
+                return;
+            }
+            int size = rows.size();
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size << 1);
+            }
+            keys[size] = floating ? encode(value.doubleValue()) : value.longValue();
+            rows.add(row);
+        }
+
+        public RangeIndex<T> build() {
+            int count = rows.size();
+            Integer[] order = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                order[i] = i;
+            }
+            // 稳定排序, 相同键保持加载顺序
+            long[] unsortedKeys = keys;
+            Arrays.sort(order, (a, b) -> Long.compare(unsortedKeys[a], unsortedKeys[b]));
+
+            long[] sortedKeys = new long[count];
+            List<T> sortedRows = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                sortedKeys[i] = unsortedKeys[order[i]];
+                sortedRows.add(rows.get(order[i]));
+            }
+            return new RangeIndex<>(field, floating, sortedKeys, Collections.unmodifiableList(sortedRows));
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package com.think.table.processor;
+
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+import com.think.table.annotation.CfgTable;
+import com.think.table.descriptor.TableDescriptors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 为 {@link CfgTable} 类生成 {@link com.think.table.descriptor.TableDescriptor} 的注解处理器.
+ * <p>生成类与配置类在同一个包中, 字段通过 record 访问器、可访问的字段或者 getter 读取,
+ * 行工厂调用参数最多的非私有构造函数. 无法生成直接访问代码的配置类会输出提示并跳过, 运行期回退为反射.</p>
+ * <p>优先使用编译器能看到的 getter. Lombok 的 getter 在 Lombok 处理之后才可见, 还看不到时按 Lombok 的默认规则
+ * ({@code getX()}, 基本类型 boolean 为 {@code isX()}) 确定名称; 声明了 {@code @Accessors} 或者 {@code lombok.config}
+ * 修改了访问器命名时无法确定, 推迟到下一轮处理, 最后一轮仍然看不到时输出警告并跳过.</p>
+ *
+ * @author veione
+ */
+@SupportedAnnotationTypes("com.think.table.annotation.CfgTable")
+public class TableDescriptorProcessor extends AbstractProcessor {
+    private static final Set<String> LOMBOK_GETTERS = Set.of("lombok.Data", "lombok.Value", "lombok.Getter");
+    private static final String LOMBOK_GETTER = "lombok.Getter";
+    private static final String LOMBOK_ACCESSORS = "lombok.experimental.Accessors";
+    /**
+     * 目录 -> 该目录及上级目录的 lombok.config 是否修改了访问器命名
+     */
+    private final Map<Path, Boolean> lombokConfigs = new HashMap<>();
+    /**
+     * 等待 Lombok 生成 getter 的配置类
+     */
+    private final Set<String> deferred = new LinkedHashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        List<TypeElement> types = new ArrayList<>();
+        for (String name : deferred) {
+            TypeElement type = processingEnv.getElementUtils().getTypeElement(name);
+            if (type != null) {
+                types.add(type);
+            }
+        }
+        deferred.clear();
+        for (Element element : roundEnv.getElementsAnnotatedWith(CfgTable.class)) {
+            if (element instanceof TypeElement type) {
+                types.add(type);
+            }
+        }
+        for (TypeElement type : types) {
+            if (roundEnv.processingOver()) {
+                // 最后一轮生成的源文件不会再被注解处理器处理, 只报告无法生成的原因
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, String.format(
+                        "Table descriptor for %s not generated (Lombok getter names customized by @Accessors or lombok.config), "
+                                + "reflection will be used; if the getters keep get/is names, put lombok before "
+                                + "table-spring-boot-starter in annotationProcessorPaths",
+                        type.getQualifiedName()), type);
+                continue;
+            }
+            try {
+                generate(type);
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Table descriptor generate failed: " + e.getMessage(), type);
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        if (!type.getTypeParameters().isEmpty() || type.getModifiers().contains(Modifier.PRIVATE)
+                || (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)
+                && type.getKind() != ElementKind.RECORD)) {
+            skip(type, "generic, private or inner class");
+            return;
+        }
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        List<Property> properties = properties(type, packageName);
+        if (properties == null) {
+            return;
+        }
+        CfgTable anno = type.getAnnotation(CfgTable.class);
+        String idName = anno.id().isEmpty() ? "id" : anno.id();
+        int idIndex = -1;
+        for (int i = 0; i < properties.size(); i++) {
+            if (properties.get(i).name().equals(idName)) {
+                idIndex = i;
+                break;
+            }
+        }
+        if (idIndex < 0) {
+            skip(type, "id field " + idName + " not found");
+            return;
+        }
+        ExecutableElement constructor = constructor(type, packageName);
+
+        String simpleNames = type.getQualifiedName().toString();
+        if (!packageName.isEmpty()) {
+            simpleNames = simpleNames.substring(packageName.length() + 1);
+        }
+        String descriptorName = TableDescriptors.descriptorName(packageName, simpleNames);
+        String descriptorSimpleName = descriptorName.substring(descriptorName.lastIndexOf('.') + 1);
+        String typeName = type.getQualifiedName().toString();
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(descriptorName, type);
+        try (Writer out = file.openWriter()) {
+            StringBuilder sb = new StringBuilder(2048);
+            if (!packageName.isEmpty()) {
+                sb.append("package ").append(packageName).append(";\n\n");
+            }
+            sb.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+            sb.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+            sb.append("public final class ").append(descriptorSimpleName)
+                    .append(" implements com.think.table.descriptor.TableDescriptor<").append(typeName).append("> {\n");
+
+            sb.append("    private static final String[] FIELD_NAMES = {");
+            for (int i = 0; i < properties.size(); i++) {
+                sb.append(i > 0 ? ", " : "").append('"').append(properties.get(i).name()).append('"');
+            }
+            sb.append("};\n");
+            if (constructor != null) {
+                List<? extends VariableElement> parameters = constructor.getParameters();
+                sb.append("    private static final Class<?>[] PARAMETER_TYPES = {");
+                for (int i = 0; i < parameters.size(); i++) {
+                    sb.append(i > 0 ? ", " : "").append(erasure(parameters.get(i).asType())).append(".class");
+                }
+                sb.append("};\n");
+                sb.append("    private static final String[] PARAMETER_NAMES = {");
+                for (int i = 0; i < parameters.size(); i++) {
+                    sb.append(i > 0 ? ", " : "").append('"').append(parameters.get(i).getSimpleName()).append('"');
+                }
+                sb.append("};\n");
+            }
+
+            sb.append("\n    @Override\n    public Class<").append(typeName).append("> getTableClass() {\n");
+            sb.append("        return ").append(typeName).append(".class;\n    }\n");
+
+            sb.append("\n    @Override\n    public String[] getFieldNames() {\n");
+            sb.append("        return FIELD_NAMES.clone();\n    }\n");
+
+            sb.append("\n    @Override\n    public Object getValue(").append(typeName).append(" row, int field) {\n");
+            sb.append("        switch (field) {\n");
+            for (int i = 0; i < properties.size(); i++) {
+                sb.append("            case ").append(i).append(":\n");
+                sb.append("                return ").append(properties.get(i).accessor()).append(";\n");
+            }
+            sb.append("            default:\n");
+            sb.append("                throw new IndexOutOfBoundsException(\"Table field index \" + field);\n");
+            sb.append("        }\n    }\n");
+
+            sb.append("\n    @Override\n    public java.io.Serializable getId(").append(typeName).append(" row) {\n");
+            sb.append("        return (java.io.Serializable) ").append(properties.get(idIndex).accessor()).append(";\n    }\n");
+
+            sb.append("\n    @Override\n    public Class<?>[] getParameterTypes() {\n");
+            sb.append("        return ").append(constructor != null ? "PARAMETER_TYPES.clone()" : "null").append(";\n    }\n");
+
+            sb.append("\n    @Override\n    public String[] getParameterNames() {\n");
+            sb.append("        return ").append(constructor != null ? "PARAMETER_NAMES.clone()" : "null").append(";\n    }\n");
+
+            sb.append("\n    @Override\n    public ").append(typeName).append(" newRow(Object[] args) {\n");
+            if (constructor != null) {
+                sb.append("        return new ").append(typeName).append("(");
+                List<? extends VariableElement> parameters = constructor.getParameters();
+                for (int i = 0; i < parameters.size(); i++) {
+                    sb.append(i > 0 ? ",\n                " : "")
+                            .append('(').append(erasure(parameters.get(i).asType())).append(") args[").append(i).append(']');
+                }
+                sb.append(");\n    }\n");
+            } else {
+                sb.append("        throw new UnsupportedOperationException(\"Table ").append(typeName)
+                        .append(" has no fully argument constructor\");\n    }\n");
+            }
+            sb.append("}\n");
+            out.write(sb.toString());
+        }
+    }
+
+    /**
+     * 与运行期 {@code FieldUtils.getAllFields} 一致, 先子类后父类, 同名字段以子类为准
+     *
+     * @return 字段和访问表达式, 存在无法直接访问的字段时返回 {@code null}
+     */
+    private List<Property> properties(TypeElement type, String packageName) {
+        List<Property> properties = new ArrayList<>();
+        if (type.getKind() == ElementKind.RECORD) {
+            for (RecordComponentElement component : type.getRecordComponents()) {
+                properties.add(new Property(component.getSimpleName().toString(),
+                        "row." + component.getAccessor().getSimpleName() + "()"));
+            }
+            return properties;
+        }
+        Set<String> names = new HashSet<>();
+        for (TypeElement current = type; current != null; current = superclass(current)) {
+            boolean lombok = hasLombokGetter(current);
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (field.getModifiers().contains(Modifier.STATIC) || !names.add(field.getSimpleName().toString())) {
+                    continue;
+                }
+                String accessor = accessor(type, current, field, packageName);
+                String level = accessor == null ? lombokGetterLevel(current, field, lombok) : null;
+                if (level != null && (level.equals("PUBLIC") || (!level.equals("NONE") && !level.equals("PRIVATE")
+                        && packageOf(current).equals(packageName)))) {
+                    if (lombokAccessorsCustomized(current, field)) {
+                        // 无法确定 Lombok 生成的 getter 名称, 等 Lombok 处理之后的下一轮再处理
+                        deferred.add(type.getQualifiedName().toString());
+                        return null;
+                    }
+                    accessor = "row." + lombokGetterName(field) + "()";
+                }
+                if (accessor == null) {
+                    skip(type, "field " + field.getSimpleName() + " is not accessible");
+                    return null;
+                }
+                properties.add(new Property(field.getSimpleName().toString(), accessor));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * @return 读取字段的表达式, 字段不可访问并且看不到对应的 getter 时返回 {@code null}
+     */
+    private String accessor(TypeElement type, TypeElement owner, VariableElement field, String packageName) {
+        String name = field.getSimpleName().toString();
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)
+                || (!modifiers.contains(Modifier.PRIVATE) && packageOf(owner).equals(packageName))) {
+            return "row." + name;
+        }
+        Set<String> getters = getterNames(name, field.asType().getKind() == TypeKind.BOOLEAN);
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (method.getParameters().isEmpty() && !method.getModifiers().contains(Modifier.PRIVATE)
+                    && !method.getModifiers().contains(Modifier.STATIC)
+                    && getters.contains(method.getSimpleName().toString())
+                    && processingEnv.getTypeUtils().isSameType(method.getReturnType(), field.asType())
+                    && (method.getModifiers().contains(Modifier.PUBLIC) || packageOf(method.getEnclosingElement()).equals(packageName))) {
+                return "row." + method.getSimpleName() + "()";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * JavaBeans 和 Lombok 的 getter 名称, {@code boolean isActive} 字段的 getter 为 {@code isActive()}
+     */
+    private static Set<String> getterNames(String name, boolean primitiveBoolean) {
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        Set<String> names = new HashSet<>(4);
+        names.add("get" + capitalized);
+        if (primitiveBoolean) {
+            names.add("is" + capitalized);
+            if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Lombok 默认规则的 getter 名称, 基本类型 boolean 的 {@code isActive} 字段为 {@code isActive()}
+     */
+    private static String lombokGetterName(VariableElement field) {
+        String name = field.getSimpleName().toString();
+        if (field.asType().getKind() == TypeKind.BOOLEAN) {
+            if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+                return name;
+            }
+            return "is" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+        return "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * 字段上的 {@code @Getter} 优先于类上的 {@code @Getter}、{@code @Data}、{@code @Value}
+     *
+     * @param lombok 类上是否声明了生成 getter 的 Lombok 注解
+     * @return Lombok 生成的 getter 的访问级别, 例如 {@code PUBLIC}、{@code NONE}, 不生成 getter 时返回 {@code null}
+     */
+    private String lombokGetterLevel(TypeElement owner, VariableElement field, boolean lombok) {
+        String level = getterLevel(field);
+        if (level != null) {
+            return level;
+        }
+        if (!lombok || field.getSimpleName().toString().startsWith("$")) {
+            return null;
+        }
+        level = getterLevel(owner);
+        return level != null ? level : "PUBLIC";
+    }
+
+    /**
+     * @return {@code @Getter} 的访问级别, 没有声明时返回 {@code null}
+     */
+    private static String getterLevel(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(LOMBOK_GETTER)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    return entry.getValue().getValue().toString();
+                }
+            }
+            return "PUBLIC";
+        }
+        return null;
+    }
+
+    /**
+     * 字段、外层类或者包上声明了 {@code @Accessors}, 或者 lombok.config 修改了访问器命名时, 不能按默认规则确定 getter 名称.
+     * 找不到源文件位置时同样视为已修改.
+     */
+    private boolean lombokAccessorsCustomized(TypeElement owner, VariableElement field) {
+        for (Element element = field; element != null; element = element.getEnclosingElement()) {
+            for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+                if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(LOMBOK_ACCESSORS)) {
+                    return true;
+                }
+            }
+        }
+        Path directory;
+        try {
+            TreePath path = Trees.instance(processingEnv).getPath(owner);
+            URI uri = path != null ? path.getCompilationUnit().getSourceFile().toUri() : null;
+            if (uri == null || !"file".equals(uri.getScheme())) {
+                return true;
+            }
+            directory = Path.of(uri).getParent();
+        } catch (IllegalArgumentException e) {
+            // 不是 javac 的处理环境
+            return true;
+        }
+        return lombokConfigCustomized(directory);
+    }
+
+    /**
+     * 与 Lombok 一样从源文件所在目录向上查找 lombok.config, 直到 {@code config.stopBubbling = true}
+     */
+    private boolean lombokConfigCustomized(Path directory) {
+        if (directory == null) {
+            return false;
+        }
+        Boolean cached = lombokConfigs.get(directory);
+        if (cached != null) {
+            return cached;
+        }
+        boolean customized = false;
+        boolean stop = false;
+        Path config = directory.resolve("lombok.config");
+        if (Files.isRegularFile(config)) {
+            try {
+                for (String line : Files.readAllLines(config)) {
+                    String text = line.strip();
+                    int eq = text.indexOf('=');
+                    if (text.startsWith("#") || eq < 0) {
+                        continue;
+                    }
+                    String key = text.substring(0, eq).replaceAll("[+-]$", "").strip().toLowerCase(Locale.ROOT);
+                    String value = text.substring(eq + 1).strip();
+                    if (key.startsWith("lombok.accessors.") || key.equals("lombok.getter.noisprefix")) {
+                        customized = true;
+                    } else if (key.equals("config.stopbubbling") && value.equalsIgnoreCase("true")) {
+                        stop = true;
+                    }
+                }
+            } catch (IOException e) {
+                customized = true;
+            }
+        }
+        if (!customized && !stop) {
+            customized = lombokConfigCustomized(directory.getParent());
+        }
+        lombokConfigs.put(directory, customized);
+        return customized;
+    }
+
+    /**
+     * 参数最多的非私有构造函数, 不同包中的配置类只使用 public 构造函数
+     */
+    private ExecutableElement constructor(TypeElement type, String packageName) {
+        ExecutableElement best = null;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = constructor.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || constructor.getParameters().isEmpty()) {
+                continue;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !packageOf(type).equals(packageName)) {
+                continue;
+            }
+            if (best == null || constructor.getParameters().size() > best.getParameters().size()) {
+                best = constructor;
+            }
+        }
+        return best;
+    }
+
+    private boolean hasLombokGetter(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            Element annotation = mirror.getAnnotationType().asElement();
+            if (annotation instanceof TypeElement typeElement
+                    && LOMBOK_GETTERS.contains(typeElement.getQualifiedName().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private String packageOf(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private void skip(TypeElement type, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                String.format("Table descriptor for %s not generated (%s), reflection will be used", type.getQualifiedName(), reason), type);
+    }
+
+    /**
+     * @param name     字段名称
+     * @param accessor 读取字段的表达式
+     */
+    private record Property(String name, String accessor) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.think.table.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Table bundle properties
+ *
+ * @author veione
+ */
+@Data
+@ConfigurationProperties("com.think.table.bundle")
+public class BundleProperties {
+    /**
+     * 构建时打包的配置表包文件名, 相对于 com.think.table.path, 为空时不使用配置表包.
+     * 包中存在的配置表直接从映射区域解码, 不存在的配置表继续按 resolution-order 查找源文件
+     */
+    private String name = "";
+    /**
+     * 配置表行数达到该值时按行切分后并行解码
+     */
+    private int parallelThreshold = 8192;
+}
@@ -0,0 +1,40 @@
+package com.think.table.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Csv properties
+ *
+ * @author veione
+ */
+@Data
+@ConfigurationProperties("com.think.table.csv")
+public class CsvProperties {
+    /**
+     * 分隔符
+     */
+    private String lineSeparator = "|";
+    /**
+     * 跳过行
+     */
+    private int skipLines = 0;
+    /**
+     * 整行的转换错误附带原始记录文本, 每行多一次分配. 只对字符分词器生效, 字节分词器不保留原始行
+     */
+    private boolean rawLineContext = false;
+    /**
+     * 使用字节分词器直接在 UTF-8 字节上解析, 只为映射到字段的列创建字符串, 数值列直接从字节解析.
+     * 分隔符必须是 ASCII 字符
+     */
+    private boolean byteParser = false;
+    /**
+     * 大文件分块并行解析, 按记录边界切分后在 ForkJoin 公共线程池中分词和转换, 结果按文件顺序合并.
+     * 开启后总是使用字节分词器
+     */
+    private boolean parallel = false;
+    /**
+     * 文件字节数达到该值时才并行解析
+     */
+    private int parallelThreshold = 4 * 1024 * 1024;
+}
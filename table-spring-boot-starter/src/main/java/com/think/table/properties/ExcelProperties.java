@@ -0,0 +1,44 @@
+package com.think.table.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Excel properties
+ *
+ * @author veione
+ */
+@Data
+@ConfigurationProperties("com.think.table.excel")
+public class ExcelProperties {
+    /**
+     * header row count.
+     */
+    private int headerRow = 2;
+    /**
+     * 大工作簿模式, 共享字符串表超过阈值时放入文件缓存, 内存中只保留有限的活跃数据
+     */
+    private boolean largeFile = false;
+    /**
+     * 大工作簿模式下共享字符串表小于该值(MB)时仍然放在内存中
+     */
+    private int sharedStringsMemoryThreshold = 1;
+    /**
+     * 大工作簿模式下共享字符串文件缓存在内存中保留的活跃批次数量, 每批 100 个字符串
+     */
+    private int sharedStringsCacheBatches = 20;
+    /**
+     * 每次加载允许的堆内存增长(MB), 超过时中止加载并保留上一次的数据, 0 表示不限制.
+     * 加载共享字符串表时和读取工作表时每 1024 个字符串或者行检查一次, 两次检查之间的增长不受限制
+     */
+    private int memoryBudget = 0;
+    /**
+     * 流水线模式, 解析线程只读取单元格文本, 按批交给 ForkJoin 公共线程池做类型转换和创建对象,
+     * 结果按行顺序合并, XML 解析与转换同时进行
+     */
+    private boolean pipelined = false;
+    /**
+     * 流水线模式下每批的行数
+     */
+    private int pipelineBatchSize = 512;
+}
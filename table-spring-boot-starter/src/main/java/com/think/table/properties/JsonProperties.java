@@ -0,0 +1,30 @@
+package com.think.table.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Json properties
+ *
+ * @author veione
+ */
+@Data
+@ConfigurationProperties("com.think.table.json")
+public class JsonProperties {
+    /**
+     * 流式读取, 逐个对象解析数组元素而不是一次性反序列化整个数组
+     */
+    private boolean streaming = true;
+    /**
+     * 使用 Blackbird 模块生成字段访问器替代反射, 需要引入 jackson-module-blackbird 依赖
+     */
+    private boolean accessorOptimization = false;
+    /**
+     * JSON Lines 大文件分块并行解析, 按换行切分后在 ForkJoin 公共线程池中解码, 结果按文件顺序合并
+     */
+    private boolean parallel = false;
+    /**
+     * JSON Lines 文件字节数达到该值时才并行解析
+     */
+    private int parallelThreshold = 4 * 1024 * 1024;
+}
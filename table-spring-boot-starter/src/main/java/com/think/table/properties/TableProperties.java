@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.think.table.properties.TableProperties.PREFIX;
 
 /**
@@ -31,9 +34,18 @@ public class TableProperties {
      */
     private int interval = 5;
     /**
-     * 格式：json、excel、csv
+     * 所有单例创建完成后按依赖顺序并行加载所有配置表, 仓库创建时不加载数据, 在此之前查询的配置表在查询时连同依赖立即加载; 依赖的配置表加载失败时不加载依赖它的配置表. 关闭后配置表在仓库首次注入时加载
+     */
+    private boolean preload = true;
+    /**
+     * 格式：json、jsonl、excel、csv
      */
     private TableType type;
+    /**
+     * 未指定格式的配置表按该顺序查找第一个存在的文件, 值为文件后缀, 例如 [csv, xlsx].
+     * 把更快的格式放在前面, 为空时只使用 type 指定的格式
+     */
+    private List<String> resolutionOrder = new ArrayList<>();
     /**
      * Excel properties
      */
@@ -44,10 +56,24 @@ public class TableProperties {
      */
     @NestedConfigurationProperty
     private CsvProperties csv = new CsvProperties();
+    /**
+     * Json properties
+     */
+    @NestedConfigurationProperty
+    private JsonProperties json = new JsonProperties();
+    /**
+     * Bundle properties
+     */
+    @NestedConfigurationProperty
+    private BundleProperties bundle = new BundleProperties();
 
     public enum TableType {
         CSV,
         EXCEL,
-        JSON;
+        JSON,
+        /**
+         * JSON Lines, 每行一个对象
+         */
+        JSONL;
     }
 }
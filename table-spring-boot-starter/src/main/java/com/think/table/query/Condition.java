@@ -0,0 +1,18 @@
+package com.think.table.query;
+
+import java.util.List;
+
+/**
+ * 单个查询条件
+ *
+ * @param field    字段名称
+ * @param operator 运算符
+ * @param values   运算参数
+ * @author veione
+ */
+public record Condition(String field, Operator operator, List<Object> values) {
+
+    public Object value() {
+        return values.get(0);
+    }
+}
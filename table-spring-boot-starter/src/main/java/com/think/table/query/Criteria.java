@@ -0,0 +1,75 @@
+package com.think.table.query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 单个字段的条件构建器
+ *
+ * @author veione
+ */
+public final class Criteria {
+    private final Query query;
+    private final String field;
+
+    Criteria(Query query, String field) {
+        this.query = query;
+        this.field = Objects.requireNonNull(field, "field");
+    }
+
+    public Query eq(Object value) {
+        return add(Operator.EQ, value);
+    }
+
+    public Query ne(Object value) {
+        return add(Operator.NE, value);
+    }
+
+    public Query gt(Object value) {
+        return add(Operator.GT, value);
+    }
+
+    public Query ge(Object value) {
+        return add(Operator.GE, value);
+    }
+
+    public Query lt(Object value) {
+        return add(Operator.LT, value);
+    }
+
+    public Query le(Object value) {
+        return add(Operator.LE, value);
+    }
+
+    /**
+     * 闭区间条件 {@code from <= field <= to}
+     *
+     * @param from 下界
+     * @param to   上界
+     * @return 查询
+     */
+    public Query between(Object from, Object to) {
+        return add(Operator.BETWEEN, from, to);
+    }
+
+    public Query in(Object... values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException(String.format("Query field %s in() requires at least one value", field));
+        }
+        return add(Operator.IN, values);
+    }
+
+    private Query add(Operator operator, Object... values) {
+        if (operator.isComparison()) {
+            for (Object value : values) {
+                if (value == null) {
+                    throw new IllegalArgumentException(String.format("Query field %s %s() does not accept null", field, operator.name().toLowerCase()));
+                }
+            }
+        }
+        List<Object> list = Collections.unmodifiableList(Arrays.asList(values.clone()));
+        return query.add(new Condition(field, operator, list));
+    }
+}
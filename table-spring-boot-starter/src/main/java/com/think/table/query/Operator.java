@@ -0,0 +1,48 @@
+package com.think.table.query;
+
+/**
+ * 查询条件运算符
+ *
+ * @author veione
+ */
+public enum Operator {
+    /**
+     * 等于
+     */
+    EQ,
+    /**
+     * 不等于
+     */
+    NE,
+    /**
+     * 大于
+     */
+    GT,
+    /**
+     * 大于等于
+     */
+    GE,
+    /**
+     * 小于
+     */
+    LT,
+    /**
+     * 小于等于
+     */
+    LE,
+    /**
+     * 闭区间 [from, to]
+     */
+    BETWEEN,
+    /**
+     * 属于集合
+     */
+    IN;
+
+    /**
+     * @return 该运算符是否需要比较大小
+     */
+    public boolean isComparison() {
+        return this == GT || this == GE || this == LT || this == LE || this == BETWEEN;
+    }
+}
@@ -0,0 +1,177 @@
+package com.think.table.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 配置表查询, 例如:
+ * <pre>
+ * Query.where("kind").eq(1).and("level").between(10, 20).orderBy("id").limit(10)
+ * </pre>
+ * 查询只描述条件, 由仓库根据字段索引编译成执行计划, 相同结构(字段、运算符、排序)的查询共用同一个执行计划.
+ *
+ * @author veione
+ */
+public final class Query {
+    private final List<Condition> conditions = new ArrayList<>(4);
+    private String orderBy;
+    private boolean descending;
+    private int limit = -1;
+
+    private Query() {
+    }
+
+    /**
+     * 创建查询并指定第一个条件字段
+     *
+     * @param field 字段名称
+     * @return 条件构建器
+     */
+    public static Criteria where(String field) {
+        return new Criteria(new Query(), field);
+    }
+
+    /**
+     * 创建不带条件的查询, 用于只需要排序或者限制数量的场景
+     *
+     * @return 查询
+     */
+    public static Query all() {
+        return new Query();
+    }
+
+    /**
+     * 追加一个条件字段, 多个条件之间为并且关系
+     *
+     * @param field 字段名称
+     * @return 条件构建器
+     */
+    public Criteria and(String field) {
+        return new Criteria(this, field);
+    }
+
+    /**
+     * 按字段升序排列
+     *
+     * @param field 字段名称
+     * @return this
+     */
+    public Query orderBy(String field) {
+        this.orderBy = Objects.requireNonNull(field, "field");
+        this.descending = false;
+        return this;
+    }
+
+    /**
+     * 按字段降序排列
+     *
+     * @param field 字段名称
+     * @return this
+     */
+    public Query orderByDesc(String field) {
+        this.orderBy = Objects.requireNonNull(field, "field");
+        this.descending = true;
+        return this;
+    }
+
+    /**
+     * 限制返回数量
+     *
+     * @param limit 最大数量
+     * @return this
+     */
+    public Query limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Query limit must not be negative: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    Query add(Condition condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    public List<Condition> getConditions() {
+        return Collections.unmodifiableList(conditions);
+    }
+
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * @return 最大返回数量, 未限制时为 -1
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean hasLimit() {
+        return limit >= 0;
+    }
+
+    /**
+     * 查询的不可变标识, 包含参数值, 用作查询结果缓存的键. 查询对象本身可以继续修改, 不影响已经生成的标识.
+     *
+     * @return 查询标识
+     */
+    public Object key() {
+        return new Key(List.copyOf(conditions), orderBy, descending, limit);
+    }
+
+    /**
+     * 查询结构, 不包含参数值, 用作执行计划缓存的键
+     *
+     * @return 查询结构
+     */
+    public String shape() {
+        StringBuilder sb = new StringBuilder(32);
+        for (Condition condition : conditions) {
+            sb.append(condition.field()).append(':').append(condition.operator()).append('&');
+        }
+        if (orderBy != null) {
+            sb.append("|order:").append(orderBy).append(descending ? ":desc" : ":asc");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Query query)) {
+            return false;
+        }
+        return descending == query.descending
+                && limit == query.limit
+                && conditions.equals(query.conditions)
+                && Objects.equals(orderBy, query.orderBy);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(conditions, orderBy, descending, limit);
+    }
+
+    private record Key(List<Condition> conditions, String orderBy, boolean descending, int limit) {
+    }
+
+    @Override
+    public String toString() {
+        return "Query{" +
+                "conditions=" + conditions +
+                ", orderBy=" + orderBy +
+                ", descending=" + descending +
+                ", limit=" + limit +
+                '}';
+    }
+}
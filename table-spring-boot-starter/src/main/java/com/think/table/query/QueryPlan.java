@@ -0,0 +1,295 @@
+package com.think.table.query;
+
+import com.think.table.TableDefinition;
+import com.think.table.TableSnapshot;
+import com.think.table.index.HashIndex;
+import com.think.table.index.RangeIndex;
+
+import java.io.Serializable;
+import java.math.RoundingMode;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 编译后的查询执行计划. 执行计划只与查询结构相关, 参数在每次执行时绑定.
+ *
+ * @param <T>
+ * @author veione
+ */
+public final class QueryPlan<T> {
+
+    /**
+     * 数据访问方式
+     */
+    public enum AccessPath {
+        /**
+         * 全表扫描
+         */
+        SCAN,
+        /**
+         * 主键查找
+         */
+        PRIMARY_KEY,
+        /**
+         * 哈希索引查找
+         */
+        HASH_INDEX,
+        /**
+         * 范围索引查找, 结果按索引字段有序
+         */
+        RANGE_INDEX
+    }
+
+    private final AccessPath accessPath;
+    private final int driving;
+    private final Field[] fields;
+    private final Function<Object, Object>[] accessors;
+    private final Operator[] operators;
+    private final Field rangeField;
+    private final boolean reversed;
+    private final Comparator<T> comparator;
+
+    /**
+     * @param rangeField 范围索引访问时使用的索引字段
+     * @param reversed   是否倒序遍历范围索引
+     * @param comparator 结果排序, 访问路径已经保证顺序时为 {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    QueryPlan(TableDefinition definition, AccessPath accessPath, int driving, Field[] fields, Operator[] operators,
+              Field rangeField, boolean reversed, Comparator<T> comparator) {
+        this.accessPath = accessPath;
+        this.driving = driving;
+        this.fields = fields;
+        this.accessors = new Function[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            accessors[i] = definition.getAccessor(fields[i]);
+        }
+        this.operators = operators;
+        this.rangeField = rangeField;
+        this.reversed = reversed;
+        this.comparator = comparator;
+    }
+
+    public AccessPath getAccessPath() {
+        return accessPath;
+    }
+
+    /**
+     * @return 驱动访问路径的条件下标, 全表扫描时为 -1
+     */
+    public int getDriving() {
+        return driving;
+    }
+
+    public List<T> list(TableSnapshot<T> snapshot, Query query) {
+        Object[][] bound = bind(query);
+        int limit = query.getLimit();
+        if (limit == 0) {
+            return Collections.emptyList();
+        }
+        boolean stopEarly = comparator == null && query.hasLimit();
+        List<T> result = new ArrayList<>();
+        scan(snapshot, bound, row -> {
+            result.add(row);
+            return !stopEarly || result.size() < limit;
+        });
+        if (comparator != null) {
+            result.sort(comparator);
+            if (query.hasLimit() && result.size() > limit) {
+                return Collections.unmodifiableList(new ArrayList<>(result.subList(0, limit)));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public Optional<T> first(TableSnapshot<T> snapshot, Query query) {
+        if (comparator != null) {
+            return list(snapshot, query).stream().findFirst();
+        }
+        if (query.getLimit() == 0) {
+            return Optional.empty();
+        }
+        Object[][] bound = bind(query);
+        Object[] found = new Object[1];
+        scan(snapshot, bound, row -> {
+            found[0] = row;
+            return false;
+        });
+        return Optional.ofNullable((T) found[0]);
+    }
+
+    public long count(TableSnapshot<T> snapshot, Query query) {
+        Object[][] bound = bind(query);
+        long limit = query.hasLimit() ? query.getLimit() : Long.MAX_VALUE;
+        long[] count = new long[1];
+        if (limit > 0) {
+            scan(snapshot, bound, row -> ++count[0] < limit);
+        }
+        return count[0];
+    }
+
+    public boolean exists(TableSnapshot<T> snapshot, Query query) {
+        return first(snapshot, query).isPresent();
+    }
+
+    /**
+     * 绑定参数, 将参数转换为字段类型
+     */
+    private Object[][] bind(Query query) {
+        List<Condition> conditions = query.getConditions();
+        Object[][] bound = new Object[conditions.size()][];
+        for (int i = 0; i < bound.length; i++) {
+            Class<?> type = fields[i].getType();
+            List<Object> values = conditions.get(i).values();
+            Object[] coerced = new Object[values.size()];
+            for (int j = 0; j < coerced.length; j++) {
+                coerced[j] = QueryValues.coerce(type, values.get(j), rounding(operators[i], j));
+            }
+            if (operators[i] == Operator.IN) {
+                coerced = new LinkedHashSet<>(Arrays.asList(coerced)).toArray();
+            }
+            bound[i] = coerced;
+        }
+        return bound;
+    }
+
+    /**
+     * 范围边界的取整方式, 使整数字段的比较结果与按实数比较一致: x &gt; 1.5 即 x &gt; 1, x &lt; 1.5 即 x &lt; 2
+     *
+     * @param operator 操作符
+     * @param index    参数下标
+     * @return 取整方式, 相等比较返回 {@code null}
+     */
+    private static RoundingMode rounding(Operator operator, int index) {
+        return switch (operator) {
+            case GT, LE -> RoundingMode.FLOOR;
+            case GE, LT -> RoundingMode.CEILING;
+            case BETWEEN -> index == 0 ? RoundingMode.CEILING : RoundingMode.FLOOR;
+            default -> null;
+        };
+    }
+
+    /**
+     * 按访问路径遍历候选行, 过滤其余条件
+     *
+     * @param visitor 返回 {@code false} 时停止遍历
+     */
+    private void scan(TableSnapshot<T> snapshot, Object[][] bound, Predicate<T> visitor) {
+        switch (accessPath) {
+            case PRIMARY_KEY -> {
+                if (bound[driving].length > 1) {
+                    List<T> rows = new ArrayList<>(bound[driving].length);
+                    for (Object id : bound[driving]) {
+                        T row = snapshot.get((Serializable) id);
+                        if (row != null) {
+                            rows.add(row);
+                        }
+                    }
+                    visit(inLoadOrder(snapshot, rows), bound, visitor);
+                    return;
+                }
+                for (Object id : bound[driving]) {
+                    T row = snapshot.get((Serializable) id);
+                    if (row != null && matches(row, bound) && !visitor.test(row)) {
+                        return;
+                    }
+                }
+            }
+            case HASH_INDEX -> {
+                HashIndex<T> index = snapshot.getHashIndex(fields[driving].getName());
+                if (bound[driving].length > 1) {
+                    List<T> rows = new ArrayList<>();
+                    for (Object key : bound[driving]) {
+                        rows.addAll(index.get(key));
+                    }
+                    visit(inLoadOrder(snapshot, rows), bound, visitor);
+                    return;
+                }
+                for (Object key : bound[driving]) {
+                    if (!visit(index.get(key), bound, visitor)) {
+                        return;
+                    }
+                }
+            }
+            case RANGE_INDEX -> {
+                RangeIndex<T> index = snapshot.getRangeIndex(rangeField.getName());
+                List<T> rows = driving >= 0 ? index.slice(operators[driving], bound[driving]) : index.rows();
+                if (reversed) {
+                    for (int i = rows.size() - 1; i >= 0; i--) {
+                        T row = rows.get(i);
+                        if (matches(row, bound) && !visitor.test(row)) {
+                            return;
+                        }
+                    }
+                } else {
+                    visit(rows, bound, visitor);
+                }
+            }
+            default -> visit(snapshot.rows(), bound, visitor);
+        }
+    }
+
+    /**
+     * IN 条件按多个键查找到的行恢复为加载顺序, 与全表扫描的结果顺序一致
+     */
+    private static <T> List<T> inLoadOrder(TableSnapshot<T> snapshot, List<T> rows) {
+        if (rows.size() > 1) {
+            rows.sort(Comparator.comparingInt(snapshot::indexOf));
+        }
+        return rows;
+    }
+
+    private boolean visit(List<T> rows, Object[][] bound, Predicate<T> visitor) {
+        for (int i = 0, size = rows.size(); i < size; i++) {
+            T row = rows.get(i);
+            if (matches(row, bound) && !visitor.test(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matches(T row, Object[][] bound) {
+        for (int i = 0; i < fields.length; i++) {
+            if (i == driving) {
+                continue;
+            }
+            Object value = accessors[i].apply(row);
+            if (!test(operators[i], value, bound[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean test(Operator operator, Object value, Object[] args) {
+        return switch (operator) {
+            case EQ -> Objects.equals(value, args[0]);
+            case NE -> !Objects.equals(value, args[0]);
+            case GT -> value != null && QueryValues.compare(value, args[0]) > 0;
+            case GE -> value != null && QueryValues.compare(value, args[0]) >= 0;
+            case LT -> value != null && QueryValues.compare(value, args[0]) < 0;
+            case LE -> value != null && QueryValues.compare(value, args[0]) <= 0;
+            case BETWEEN -> value != null
+                    && QueryValues.compare(value, args[0]) >= 0
+                    && QueryValues.compare(value, args[1]) <= 0;
+            case IN -> {
+                for (Object arg : args) {
+                    if (Objects.equals(value, arg)) {
+                        yield true;
+                    }
+                }
+                yield false;
+            }
+        };
+    }
+}
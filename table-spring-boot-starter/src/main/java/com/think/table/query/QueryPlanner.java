@@ -0,0 +1,132 @@
+package com.think.table.query;
+
+import com.think.table.TableDefinition;
+
+import java.lang.reflect.Field;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 查询计划器, 根据字段索引为查询选择访问路径, 并按查询结构缓存编译后的执行计划.
+ *
+ * @param <T>
+ * @author veione
+ */
+public final class QueryPlanner<T> {
+    /**
+     * 执行计划缓存上限, 查询结构一般都写死在代码中, 超过上限说明查询是动态拼接的, 不再缓存
+     */
+    private static final int MAX_CACHED_PLANS = 256;
+    private final TableDefinition definition;
+    private final Set<String> hashIndexed = new HashSet<>();
+    private final Set<String> rangeIndexed = new HashSet<>();
+    private final Map<String, QueryPlan<T>> plans = new ConcurrentHashMap<>();
+
+    public QueryPlanner(TableDefinition definition) {
+        this.definition = definition;
+        for (Field field : definition.getIndexesFields()) {
+            hashIndexed.add(field.getName());
+        }
+        for (Field field : definition.getRangeIndexesFields()) {
+            rangeIndexed.add(field.getName());
+        }
+    }
+
+    /**
+     * 获取查询对应的执行计划
+     *
+     * @param query 查询
+     * @return 执行计划
+     * @throws IllegalArgumentException 查询的字段不存在或者不支持对应的运算
+     */
+    public QueryPlan<T> plan(Query query) {
+        String shape = query.shape();
+        QueryPlan<T> plan = plans.get(shape);
+        if (plan == null) {
+            plan = compile(query);
+            if (plans.size() < MAX_CACHED_PLANS) {
+                plans.putIfAbsent(shape, plan);
+            }
+        }
+        return plan;
+    }
+
+    private QueryPlan<T> compile(Query query) {
+        List<Condition> conditions = query.getConditions();
+        int size = conditions.size();
+        Field[] fields = new Field[size];
+        Operator[] operators = new Operator[size];
+
+        QueryPlan.AccessPath accessPath = QueryPlan.AccessPath.SCAN;
+        int driving = -1;
+        int bestCost = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Condition condition = conditions.get(i);
+            Field field = definition.getField(condition.field());
+            Operator operator = condition.operator();
+            if (operator.isComparison() && !QueryValues.isComparable(field.getType())) {
+                throw new IllegalArgumentException(String.format("Table %s field %s is not comparable",
+                        definition.getTableFileName(), field.getName()));
+            }
+            fields[i] = field;
+            operators[i] = operator;
+
+            // 主键优先于哈希索引, 哈希索引优先于范围索引, 等值优先于集合
+            int cost;
+            QueryPlan.AccessPath path;
+            boolean lookup = operator == Operator.EQ || operator == Operator.IN;
+            if (lookup && field.equals(definition.getIdField())) {
+                path = QueryPlan.AccessPath.PRIMARY_KEY;
+                cost = operator == Operator.EQ ? 0 : 1;
+            } else if (lookup && hashIndexed.contains(field.getName())) {
+                path = QueryPlan.AccessPath.HASH_INDEX;
+                cost = operator == Operator.EQ ? 2 : 3;
+            } else if (operator.isComparison() && rangeIndexed.contains(field.getName())) {
+                path = QueryPlan.AccessPath.RANGE_INDEX;
+                cost = 4;
+            } else {
+                continue;
+            }
+            if (cost < bestCost) {
+                bestCost = cost;
+                accessPath = path;
+                driving = i;
+            }
+        }
+
+        // 按范围索引字段排序时直接按索引顺序遍历, 不需要再排序, 并且可以在达到数量限制后提前结束
+        Field rangeField = driving >= 0 && accessPath == QueryPlan.AccessPath.RANGE_INDEX ? fields[driving] : null;
+        String orderBy = query.getOrderBy();
+        if (orderBy != null && driving < 0 && rangeIndexed.contains(orderBy)) {
+            Field orderField = definition.getField(orderBy);
+            // 包装类型可能存在 null 值, 这些行不在索引中, 只能全表扫描
+            if (orderField.getType().isPrimitive()) {
+                accessPath = QueryPlan.AccessPath.RANGE_INDEX;
+                rangeField = orderField;
+            }
+        }
+        if (rangeField != null && rangeField.getName().equals(orderBy)) {
+            return new QueryPlan<>(definition, accessPath, driving, fields, operators, rangeField, query.isDescending(), null);
+        }
+        return new QueryPlan<>(definition, accessPath, driving, fields, operators, rangeField, false, comparator(query));
+    }
+
+    private Comparator<T> comparator(Query query) {
+        if (query.getOrderBy() == null) {
+            return null;
+        }
+        Field field = definition.getField(query.getOrderBy());
+        if (!QueryValues.isComparable(field.getType())) {
+            throw new IllegalArgumentException(String.format("Table %s field %s is not comparable",
+                    definition.getTableFileName(), field.getName()));
+        }
+        Function<Object, Object> accessor = definition.getAccessor(field);
+        Comparator<T> comparator = (left, right) -> QueryValues.compare(accessor.apply(left), accessor.apply(right));
+        return query.isDescending() ? comparator.reversed() : comparator;
+    }
+}
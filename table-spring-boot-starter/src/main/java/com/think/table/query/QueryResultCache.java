@@ -0,0 +1,56 @@
+package com.think.table.query;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 查询结果缓存, 按最近最少使用淘汰. 缓存与配置表快照绑定, 快照替换后旧缓存随之丢弃.
+ *
+ * @param <T>
+ * @author veione
+ */
+public final class QueryResultCache<T> {
+    private final Map<Object, List<T>> results;
+
+    public QueryResultCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Query cache capacity must be positive: " + capacity);
+        }
+        this.results = new LinkedHashMap<>(Math.min(capacity, 64), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, List<T>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * 获取缓存的结果, 不存在时执行查询并缓存. 查询在锁外执行, 并发未命中时可能重复执行, 结果相同.
+     *
+     * @param key    查询标识
+     * @param loader 查询
+     * @return 不可修改的结果列表
+     */
+    public List<T> get(Object key, Supplier<List<T>> loader) {
+        List<T> result;
+        synchronized (results) {
+            result = results.get(key);
+        }
+        if (result != null) {
+            return result;
+        }
+        result = loader.get();
+        synchronized (results) {
+            List<T> existing = results.putIfAbsent(key, result);
+            return existing != null ? existing : result;
+        }
+    }
+
+    public int size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.think.table.query;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.NumberUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * 查询参数转换工具, 将查询参数转换为字段类型以便与字段值直接比较.
+ *
+ * @author veione
+ */
+public final class QueryValues {
+
+    private QueryValues() {
+    }
+
+    /**
+     * 将参数转换为字段类型, 整数字段不接受带小数的参数
+     *
+     * @param type  字段类型, 原始类型会转换为对应的包装类型
+     * @param value 参数
+     * @return 转换后的参数
+     * @throws IllegalArgumentException 无法转换
+     */
+    public static Object coerce(Class<?> type, Object value) {
+        return coerce(type, value, null);
+    }
+
+    /**
+     * 将参数转换为字段类型
+     * <p>整数字段的范围边界带小数时按 {@code rounding} 取整, 使取整后的比较结果与按实数比较一致,
+     * 例如整数字段 {@code lt(1.5)} 等价于 {@code lt(2)}, {@code ge(1.5)} 等价于 {@code ge(2)}.</p>
+     *
+     * @param type     字段类型, 原始类型会转换为对应的包装类型
+     * @param value    参数
+     * @param rounding 整数字段的取整方式, 为 {@code null} 时不接受带小数的参数
+     * @return 转换后的参数
+     * @throws IllegalArgumentException 无法转换
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Object coerce(Class<?> type, Object value, RoundingMode rounding) {
+        if (value == null) {
+            return null;
+        }
+        Class<?> target = ClassUtils.resolvePrimitiveIfNecessary(type);
+        if (target.isInstance(value)) {
+            return value;
+        }
+        if (Number.class.isAssignableFrom(target)) {
+            Class<? extends Number> numberType = (Class<? extends Number>) target;
+            if (value instanceof String text) {
+                try {
+                    return NumberUtils.parseNumber(text.trim(), numberType);
+                } catch (NumberFormatException e) {
+                    if (!isIntegral(target)) {
+                        throw e;
+                    }
+                    try {
+                        value = new BigDecimal(text.trim());
+                    } catch (NumberFormatException ignored) {
+                        throw e;
+                    }
+                }
+            }
+            if (value instanceof Number number) {
+                if (isIntegral(target) && !isIntegral(number.getClass())) {
+                    number = toInteger(number, rounding, type);
+                }
+                return NumberUtils.convertNumberToTargetClass(number, numberType);
+            }
+        }
+        if (target.isEnum() && value instanceof String text) {
+            return Enum.valueOf((Class<? extends Enum>) target, text);
+        }
+        if (target == Character.class && value instanceof String text && text.length() == 1) {
+            return text.charAt(0);
+        }
+        throw new IllegalArgumentException(String.format("Query value %s cannot be applied to %s", value, type.getName()));
+    }
+
+    /**
+     * @param type 数字类型
+     * @return 是否整数类型
+     */
+    private static boolean isIntegral(Class<?> type) {
+        return type == Integer.class || type == Long.class || type == Short.class || type == Byte.class
+                || type == BigInteger.class;
+    }
+
+    /**
+     * 将浮点数或者小数转换为整数
+     */
+    private static BigInteger toInteger(Number number, RoundingMode rounding, Class<?> type) {
+        if ((number instanceof Double || number instanceof Float) && !Double.isFinite(number.doubleValue())) {
+            throw new IllegalArgumentException(String.format("Query value %s cannot be applied to %s", number, type.getName()));
+        }
+        BigDecimal decimal = number instanceof BigDecimal value ? value : new BigDecimal(number.toString());
+        if (rounding == null && decimal.stripTrailingZeros().scale() > 0) {
+            throw new IllegalArgumentException(String.format("Query value %s is not an integer and never equals a %s field", number, type.getName()));
+        }
+        return decimal.setScale(0, rounding != null ? rounding : RoundingMode.UNNECESSARY).toBigIntegerExact();
+    }
+
+    /**
+     * @param type 字段类型
+     * @return 字段是否可以比较大小
+     */
+    public static boolean isComparable(Class<?> type) {
+        return Comparable.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(type));
+    }
+
+    /**
+     * 比较两个已转换为相同类型的值, {@code null} 排在最前
+     *
+     * @param left  左值
+     * @param right 右值
+     * @return 比较结果
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static int compare(Object left, Object right) {
+        if (left == right) {
+            return 0;
+        }
+        if (left == null) {
+            return -1;
+        }
+        if (right == null) {
+            return 1;
+        }
+        return ((Comparable) left).compareTo(right);
+    }
+}
@@ -0,0 +1,50 @@
+package com.think.table.reader;
+
+import com.think.table.bundle.BinaryTable;
+import com.think.table.bundle.TableSchema;
+import com.think.table.exception.TableReadException;
+import com.think.table.reader.util.BufferUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读取构建时编译的二进制配置表, 文件整体映射到内存后按列结构直接解码, 不需要分词和类型转换.
+ *
+ * @author veione
+ * @see com.think.table.bundle.TableCompiler
+ */
+public class BinaryTableReader implements TableReader {
+    /**
+     * 二进制配置表的文件后缀
+     */
+    public static final String SUFFIX = "bin";
+
+    @Override
+    public <T> List<T> read(InputStream inputStream, Class<T> clazz) throws TableReadException {
+        List<T> dataList = new ArrayList<>(32);
+        read(inputStream, clazz, dataList::add);
+        return dataList;
+    }
+
+    @Override
+    public <T> void read(InputStream inputStream, Class<T> clazz, RowSink<? super T> sink) throws TableReadException {
+        try (InputStream in = inputStream) {
+            ByteBuffer buffer = BufferUtils.readFully(in);
+            BinaryTable table = BinaryTable.open(buffer);
+            TableSchema<T> schema = TableSchema.of(clazz);
+            table.checkSchema(schema);
+            table.decode(schema, 0, table.getRowCount(), sink);
+        } catch (IOException e) {
+            throw new TableReadException(e);
+        }
+    }
+
+    @Override
+    public String getSuffix() {
+        return SUFFIX;
+    }
+}
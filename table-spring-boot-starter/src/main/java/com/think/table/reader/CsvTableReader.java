@@ -0,0 +1,241 @@
+package com.think.table.reader;
+
+import com.think.table.exception.TableReadException;
+import com.think.table.properties.CsvProperties;
+import com.think.table.reader.csv.ByteCSVChunk;
+import com.think.table.reader.csv.ByteCSVParser;
+import com.think.table.reader.csv.ByteCSVRecord;
+import com.think.table.reader.csv.bean.CsvToBean;
+import com.think.table.reader.csv.bean.CsvToBeanBuilder;
+import com.think.table.reader.csv.bean.HeaderColumnNameMappingStrategy;
+import com.think.table.reader.csv.bean.exceptionhandler.CsvErrorCollector;
+import com.think.table.reader.csv.exceptions.CsvError;
+import com.think.table.reader.csv.exceptions.CsvException;
+import com.think.table.reader.csv.exceptions.CsvFieldAssignmentException;
+import com.think.table.reader.csv.exceptions.CsvRuntimeException;
+import com.think.table.reader.util.BufferUtils;
+import org.springframework.core.convert.ConversionService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV reader implementation.
+ *
+ * @author veione
+ */
+public class CsvTableReader implements TableReader {
+    /**
+     * 并行解析时每块的最小字节数
+     */
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    /**
+     * 异常信息中最多列出的错误数量
+     */
+    private static final int MAX_REPORTED_ERRORS = 10;
+    private final char lineSeparator;
+    private final int skipLines;
+    private final boolean byteParser;
+    private final boolean rawLineContext;
+    private final boolean parallel;
+    private final int parallelThreshold;
+    private final ConversionService conversionService;
+
+    public CsvTableReader(char lineSeparator, int skipLines, ConversionService conversionService) {
+        this.lineSeparator = lineSeparator;
+        this.skipLines = skipLines;
+        this.byteParser = false;
+        this.rawLineContext = false;
+        this.parallel = false;
+        this.parallelThreshold = Integer.MAX_VALUE;
+        this.conversionService = conversionService;
+    }
+
+    public CsvTableReader(CsvProperties properties, ConversionService conversionService) {
+        this.lineSeparator = properties.getLineSeparator().charAt(0);
+        this.skipLines = properties.getSkipLines();
+        this.byteParser = properties.isByteParser() || properties.isParallel();
+        this.rawLineContext = properties.isRawLineContext();
+        this.parallel = properties.isParallel();
+        this.parallelThreshold = properties.getParallelThreshold();
+        this.conversionService = conversionService;
+    }
+
+    @Override
+    public <T> List<T> read(InputStream inputStream, Class<T> clazz) throws TableReadException {
+        List<T> dataList = new ArrayList<>(32);
+        read(inputStream, clazz, dataList::add);
+        return dataList;
+    }
+
+    @Override
+    public <T> void read(InputStream inputStream, Class<T> clazz, RowSink<? super T> sink) throws TableReadException {
+        if (byteParser) {
+            readBytes(inputStream, clazz, sink);
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            HeaderColumnNameMappingStrategy<T> strategy = new HeaderColumnNameMappingStrategy<>(conversionService);
+            strategy.setType(clazz);
+
+            CsvToBean<T> csvToBean = new CsvToBeanBuilder<T>(reader)
+                    .withSeparator(lineSeparator)
+                    .withIgnoreEmptyLine(true)
+                    .withMappingStrategy(strategy)
+                    .withSkipLines(skipLines)
+                    .withKeepRawLines(rawLineContext)
+                    .withConversionService(conversionService)
+                    .withThrowExceptions(false)
+                    .build();
+
+            for (T row : csvToBean) {
+                sink.accept(row);
+            }
+            checkErrors(clazz, csvToBean.getErrorCollector());
+        } catch (IOException e) {
+            throw new TableReadException(e);
+        }
+    }
+
+    /**
+     * 使用 {@link ByteCSVParser} 在整块字节上解析, 记录对象在行之间复用
+     */
+    private <T> void readBytes(InputStream inputStream, Class<T> clazz, RowSink<? super T> sink) throws TableReadException {
+        ByteCSVParser parser = new ByteCSVParser(lineSeparator);
+        ByteCSVRecord record = new ByteCSVRecord(parser.nullFieldIndicator());
+        CsvErrorCollector errors = new CsvErrorCollector();
+        try (InputStream in = inputStream) {
+            ByteBuffer buffer = BufferUtils.readFully(in);
+            ByteCSVParser.skipBom(buffer);
+            parser.skipLines(buffer, record, skipLines);
+
+            if (!nextRecord(parser, buffer, record)) {
+                return;
+            }
+            HeaderColumnNameMappingStrategy<T> strategy = new HeaderColumnNameMappingStrategy<>(conversionService);
+            strategy.setType(clazz);
+            strategy.captureHeader(record.toArray());
+
+            if (parallel && buffer.remaining() >= parallelThreshold) {
+                readChunks(parser, buffer, record.getLinesRead(), strategy, clazz, sink, errors);
+            } else {
+                while (nextRecord(parser, buffer, record)) {
+                    T row = populate(strategy, record, errors);
+                    if (row != null) {
+                        sink.accept(row);
+                    }
+                }
+            }
+            checkErrors(clazz, errors);
+        } catch (CsvException | CsvRuntimeException e) {
+            throw parseFailed(clazz, record, e);
+        } catch (IOException e) {
+            throw new TableReadException(e);
+        }
+    }
+
+    /**
+     * 按记录边界切分后并行解析各块, 再按文件顺序把结果推送给 sink. 前面的块解析完成后立即推送,
+     * 不等待后面的块; 任意一块失败时按文件顺序报告第一个错误.
+     * 每块使用自己的错误收集器, 推送时按块的顺序合并, 解析线程之间不共享锁.
+     */
+    private <T> void readChunks(ByteCSVParser parser, ByteBuffer buffer, long linesRead,
+                                HeaderColumnNameMappingStrategy<T> strategy, Class<T> clazz,
+                                RowSink<? super T> sink, CsvErrorCollector errors) throws TableReadException {
+        int chunkSize = BufferUtils.chunkSize(buffer.remaining(), MIN_CHUNK_SIZE);
+        List<BufferUtils.Chunk<ChunkRows<T>>> chunks = new ArrayList<>();
+        for (ByteCSVChunk chunk : parser.split(buffer, linesRead, chunkSize)) {
+            chunks.add(() -> readChunk(parser, buffer, chunk, strategy, clazz));
+        }
+        BufferUtils.runOrdered(chunks, chunk -> {
+            errors.merge(chunk.errors());
+            for (T row : chunk.rows()) {
+                sink.accept(row);
+            }
+        });
+    }
+
+    private static <T> ChunkRows<T> readChunk(ByteCSVParser parser, ByteBuffer buffer, ByteCSVChunk chunk,
+                                              HeaderColumnNameMappingStrategy<T> strategy, Class<T> clazz) throws TableReadException {
+        CsvErrorCollector errors = new CsvErrorCollector();
+        ByteBuffer view = buffer.duplicate();
+        view.position(chunk.start()).limit(chunk.end());
+        ByteCSVRecord record = new ByteCSVRecord(parser.nullFieldIndicator(), chunk.linesRead());
+        List<T> rows = new ArrayList<>(Math.max(16, (chunk.end() - chunk.start()) >> 6));
+        try {
+            while (nextRecord(parser, view, record)) {
+                T row = populate(strategy, record, errors);
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+        } catch (CsvException | CsvRuntimeException e) {
+            throw parseFailed(clazz, record, e);
+        } catch (IOException e) {
+            throw new TableReadException(e);
+        }
+        return new ChunkRows<>(rows, errors);
+    }
+
+    /**
+     * 转换一行, 字段赋值错误记录到收集器后继续解析后面的行, 让一次加载报告出全部错误
+     *
+     * @return 对象, 转换失败时返回 {@code null}
+     */
+    private static <T> T populate(HeaderColumnNameMappingStrategy<T> strategy, ByteCSVRecord record,
+                                  CsvErrorCollector errors) throws CsvException {
+        try {
+            return strategy.populateNewBean(record);
+        } catch (CsvFieldAssignmentException e) {
+            errors.add(CsvError.of(e, record.getLineNumber()));
+            return null;
+        }
+    }
+
+    private static void checkErrors(Class<?> clazz, CsvErrorCollector errors) throws TableReadException {
+        if (errors.isEmpty()) {
+            return;
+        }
+        List<CsvError> list = errors.getErrors();
+        StringBuilder sb = new StringBuilder(128);
+        sb.append(String.format("Csv table %s has %d invalid rows", clazz.getSimpleName(), errors.getErrorCount()));
+        for (int i = 0; i < Math.min(MAX_REPORTED_ERRORS, list.size()); i++) {
+            sb.append(System.lineSeparator()).append("  ").append(list.get(i));
+        }
+        throw new TableReadException(sb.toString(), list.get(0).toException());
+    }
+
+    private static TableReadException parseFailed(Class<?> clazz, ByteCSVRecord record, Exception e) {
+        return new TableReadException(String.format("Csv table %s line %d parse failed", clazz.getSimpleName(),
+                record.getLineNumber()), e);
+    }
+
+    private static boolean nextRecord(ByteCSVParser parser, ByteBuffer buffer, ByteCSVRecord record) throws IOException {
+        while (parser.next(buffer, record)) {
+            if (!record.isEmptyLine()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getSuffix() {
+        return "csv";
+    }
+
+    /**
+     * 一块的解析结果
+     *
+     * @param rows   转换成功的行
+     * @param errors 这一块的转换错误
+     */
+    private record ChunkRows<T>(List<T> rows, CsvErrorCollector errors) {
+    }
+}
@@ -0,0 +1,582 @@
+package com.think.table.reader;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelReader;
+import com.alibaba.excel.cache.ReadCache;
+import com.alibaba.excel.cache.selector.ReadCacheSelector;
+import com.alibaba.excel.cache.selector.SimpleReadCacheSelector;
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.converters.Converter;
+import com.alibaba.excel.converters.ConverterKeyBuild;
+import com.alibaba.excel.enums.CellDataTypeEnum;
+import com.alibaba.excel.event.AnalysisEventListener;
+import com.alibaba.excel.metadata.data.ReadCellData;
+import com.alibaba.excel.read.builder.ExcelReaderBuilder;
+import com.alibaba.excel.read.builder.ExcelReaderSheetBuilder;
+import com.alibaba.excel.read.metadata.ReadSheet;
+import com.alibaba.excel.util.ConverterUtils;
+import com.think.table.descriptor.TableDescriptor;
+import com.think.table.descriptor.TableDescriptors;
+import com.think.table.exception.TableReadException;
+import com.think.table.properties.ExcelProperties;
+import com.think.table.reader.excel.CfgBeanDefinition;
+import com.think.table.reader.excel.CfgBeanField;
+import com.think.table.reader.excel.ExcelHeader;
+import com.think.table.reader.excel.MemoryBudget;
+import com.think.table.reader.util.TypeUtils;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.util.StringUtils;
+
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Excel table reader implementation.
+ *
+ * @author veioen
+ */
+public class ExcelTableReader implements TableReader {
+    /**
+     * 每读取多少行检查一次内存预算
+     */
+    private static final int MEMORY_CHECK_INTERVAL = 1024;
+    /**
+     * 加载失败时最多报告的错误行数
+     */
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private final int headRowNumber;
+    private final ConversionService conversionService;
+    private final boolean largeFile;
+    private final int sharedStringsMemoryThreshold;
+    private final int sharedStringsCacheBatches;
+    private final int memoryBudget;
+    private final boolean pipelined;
+    private final int pipelineBatchSize;
+    private static final Logger log = LoggerFactory.getLogger(ExcelTableReader.class);
+
+    public ExcelTableReader(int headRowNumber, ConversionService conversionService) {
+        this.headRowNumber = headRowNumber;
+        this.conversionService = conversionService;
+        this.largeFile = false;
+        this.sharedStringsMemoryThreshold = 0;
+        this.sharedStringsCacheBatches = 0;
+        this.memoryBudget = 0;
+        this.pipelined = false;
+        this.pipelineBatchSize = 0;
+    }
+
+    public ExcelTableReader(ExcelProperties properties, ConversionService conversionService) {
+        this.headRowNumber = properties.getHeaderRow();
+        this.conversionService = conversionService;
+        this.largeFile = properties.isLargeFile();
+        this.sharedStringsMemoryThreshold = properties.getSharedStringsMemoryThreshold();
+        this.sharedStringsCacheBatches = properties.getSharedStringsCacheBatches();
+        this.memoryBudget = properties.getMemoryBudget();
+        this.pipelined = properties.isPipelined();
+        this.pipelineBatchSize = properties.getPipelineBatchSize();
+        if (pipelined && pipelineBatchSize <= 0) {
+            throw new IllegalArgumentException("Excel pipeline batch size must be positive: " + pipelineBatchSize);
+        }
+    }
+
+    @Override
+    public <T> List<T> read(InputStream inputStream, Class<T> clazz) throws TableReadException {
+        List<T> dataList = new ArrayList<>(32);
+        read(inputStream, clazz, dataList::add);
+        return dataList;
+    }
+
+    @Override
+    public <T> void read(InputStream inputStream, Class<T> clazz, RowSink<? super T> sink) throws TableReadException {
+        read(inputStream, List.of(new TableSheet<>(null, clazz, sink)));
+    }
+
+    /**
+     * 一次读取工作簿中的多个工作表, 压缩包和共享字符串表只解析一次, 每个工作表的行交给各自的监听器转换.
+     *
+     * @param inputStream 工作簿输入流
+     * @param sheets      工作表与配置表的对应关系
+     * @throws TableReadException 工作表不存在或者超过内存预算
+     */
+    public void read(InputStream inputStream, List<TableSheet<?>> sheets) throws TableReadException {
+        MemoryBudget budget = MemoryBudget.start(memoryBudget);
+        ExcelReaderBuilder readerBuilder = EasyExcel.read(inputStream)
+                .useDefaultListener(false)
+                .autoTrim(true);
+        SimpleReadCacheSelector cacheSelector = new SimpleReadCacheSelector();
+        if (largeFile) {
+            // 共享字符串表超过阈值时放入文件缓存, 内存中只保留有限的活跃批次
+            cacheSelector.setMaxUseMapCacheSize((long) sharedStringsMemoryThreshold);
+            cacheSelector.setMaxCacheActivateBatchCount(sharedStringsCacheBatches);
+        }
+        // 共享字符串表在读取第一个工作表之前整体加载, 加载期间同样检查内存预算
+        readerBuilder.readCacheSelector(budget.isLimited() ? new BudgetReadCacheSelector(cacheSelector, budget, sheetNames(sheets)) : cacheSelector);
+        try (ExcelReader excelReader = readerBuilder.build()) {
+            List<ReadSheet> readSheets = new ArrayList<>(sheets.size());
+            for (TableSheet<?> sheet : sheets) {
+                readSheets.add(readSheet(sheet, budget));
+            }
+            checkSheets(excelReader.excelExecutor().sheetList(), sheets);
+            if (budget.exceeded()) {
+                throw budgetExceeded(budget, sheetNames(sheets), "after loading shared strings");
+            }
+            excelReader.read(readSheets);
+        } catch (RuntimeException e) {
+            // 监听器中止加载时抛出的异常会被 EasyExcel 包装
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof AbortReadException abort) {
+                    throw abort.getReason();
+                }
+            }
+            throw e;
+        }
+        if (budget.isLimited()) {
+            log.info("Excel tables {} loaded, heap grew {} MB of {} MB budget", sheetNames(sheets),
+                    budget.getPeakMegabytes(), budget.getLimitMegabytes());
+        }
+    }
+
+    private <T> ReadSheet readSheet(TableSheet<T> sheet, MemoryBudget budget) {
+        ExcelReaderSheetBuilder builder = StringUtils.hasText(sheet.sheetName())
+                ? EasyExcel.readSheet(sheet.sheetName())
+                : EasyExcel.readSheet(0);
+        return builder.headRowNumber(headRowNumber)
+                .registerReadListener(new CfgExcelTableParseListener<>(headRowNumber, sheet.clazz(), conversionService, sheet.sink(), budget,
+                        pipelined ? pipelineBatchSize : 0))
+                .build();
+    }
+
+    private static List<String> sheetNames(List<TableSheet<?>> sheets) {
+        List<String> names = new ArrayList<>(sheets.size());
+        for (TableSheet<?> sheet : sheets) {
+            names.add(sheet.clazz().getSimpleName());
+        }
+        return names;
+    }
+
+    /**
+     * EasyExcel 会静默跳过不存在的工作表, 这里提前检查, 避免配置表被加载为空表
+     */
+    private static void checkSheets(List<ReadSheet> workbookSheets, List<TableSheet<?>> sheets) throws TableReadException {
+        if (workbookSheets == null || workbookSheets.isEmpty()) {
+            return;
+        }
+        Set<String> names = new HashSet<>(workbookSheets.size());
+        for (ReadSheet readSheet : workbookSheets) {
+            names.add(readSheet.getSheetName().trim());
+        }
+        for (TableSheet<?> sheet : sheets) {
+            if (StringUtils.hasText(sheet.sheetName()) && !names.contains(sheet.sheetName().trim())) {
+                throw new TableReadException(String.format("Excel table %s sheet %s does not exist, workbook sheets: %s",
+                        sheet.clazz().getSimpleName(), sheet.sheetName(), names));
+            }
+        }
+    }
+
+    @Override
+    public String getSuffix() {
+        return "xlsx";
+    }
+
+    private static AbortReadException budgetExceeded(MemoryBudget budget, List<String> tables, String stage) {
+        String message = String.format("Excel tables %s exceeded the reload memory budget of %d MB %s, heap grew %d MB",
+                tables, budget.getLimitMegabytes(), stage, budget.getPeakMegabytes());
+        log.error(message);
+        return new AbortReadException(new TableReadException(message));
+    }
+
+    /**
+     * 加载共享字符串表时检查内存预算, 共享字符串表可能比工作表数据本身更大
+     */
+    private static class BudgetReadCacheSelector implements ReadCacheSelector {
+        private final ReadCacheSelector delegate;
+        private final MemoryBudget budget;
+        private final List<String> tables;
+
+        BudgetReadCacheSelector(ReadCacheSelector delegate, MemoryBudget budget, List<String> tables) {
+            this.delegate = delegate;
+            this.budget = budget;
+            this.tables = tables;
+        }
+
+        @Override
+        public ReadCache readCache(PackagePart sharedStringsTablePackagePart) {
+            ReadCache cache = delegate.readCache(sharedStringsTablePackagePart);
+            return new ReadCache() {
+                private int count;
+
+                @Override
+                public void init(AnalysisContext analysisContext) {
+                    cache.init(analysisContext);
+                }
+
+                @Override
+                public void put(String value) {
+                    if (++count % MEMORY_CHECK_INTERVAL == 0 && budget.exceeded()) {
+                        throw budgetExceeded(budget, tables, "while loading " + count + " shared strings");
+                    }
+                    cache.put(value);
+                }
+
+                @Override
+                public String get(Integer key) {
+                    return cache.get(key);
+                }
+
+                @Override
+                public void putFinished() {
+                    cache.putFinished();
+                }
+
+                @Override
+                public void destroy() {
+                    cache.destroy();
+                }
+            };
+        }
+    }
+
+    /**
+     * 在监听器中中止加载, 携带需要抛给调用方的异常
+     */
+    private static class AbortReadException extends RuntimeException {
+        private final TableReadException reason;
+
+        AbortReadException(TableReadException reason) {
+            super(reason.getMessage(), reason, false, false);
+            this.reason = reason;
+        }
+
+        TableReadException getReason() {
+            return reason;
+        }
+    }
+
+    /**
+     * 表头读取完成后确定映射到字段的列, 数据行只转换这些列的单元格, 其余列(策划备注等)直接跳过.
+     * 关闭 EasyExcel 默认的行转换监听器, 由这里按列转换单元格, 避免为未映射的列创建字符串.
+     */
+    private static class CfgExcelTableParseListener<T> extends AnalysisEventListener<Map<Integer, ReadCellData<?>>> {
+        private final Map<Integer, ExcelHeader> headerMap = new HashMap<>();
+        private final int headRowNumber;
+        private int parseRowCount = 0;
+        private final List<Map<Integer, String>> headRows;
+        private final ConversionService conversionService;
+        private final Class<?> clazz;
+        private final CfgBeanDefinition beanDefinition;
+        private final RowSink<? super T> sink;
+        /**
+         * 映射到字段的列下标
+         */
+        private int[] mappedColumns = new int[0];
+        /**
+         * 按列下标保存的字段, 未映射的列为 {@code null}
+         */
+        private CfgBeanField[] columnFields = new CfgBeanField[0];
+        /**
+         * 按列下标保存的构造参数位置
+         */
+        private int[] parameterIndexes = new int[0];
+        private Constructor<?> constructor;
+        /**
+         * 编译期生成的行工厂, 参数与 {@link #constructor} 一致时代替反射调用构造器
+         */
+        private TableDescriptor<T> rowFactory;
+        private final MemoryBudget budget;
+        private int rowCount;
+        /**
+         * 流水线模式下每批交给工作线程的行数, 0 表示在解析线程上直接转换
+         */
+        private final int batchSize;
+        private final int maxInFlight;
+        private List<CellRow> batch;
+        private final Deque<ForkJoinTask<Converted<T>>> inFlight = new ArrayDeque<>();
+        /**
+         * 按行顺序收集的转换错误, 只保留前 {@link #MAX_REPORTED_ERRORS} 条
+         */
+        private final List<RowError> errors = new ArrayList<>();
+        private final Consumer<RowError> onFailure = this::failed;
+        private int errorCount;
+
+        public CfgExcelTableParseListener(int headRowNumber, Class<?> clazz, ConversionService conversionService,
+                                          RowSink<? super T> sink, MemoryBudget budget, int batchSize) {
+            this.headRowNumber = headRowNumber;
+            this.clazz = clazz;
+            this.sink = sink;
+            this.budget = budget;
+            this.batchSize = batchSize;
+            this.maxInFlight = ForkJoinPool.commonPool().getParallelism() * 2;
+            this.batch = batchSize > 0 ? new ArrayList<>(batchSize) : null;
+            this.conversionService = conversionService;
+            this.headRows = new ArrayList<>(headRowNumber);
+            this.beanDefinition = new CfgBeanDefinition(clazz);
+        }
+
+        @Override
+        public void invokeHeadMap(Map<Integer, String> headMap, AnalysisContext context) {
+            if (parseRowCount < headRowNumber) {
+                parseRowCount++;
+                headRows.add(headMap);
+            }
+
+            if (parseRowCount == headRowNumber) {
+                onHeadRowParsePost();
+            }
+        }
+
+        /**
+         * 当头部数据解析完成
+         */
+        private void onHeadRowParsePost() {
+            // 字段描述
+            Map<Integer, String> descMap = headRows.get(0);
+            // 字段名称
+            Map<Integer, String> nameMap = headRows.get(1);
+
+            int colSize = nameMap.size();
+
+            for (int col = 0; col < colSize; col++) {
+                ExcelHeader header = new ExcelHeader();
+                header.setCol(col);
+                header.setName(nameMap.get(col));
+                header.setDescription(descMap.get(col));
+
+                headerMap.put(col, header);
+            }
+            bindColumns(colSize);
+        }
+
+        /**
+         * 根据表头解析列与字段、构造参数的对应关系, 并且只查找一次构造器
+         */
+        private void bindColumns(int colSize) {
+            Map<String, Integer> parameterMap = new HashMap<>(beanDefinition.getFieldSize());
+            for (int i = 0; i < beanDefinition.getFieldSize(); i++) {
+                parameterMap.put(beanDefinition.getName(i), i);
+            }
+
+            CfgBeanField[] fields = new CfgBeanField[colSize];
+            int[] indexes = new int[colSize];
+            int[] mapped = new int[colSize];
+            int mappedCount = 0;
+            for (int col = 0; col < colSize; col++) {
+                String name = headerMap.get(col).getName();
+                CfgBeanField field = name != null ? beanDefinition.getField(name) : null;
+                if (field != null) {
+                    fields[col] = field;
+                    indexes[col] = parameterMap.get(field.getName());
+                    mapped[mappedCount++] = col;
+                }
+            }
+            this.columnFields = fields;
+            this.parameterIndexes = indexes;
+            this.mappedColumns = Arrays.copyOf(mapped, mappedCount);
+
+            try {
+                this.constructor = clazz.getConstructor(beanDefinition.getConstructorParameterTypes());
+                this.rowFactory = TableDescriptors.findRowFactory((Class<T>) clazz, constructor);
+            } catch (NoSuchMethodException e) {
+                log.error("Please ensure that the constructor contains all parameters or recommend using the record class for definition table class", e);
+            }
+        }
+
+        @Override
+        public void invoke(Map<Integer, ReadCellData<?>> data, AnalysisContext context) {
+            if (++rowCount % MEMORY_CHECK_INTERVAL == 0 && budget.exceeded()) {
+                String message = String.format("Excel table %s exceeded the reload memory budget of %d MB at row %d, heap grew %d MB",
+                        clazz.getSimpleName(), budget.getLimitMegabytes(), context.readRowHolder().getRowIndex() + 1,
+                        budget.getPeakMegabytes());
+                log.error(message);
+                throw new AbortReadException(new TableReadException(message));
+            }
+            if (constructor == null) {
+                return;
+            }
+            int rowNumber = context.readRowHolder().getRowIndex() + 1;
+            String[] values;
+            try {
+                values = readCells(data, context);
+            } catch (Exception e) {
+                failed(new RowError(rowNumber, null, e));
+                return;
+            }
+            if (batchSize <= 0) {
+                T instance = convert(rowNumber, values, onFailure);
+                if (instance != null) {
+                    sink.accept(instance);
+                }
+                return;
+            }
+            batch.add(new CellRow(rowNumber, values));
+            if (batch.size() >= batchSize) {
+                submitBatch();
+            }
+        }
+
+        /**
+         * 在解析线程上读取映射列的单元格文本, 单元格格式化依赖解析上下文, 不能交给其他线程
+         *
+         * @return 按映射列顺序排列的单元格文本
+         */
+        private String[] readCells(Map<Integer, ReadCellData<?>> data, AnalysisContext context) {
+            Map<ConverterKeyBuild.ConverterKey, Converter<?>> converterMap = context.currentReadHolder().converterMap();
+            Integer rowIndex = context.readRowHolder().getRowIndex();
+            String[] values = new String[mappedColumns.length];
+            for (int i = 0; i < mappedColumns.length; i++) {
+                int col = mappedColumns[i];
+                ReadCellData<?> cell = data.get(col);
+                values[i] = cell == null || cell.getType() == CellDataTypeEnum.EMPTY ? null
+                        : (String) ConverterUtils.convertToJavaObject(cell, null, null, converterMap, context, rowIndex, col);
+            }
+            return values;
+        }
+
+        /**
+         * 类型转换并创建对象, 可以在工作线程上执行
+         *
+         * @param rowNumber 行号, 从 1 开始
+         * @param values    按映射列顺序排列的单元格文本
+         * @param failures  转换错误
+         * @return 对象, 转换失败时返回 {@code null}
+         */
+        private T convert(int rowNumber, String[] values, Consumer<RowError> failures) {
+            Object[] params = new Object[constructor.getParameterCount()];
+            String column = null;
+            try {
+                // 需要把这一行的数据转换为 Bean 对象, 只处理映射到字段的列
+                for (int i = 0; i < mappedColumns.length; i++) {
+                    int col = mappedColumns[i];
+                    CfgBeanField field = columnFields[col];
+                    String value = values[i];
+                    column = field.getName();
+                    if (value != null && !value.isEmpty()) {
+                        params[parameterIndexes[col]] = conversionService.convert(value, field.getTypeDescriptor());
+                    } else if (field.isPrimitive()) {
+                        // 如果是原始类型的则不能为null,需要使用默认值进行填充
+                        params[parameterIndexes[col]] = TypeUtils.getPrimitiveValue(field.getType());
+                    }
+                }
+                column = null;
+                return rowFactory != null ? rowFactory.newRow(params) : (T) constructor.newInstance(params);
+            } catch (Exception e) {
+                failures.accept(new RowError(rowNumber, column, e));
+                return null;
+            }
+        }
+
+        /**
+         * 在工作线程上转换一批行, 转换错误随结果一起返回, 由解析线程按行顺序收集
+         */
+        private Converted<T> convertBatch(List<CellRow> rows) {
+            List<T> result = new ArrayList<>(rows.size());
+            List<RowError> failures = new ArrayList<>(0);
+            for (CellRow row : rows) {
+                T instance = convert(row.rowNumber(), row.values(), failures::add);
+                if (instance != null) {
+                    result.add(instance);
+                }
+            }
+            return new Converted<>(result, failures);
+        }
+
+        private void failed(RowError error) {
+            if (errorCount++ < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        /**
+         * 把当前批次交给工作线程转换, 然后按行顺序推送已经完成的批次. 未完成的批次过多时等待最早的一批,
+         * 避免解析远远快于转换时积压过多的行.
+         */
+        private void submitBatch() {
+            List<CellRow> rows = batch;
+            batch = new ArrayList<>(batchSize);
+            inFlight.add(ForkJoinPool.commonPool().submit(() -> convertBatch(rows)));
+            while (!inFlight.isEmpty() && (inFlight.peek().isDone() || inFlight.size() > maxInFlight)) {
+                emit(inFlight.poll().join());
+            }
+        }
+
+        private void emit(Converted<T> converted) {
+            for (RowError error : converted.errors()) {
+                failed(error);
+            }
+            for (T row : converted.rows()) {
+                sink.accept(row);
+            }
+        }
+
+        @Override
+        public void doAfterAllAnalysed(AnalysisContext analysisContext) {
+            if (batch != null && !batch.isEmpty()) {
+                submitBatch();
+            }
+            while (!inFlight.isEmpty()) {
+                emit(inFlight.poll().join());
+            }
+            if (errorCount > 0) {
+                StringBuilder sb = new StringBuilder(128);
+                sb.append(String.format("Excel table %s has %d invalid rows", clazz.getSimpleName(), errorCount));
+                for (RowError error : errors) {
+                    sb.append(System.lineSeparator()).append("  ").append(error);
+                }
+                throw new AbortReadException(new TableReadException(sb.toString(), errors.get(0).cause()));
+            }
+        }
+    }
+
+    /**
+     * 一行映射列的单元格文本
+     *
+     * @param rowNumber 行号, 从 1 开始
+     * @param values    按映射列顺序排列的单元格文本
+     */
+    private record CellRow(int rowNumber, String[] values) {
+    }
+
+    /**
+     * 一批行的转换结果
+     *
+     * @param rows   转换成功的对象
+     * @param errors 转换失败的行
+     */
+    private record Converted<T>(List<T> rows, List<RowError> errors) {
+    }
+
+    /**
+     * 一行的转换错误
+     *
+     * @param rowNumber 行号, 从 1 开始
+     * @param column    转换失败的字段, 创建对象失败时为 {@code null}
+     * @param cause     异常
+     */
+    private record RowError(int rowNumber, String column, Exception cause) {
+
+        @Override
+        public String toString() {
+            Throwable root = cause;
+            while (root.getCause() != null && root.getCause() != root) {
+                root = root.getCause();
+            }
+            String message = root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+            return column != null ? String.format("row %d column %s: %s", rowNumber, column, message)
+                    : String.format("row %d: %s", rowNumber, message);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.think.table.reader;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.think.table.exception.TableReadException;
+import com.think.table.properties.JsonProperties;
+import com.think.table.reader.util.BufferUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON Lines table reader implementation, 每行一个对象, 空白行会被忽略.
+ * <p>文件整体映射到内存后按换行切分, 行之间没有嵌套关系, 切分时只需要从块的预计结束位置向后找到
+ * 下一个换行, 不需要扫描整个文件. 各块在 ForkJoin 公共线程池中用同一个 {@link ObjectReader} 解码,
+ * 结果按文件顺序推送, 行号在合并时按前面各块的行数还原.</p>
+ *
+ * @author veione
+ */
+public class JsonLinesTableReader extends JsonTableReader {
+    /**
+     * 并行解析时每块的最小字节数
+     */
+    private static final int MIN_CHUNK_SIZE = 256 * 1024;
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+    private final boolean parallel;
+    private final int parallelThreshold;
+
+    public JsonLinesTableReader() {
+        this(new JsonProperties());
+    }
+
+    public JsonLinesTableReader(JsonProperties properties) {
+        super(properties);
+        this.parallel = properties.isParallel();
+        this.parallelThreshold = properties.getParallelThreshold();
+    }
+
+    @Override
+    public <T> List<T> read(InputStream inputStream, Class<T> clazz) throws TableReadException {
+        List<T> dataList = new ArrayList<>(32);
+        read(inputStream, clazz, dataList::add);
+        return dataList;
+    }
+
+    @Override
+    public <T> void read(InputStream inputStream, Class<T> clazz, RowSink<? super T> sink) throws TableReadException {
+        ObjectReader reader = objectReader(clazz);
+        try (InputStream in = inputStream) {
+            ByteBuffer buffer = BufferUtils.readFully(in);
+            BufferUtils.skipBom(buffer);
+            if (parallel && buffer.remaining() >= parallelThreshold) {
+                readChunks(reader, buffer, clazz, sink);
+                return;
+            }
+            try {
+                decode(reader, buffer, buffer.position(), buffer.limit(), sink);
+            } catch (LineException e) {
+                throw parseFailed(clazz, e.line, e);
+            }
+        } catch (IOException e) {
+            throw new TableReadException(e);
+        }
+    }
+
+    /**
+     * 按换行切分后并行解码各块, 再按文件顺序把结果推送给 sink. 任意一块失败时按文件顺序报告第一个错误.
+     */
+    private <T> void readChunks(ObjectReader reader, ByteBuffer buffer, Class<T> clazz,
+                                RowSink<? super T> sink) throws TableReadException {
+        int chunkSize = BufferUtils.chunkSize(buffer.remaining(), MIN_CHUNK_SIZE);
+        List<BufferUtils.Chunk<Chunk<T>>> chunks = new ArrayList<>();
+        int start = buffer.position();
+        while (start < buffer.limit()) {
+            int end = lineEnd(buffer, (int) Math.min((long) start + chunkSize, buffer.limit()));
+            int chunkStart = start;
+            chunks.add(() -> {
+                List<T> rows = new ArrayList<>(Math.max(16, (end - chunkStart) >> 7));
+                try {
+                    return new Chunk<>(rows, JsonLinesTableReader.<T>decode(reader, buffer, chunkStart, end, rows::add), null);
+                } catch (LineException e) {
+                    return new Chunk<>(rows, 0, e);
+                }
+            });
+            start = end;
+        }
+        long[] linesRead = new long[1];
+        BufferUtils.runOrdered(chunks, chunk -> {
+            // 失败行的行号只有在前面各块的行数都确定后才能还原
+            if (chunk.failure() != null) {
+                throw parseFailed(clazz, linesRead[0] + chunk.failure().line, chunk.failure());
+            }
+            for (T row : chunk.rows()) {
+                sink.accept(row);
+            }
+            linesRead[0] += chunk.lines();
+        });
+    }
+
+    /**
+     * @return from 之后第一个换行的下一个位置, 没有换行时返回缓冲区末尾
+     */
+    private static int lineEnd(ByteBuffer buffer, int from) {
+        int limit = buffer.limit();
+        for (int pos = Math.max(0, from); pos < limit; pos++) {
+            if (buffer.get(pos) == LF) {
+                return pos + 1;
+            }
+        }
+        return limit;
+    }
+
+    /**
+     * 逐行解码 [start, end) 区间
+     *
+     * @return 区间内的物理行数
+     * @throws LineException 某一行解码失败, 行号相对于区间开始
+     */
+    private static <T> int decode(ObjectReader reader, ByteBuffer buffer, int start, int end,
+                                  RowSink<? super T> sink) throws LineException {
+        byte[] array = buffer.hasArray() ? buffer.array() : null;
+        int offset = buffer.hasArray() ? buffer.arrayOffset() : 0;
+        byte[] scratch = array == null ? new byte[256] : null;
+        int lines = 0;
+        int pos = start;
+        while (pos < end) {
+            int lineStart = pos;
+            while (pos < end && buffer.get(pos) != LF) {
+                pos++;
+            }
+            int lineEnd = pos;
+            if (pos < end) {
+                pos++;
+            }
+            lines++;
+            while (lineEnd > lineStart && isWhitespace(buffer.get(lineEnd - 1))) {
+                lineEnd--;
+            }
+            while (lineStart < lineEnd && isWhitespace(buffer.get(lineStart))) {
+                lineStart++;
+            }
+            int length = lineEnd - lineStart;
+            if (length == 0) {
+                continue;
+            }
+            try {
+                T row;
+                if (array != null) {
+                    row = reader.readValue(array, offset + lineStart, length);
+                } else {
+                    if (scratch.length < length) {
+                        scratch = new byte[Math.max(length, scratch.length << 1)];
+                    }
+                    buffer.get(lineStart, scratch, 0, length);
+                    row = reader.readValue(scratch, 0, length);
+                }
+                sink.accept(row);
+            } catch (IOException e) {
+                throw new LineException(lines, e);
+            }
+        }
+        return lines;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == CR;
+    }
+
+    private static TableReadException parseFailed(Class<?> clazz, long line, LineException e) {
+        return new TableReadException(String.format("Json lines table %s line %d parse failed", clazz.getSimpleName(),
+                line), e.getCause());
+    }
+
+    @Override
+    public String getSuffix() {
+        return "jsonl";
+    }
+
+    /**
+     * 一块解码完成的数据
+     *
+     * @param rows    行对象
+     * @param lines   块内的物理行数
+     * @param failure 解码失败的行, 成功时为 {@code null}
+     */
+    private record Chunk<T>(List<T> rows, int lines, LineException failure) {
+    }
+
+    /**
+     * 某一行解码失败, 行号相对于所在块的开始位置
+     */
+    private static final class LineException extends Exception {
+        private final int line;
+
+        LineException(int line, Throwable cause) {
+            super(cause);
+            this.line = line;
+        }
+    }
+}
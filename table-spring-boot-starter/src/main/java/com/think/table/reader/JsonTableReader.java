@@ -0,0 +1,169 @@
+package com.think.table.reader;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.module.SimpleDeserializers;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.think.table.exception.TableReadException;
+import com.think.table.formula.FormulaCompiler;
+import com.think.table.properties.JsonProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON table reader implementation.
+ * <p>默认以流式方式逐个解析数组中的对象, 每个配置类复用同一个预先构建的 {@link ObjectReader}.</p>
+ *
+ * @author veione
+ */
+public class JsonTableReader implements TableReader {
+    private static final Logger log = LoggerFactory.getLogger(JsonTableReader.class);
+    private static final String BLACKBIRD_MODULE = "com.fasterxml.jackson.module.blackbird.BlackbirdModule";
+    private final ObjectMapper mapper;
+    private final boolean streaming;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public JsonTableReader() {
+        this(new JsonProperties());
+    }
+
+    public JsonTableReader(JsonProperties properties) {
+        this.streaming = properties.isStreaming();
+        this.mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.configure(DeserializationFeature.FAIL_ON_IGNORED_PROPERTIES, false);
+        mapper.registerModule(new ParameterNamesModule());
+        SimpleModule formulaModule = new SimpleModule("TableFormula");
+        formulaModule.setDeserializers(new FormulaDeserializers());
+        mapper.registerModule(formulaModule);
+        if (properties.isAccessorOptimization()) {
+            if (ClassUtils.isPresent(BLACKBIRD_MODULE, JsonTableReader.class.getClassLoader())) {
+                mapper.registerModule(Blackbird.module());
+            } else {
+                log.warn("Json accessor optimization enabled but {} not found in classpath, fallback to reflection", BLACKBIRD_MODULE);
+            }
+        }
+    }
+
+    @Override
+    public <T> List<T> read(InputStream inputStream, Class<T> clazz) throws TableReadException {
+        if (streaming) {
+            List<T> dataList = new ArrayList<>(32);
+            read(inputStream, clazz, dataList::add);
+            return dataList;
+        }
+        try {
+            return mapper.readValue(inputStream, mapper.getTypeFactory().constructCollectionType(List.class, clazz));
+        } catch (Exception e) {
+            throw new TableReadException(e);
+        }
+    }
+
+    /**
+     * 流式读取, 逐个解析数组中的对象并推送给 sink
+     *
+     * @param inputStream 输入流
+     * @param clazz       配置类
+     * @param sink        行消费者
+     * @param <T>
+     * @throws TableReadException 格式错误或者对象转换失败
+     */
+    public <T> void read(InputStream inputStream, Class<T> clazz, RowSink<? super T> sink) throws TableReadException {
+        ObjectReader reader = objectReader(clazz);
+        int row = 0;
+        try (JsonParser parser = mapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new TableReadException(String.format("Json table %s must be an array, location %s",
+                        clazz.getSimpleName(), parser.currentLocation()));
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                row++;
+                T item = reader.readValue(parser);
+                sink.accept(item);
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new TableReadException(String.format("Json table %s row %d is not an object, location %s",
+                        clazz.getSimpleName(), row + 1, parser.currentLocation()));
+            }
+        } catch (JsonProcessingException e) {
+            throw new TableReadException(String.format("Json table %s row %d parse failed", clazz.getSimpleName(), row), e);
+        } catch (TableReadException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new TableReadException(e);
+        }
+    }
+
+    /**
+     * @param clazz 配置类
+     * @return 配置类对应的读取器, 每个配置类只构建一次, 可以在多个线程中共享
+     */
+    protected ObjectReader objectReader(Class<?> clazz) {
+        return readers.computeIfAbsent(clazz, mapper::readerFor);
+    }
+
+    @Override
+    public String getSuffix() {
+        return "json";
+    }
+
+    /**
+     * 为 {@link com.think.table.annotation.Formula} 类型的字段提供反序列化器, 公式字符串在解析时编译
+     */
+    private static final class FormulaDeserializers extends SimpleDeserializers {
+        @Override
+        public JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config, BeanDescription beanDesc) {
+            Class<?> formulaType = type.getRawClass();
+            if (!FormulaCompiler.isFormulaType(formulaType)) {
+                return null;
+            }
+            return new StdScalarDeserializer<Object>(formulaType) {
+                @Override
+                public Object deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+                    String text = parser.getValueAsString();
+                    if (!StringUtils.hasText(text)) {
+                        return null;
+                    }
+                    try {
+                        return FormulaCompiler.compile(formulaType, text);
+                    } catch (IllegalArgumentException e) {
+                        throw InvalidFormatException.from(parser, e.getMessage(), text, formulaType);
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * 单独的类引用可选依赖, 未引入依赖时不会被加载
+     */
+    private static final class Blackbird {
+        static Module module() {
+            return new BlackbirdModule();
+        }
+    }
+}
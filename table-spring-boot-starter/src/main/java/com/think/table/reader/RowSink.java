@@ -0,0 +1,18 @@
+package com.think.table.reader;
+
+/**
+ * 行消费者, 读取器每解析出一行就推送一行, 调用方可以边解析边建立索引和校验, 不需要先缓存整张表.
+ *
+ * @param <T>
+ * @author veione
+ */
+@FunctionalInterface
+public interface RowSink<T> {
+
+    /**
+     * 接收一行数据
+     *
+     * @param row 行对象
+     */
+    void accept(T row);
+}
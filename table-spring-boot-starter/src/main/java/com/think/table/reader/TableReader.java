@@ -22,6 +22,22 @@ public interface TableReader {
      */
     <T> List<T> read(InputStream inputStream, Class<T> clazz) throws TableReadException;
 
+    /**
+     * Push each row to the sink as soon as it is converted, without buffering the whole table.
+     * The default implementation reads the whole list first, built-in readers override it.
+     *
+     * @param inputStream
+     * @param clazz
+     * @param sink
+     * @param <T>
+     * @throws TableReadException
+     */
+    default <T> void read(InputStream inputStream, Class<T> clazz, RowSink<? super T> sink) throws TableReadException {
+        for (T row : read(inputStream, clazz)) {
+            sink.accept(row);
+        }
+    }
+
     /**
      * Table file suffix.
      *
@@ -0,0 +1,58 @@
+package com.think.table.reader;
+
+import com.think.table.properties.TableProperties;
+import org.springframework.core.convert.ConversionService;
+
+/**
+ * Table reader factory.
+ *
+ * @author veione
+ */
+public class TableReaderFactory {
+    private final TableProperties properties;
+    private final ConversionService conversionService;
+
+    public TableReaderFactory(TableProperties properties, ConversionService conversionService) {
+        this.properties = properties;
+        this.conversionService = conversionService;
+    }
+
+    /**
+     * 创建所有格式的读取器, 按文件后缀注册, {@link TableProperties#getType()} 对应的读取器作为默认读取器.
+     * 构建时编译的二进制配置表以 {@value BinaryTableReader#SUFFIX} 后缀注册
+     *
+     * @return 读取器注册表
+     */
+    public TableReaderRegistry createTableReaders() {
+        TableReaderRegistry registry = new TableReaderRegistry(createTableReader(), properties.getResolutionOrder());
+        for (TableProperties.TableType type : TableProperties.TableType.values()) {
+            if (type != properties.getType()) {
+                registry.register(createTableReader(type));
+            }
+        }
+        registry.register(new BinaryTableReader());
+        return registry;
+    }
+
+    public TableReader createTableReader() {
+        return createTableReader(properties.getType());
+    }
+
+    private TableReader createTableReader(TableProperties.TableType type) {
+        switch (type) {
+            case CSV -> {
+                return new CsvTableReader(properties.getCsv(), conversionService);
+            }
+            case JSON -> {
+                return new JsonTableReader(properties.getJson());
+            }
+            case JSONL -> {
+                return new JsonLinesTableReader(properties.getJson());
+            }
+            case EXCEL -> {
+                return new ExcelTableReader(properties.getExcel(), conversionService);
+            }
+            default -> throw new IllegalArgumentException("Invalid table reader " + type);
+        }
+    }
+}
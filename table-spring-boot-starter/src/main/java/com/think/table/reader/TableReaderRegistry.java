@@ -0,0 +1,100 @@
+package com.think.table.reader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 按文件后缀注册的配置表读取器.
+ * <p>配置表可以通过 {@link com.think.table.annotation.CfgTable#format()} 指定格式, 未指定时按解析顺序
+ * 依次查找存在的文件, 解析顺序中把更快的格式放在前面, 性能敏感的表就可以单独提供快速格式,
+ * 其余的表继续使用默认格式.</p>
+ *
+ * @author veione
+ */
+public final class TableReaderRegistry {
+    private final Map<String, TableReader> readers = new LinkedHashMap<>();
+    private final TableReader defaultReader;
+    private final List<String> resolutionOrder;
+
+    /**
+     * @param defaultReader   默认读取器, 解析顺序中的格式都不存在时使用
+     * @param resolutionOrder 格式解析顺序, 为空时只使用默认读取器
+     */
+    public TableReaderRegistry(TableReader defaultReader, List<String> resolutionOrder) {
+        this.defaultReader = defaultReader;
+        this.resolutionOrder = List.copyOf(resolutionOrder);
+        register(defaultReader);
+    }
+
+    /**
+     * 只包含一个读取器的注册表
+     *
+     * @param reader 读取器
+     * @return 注册表
+     */
+    public static TableReaderRegistry of(TableReader reader) {
+        return new TableReaderRegistry(reader, Collections.emptyList());
+    }
+
+    /**
+     * 注册读取器, 相同后缀的读取器会被替换
+     *
+     * @param reader 读取器
+     * @return {@code this}
+     */
+    public TableReaderRegistry register(TableReader reader) {
+        readers.put(reader.getSuffix(), reader);
+        return this;
+    }
+
+    /**
+     * @param suffix 文件后缀
+     * @return 读取器, 不存在时返回 {@code null}
+     */
+    public TableReader getReader(String suffix) {
+        return readers.get(suffix);
+    }
+
+    public TableReader getDefaultReader() {
+        return defaultReader;
+    }
+
+    /**
+     * @return 已注册的文件后缀
+     */
+    public Set<String> getSuffixes() {
+        return Collections.unmodifiableSet(readers.keySet());
+    }
+
+    /**
+     * 按优先级返回配置表可以使用的读取器, 调用方依次查找第一个存在的文件
+     *
+     * @param format 配置表指定的格式, 为空时使用解析顺序
+     * @return 候选读取器, 最后一个总是默认读取器或者指定格式的读取器
+     * @throws IllegalArgumentException 指定的格式没有对应的读取器
+     */
+    public List<TableReader> candidates(String format) {
+        if (format != null && !format.isEmpty()) {
+            TableReader reader = readers.get(format);
+            if (reader == null) {
+                throw new IllegalArgumentException(String.format("Table format %s has no reader, available formats: %s",
+                        format, readers.keySet()));
+            }
+            return List.of(reader);
+        }
+        List<TableReader> candidates = new ArrayList<>(resolutionOrder.size() + 1);
+        for (String suffix : resolutionOrder) {
+            TableReader reader = readers.get(suffix);
+            if (reader != null && !candidates.contains(reader)) {
+                candidates.add(reader);
+            }
+        }
+        candidates.remove(defaultReader);
+        candidates.add(defaultReader);
+        return candidates;
+    }
+}
@@ -0,0 +1,14 @@
+package com.think.table.reader;
+
+/**
+ * 工作簿中的一个工作表与配置表的对应关系, 多个配置表可以放在同一个工作簿的不同工作表中,
+ * 由 {@link ExcelTableReader#read(java.io.InputStream, java.util.List)} 一次读取.
+ *
+ * @param sheetName 工作表名称, 为空时读取第一个工作表
+ * @param clazz     配置表类型
+ * @param sink      接收转换后的行
+ * @param <T>
+ * @author veione
+ */
+public record TableSheet<T>(String sheetName, Class<T> clazz, RowSink<? super T> sink) {
+}
@@ -63,6 +63,13 @@ public abstract class AbstractCSVParser implements ICSVParser {
      */
     protected String pending;
 
+    /**
+     * Columns whose values are materialized, {@code null} for all columns.
+     *
+     * @see #setProjection(boolean[])
+     */
+    protected boolean[] projection;
+
     /**
      * Common constructor.
      *
@@ -194,6 +201,19 @@ public abstract class AbstractCSVParser implements ICSVParser {
      */
     protected abstract String[] parseLine(String nextLine, boolean multi) throws IOException;
 
+    @Override
+    public void setProjection(boolean[] columns) {
+        this.projection = columns;
+    }
+
+    /**
+     * @param column The position of the column in the record
+     * @return Whether the column is outside the projection and can be skipped
+     */
+    protected boolean isProjectedOut(int column) {
+        return projection != null && column < projection.length && !projection[column];
+    }
+
     @Override
     public CSVReaderNullFieldIndicator nullFieldIndicator() {
         return nullFieldIndicator;
@@ -0,0 +1,12 @@
+package com.think.table.reader.csv;
+
+/**
+ * {@link ByteCSVParser#split} 切分出的一块数据, 起止位置都落在记录边界上
+ *
+ * @param start     块在缓冲区中的起始位置
+ * @param end       块在缓冲区中的结束位置(不包含)
+ * @param linesRead 块开始之前的物理行数, 用于还原行号
+ * @author veione
+ */
+public record ByteCSVChunk(int start, int end, long linesRead) {
+}
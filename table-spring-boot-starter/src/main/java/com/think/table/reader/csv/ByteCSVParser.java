@@ -0,0 +1,322 @@
+package com.think.table.reader.csv;
+
+import com.think.table.reader.csv.enums.CSVReaderNullFieldIndicator;
+import com.think.table.reader.csv.exceptions.CsvMalformedLineException;
+import com.think.table.reader.util.BufferUtils;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 直接在 UTF-8 字节上分词的解析器.
+ * <p>{@link #next(ByteBuffer, ByteCSVRecord)} 从一块完整的缓冲区(堆内数组或者内存映射文件)中逐条解析记录,
+ * 只记录字段的起止位置, 由 {@link ByteCSVRecord} 按需创建字符串或者直接解析数值, 跨行的引号字段
+ * 在缓冲区内一次完成, 不需要拼接多次读取的结果.</p>
+ * <p>分隔符、引号和转义符必须是 ASCII 字符, UTF-8 多字节字符的每个字节都不小于 0x80, 不会与它们混淆.
+ * 引号只在字段开头生效, 字段内部支持双写引号以及转义符后跟引号或者转义符两种写法.</p>
+ * <p>同时实现了 {@link ICSVParser} 的字符串接口, 可以直接交给 {@link CSVReader} 使用.</p>
+ *
+ * @author veione
+ */
+public class ByteCSVParser extends AbstractCSVParser {
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+    /**
+     * 分词结果: 缓冲区已经读完
+     */
+    private static final int END_OF_DATA = 0;
+    /**
+     * 分词结果: 读取到完整的记录
+     */
+    private static final int RECORD = 1;
+    /**
+     * 分词结果: 缓冲区结束时引号字段没有闭合
+     */
+    private static final int UNTERMINATED = 2;
+
+    private final byte separatorByte;
+    private final byte quoteByte;
+    private final byte escapeByte;
+
+    public ByteCSVParser(char separator) {
+        this(separator, DEFAULT_QUOTE_CHARACTER, DEFAULT_ESCAPE_CHARACTER, DEFAULT_NULL_FIELD_INDICATOR);
+    }
+
+    /**
+     * @param separator          分隔符
+     * @param quotechar          引号
+     * @param escape             转义符, {@link ICSVParser#NULL_CHARACTER} 表示不使用转义符
+     * @param nullFieldIndicator 空字段读取为 {@code null} 的规则
+     */
+    public ByteCSVParser(char separator, char quotechar, char escape, CSVReaderNullFieldIndicator nullFieldIndicator) {
+        super(separator, quotechar, nullFieldIndicator);
+        if (separator == quotechar || (escape != NULL_CHARACTER && (escape == separator || escape == quotechar))) {
+            throw new UnsupportedOperationException("The separator, quote, and escape characters must be different!");
+        }
+        this.separatorByte = ascii(separator, "separator");
+        this.quoteByte = ascii(quotechar, "quote");
+        this.escapeByte = escape == NULL_CHARACTER ? 0 : ascii(escape, "escape");
+    }
+
+    private static byte ascii(char c, String name) {
+        if (c == NULL_CHARACTER || c >= 0x80 || c == CR || c == LF) {
+            throw new IllegalArgumentException(String.format("Byte csv parser %s must be a printable ASCII character: %s", name, c));
+        }
+        return (byte) c;
+    }
+
+    /**
+     * 跳过开头的 UTF-8 BOM
+     *
+     * @param buffer 缓冲区
+     */
+    public static void skipBom(ByteBuffer buffer) {
+        BufferUtils.skipBom(buffer);
+    }
+
+    /**
+     * 跳过若干物理行, 不做分词
+     *
+     * @param buffer 缓冲区
+     * @param record 记录, 用于累计行号
+     * @param lines  行数
+     */
+    public void skipLines(ByteBuffer buffer, ByteCSVRecord record, int lines) {
+        int pos = buffer.position();
+        int limit = buffer.limit();
+        int lineStart = pos;
+        while (lines > 0 && pos < limit) {
+            if (buffer.get(pos++) == LF) {
+                record.newLine();
+                lines--;
+                lineStart = pos;
+            }
+        }
+        if (lines > 0 && pos > lineStart) {
+            // 最后一行没有换行符
+            record.newLine();
+        }
+        buffer.position(pos);
+    }
+
+    /**
+     * 按记录边界把缓冲区切分为若干块, 用于并行解析. 切分时顺序扫描一遍字节, 只跟踪引号状态和换行,
+     * 不记录字段, 切分点不会落在跨行的引号字段内部, 同时得到每块开始之前的行数.
+     *
+     * @param buffer    缓冲区, 从当前位置切分到结尾, 不改变缓冲区位置
+     * @param linesRead 当前位置之前的物理行数
+     * @param chunkSize 每块的目标字节数
+     * @return 按文件顺序排列的块
+     */
+    public List<ByteCSVChunk> split(ByteBuffer buffer, long linesRead, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        int pos = buffer.position();
+        int limit = buffer.limit();
+        List<ByteCSVChunk> chunks = new ArrayList<>(Math.max(1, (limit - pos) / chunkSize + 1));
+        int chunkStart = pos;
+        long chunkLines = linesRead;
+        long lines = linesRead;
+        boolean fieldStart = true;
+        boolean quoted = false;
+        while (pos < limit) {
+            byte b = buffer.get(pos++);
+            if (quoted) {
+                if (b == quoteByte) {
+                    if (pos < limit && buffer.get(pos) == quoteByte) {
+                        pos++;
+                    } else {
+                        quoted = false;
+                    }
+                } else if (b == escapeByte && escapeByte != 0 && pos < limit
+                        && (buffer.get(pos) == quoteByte || buffer.get(pos) == escapeByte)) {
+                    pos++;
+                } else if (b == LF) {
+                    lines++;
+                }
+            } else if (b == LF) {
+                lines++;
+                fieldStart = true;
+                if (pos - chunkStart >= chunkSize) {
+                    chunks.add(new ByteCSVChunk(chunkStart, pos, chunkLines));
+                    chunkStart = pos;
+                    chunkLines = lines;
+                }
+            } else if (b == separatorByte) {
+                fieldStart = true;
+            } else {
+                quoted = fieldStart && b == quoteByte;
+                fieldStart = false;
+            }
+        }
+        if (chunkStart < limit) {
+            chunks.add(new ByteCSVChunk(chunkStart, limit, chunkLines));
+        }
+        return chunks;
+    }
+
+    /**
+     * 从缓冲区当前位置解析下一条记录, 完成后缓冲区位置移动到下一条记录开头
+     *
+     * @param buffer 缓冲区
+     * @param record 复用的记录对象
+     * @return 是否读取到记录, 缓冲区读完时返回 {@code false}
+     * @throws CsvMalformedLineException 引号字段没有闭合或者闭合引号后面跟了其他字符
+     */
+    public boolean next(ByteBuffer buffer, ByteCSVRecord record) throws CsvMalformedLineException {
+        int start = buffer.position();
+        int result = tokenize(buffer, record);
+        if (result == UNTERMINATED) {
+            throw new CsvMalformedLineException("Unterminated quoted field at end of CSV data",
+                    record.getLineNumber(), context(buffer, start));
+        }
+        return result == RECORD;
+    }
+
+    private int tokenize(ByteBuffer buffer, ByteCSVRecord record) throws CsvMalformedLineException {
+        int pos = buffer.position();
+        int limit = buffer.limit();
+        if (pos >= limit) {
+            return END_OF_DATA;
+        }
+        record.begin(buffer, quoteByte, escapeByte);
+        int recordStart = pos;
+        while (true) {
+            int start = pos;
+            int end;
+            byte flag = 0;
+            if (buffer.get(pos) == quoteByte) {
+                flag = ByteCSVRecord.FLAG_QUOTED;
+                start = ++pos;
+                while (true) {
+                    if (pos >= limit) {
+                        buffer.position(recordStart);
+                        return UNTERMINATED;
+                    }
+                    byte b = buffer.get(pos);
+                    if (b == quoteByte) {
+                        if (pos + 1 < limit && buffer.get(pos + 1) == quoteByte) {
+                            flag |= ByteCSVRecord.FLAG_ESCAPED;
+                            pos += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    if (b == escapeByte && escapeByte != 0 && pos + 1 < limit) {
+                        byte next = buffer.get(pos + 1);
+                        if (next == quoteByte || next == escapeByte) {
+                            flag |= ByteCSVRecord.FLAG_ESCAPED;
+                            pos += 2;
+                            continue;
+                        }
+                    }
+                    if (b == LF) {
+                        record.newLine();
+                    }
+                    pos++;
+                }
+                end = pos++;
+                if (pos < limit && buffer.get(pos) == CR && (pos + 1 == limit || buffer.get(pos + 1) == LF)) {
+                    pos++;
+                }
+                if (pos < limit && buffer.get(pos) != separatorByte && buffer.get(pos) != LF) {
+                    throw new CsvMalformedLineException("Unexpected character after closing quote",
+                            record.getLineNumber(), context(buffer, recordStart));
+                }
+            } else {
+                while (pos < limit) {
+                    byte b = buffer.get(pos);
+                    if (b == separatorByte || b == LF) {
+                        break;
+                    }
+                    pos++;
+                }
+                end = pos;
+                if (end > start && buffer.get(end - 1) == CR && (pos == limit || buffer.get(pos) == LF)) {
+                    end--;
+                }
+            }
+            record.add(start, end, flag);
+
+            if (pos >= limit) {
+                record.newLine();
+                buffer.position(limit);
+                return RECORD;
+            }
+            if (buffer.get(pos) == LF) {
+                record.newLine();
+                buffer.position(pos + 1);
+                return RECORD;
+            }
+            // 分隔符
+            pos++;
+            if (pos >= limit) {
+                record.add(pos, pos, (byte) 0);
+                record.newLine();
+                buffer.position(limit);
+                return RECORD;
+            }
+        }
+    }
+
+    private static String context(ByteBuffer buffer, int start) {
+        int length = Math.min(CSVReader.CONTEXT_MULTILINE_EXCEPTION_MESSAGE_SIZE, buffer.limit() - start);
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected String[] parseLine(String nextLine, boolean multi) throws IOException {
+        if (!multi && pending != null) {
+            pending = null;
+        }
+        if (nextLine == null) {
+            return null;
+        }
+        String text = pending != null ? pending + nextLine : nextLine;
+        pending = null;
+
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        ByteCSVRecord record = new ByteCSVRecord(nullFieldIndicator);
+        int result = tokenize(buffer, record);
+        if (result == UNTERMINATED) {
+            if (!multi) {
+                throw new CsvMalformedLineException("Unterminated quoted field at end of CSV line",
+                        0, StringUtils.abbreviate(text, CSVReader.CONTEXT_MULTILINE_EXCEPTION_MESSAGE_SIZE));
+            }
+            // 保留整条记录, 下一行到来后重新分词
+            pending = text + NEWLINE;
+            return ArrayUtils.EMPTY_STRING_ARRAY;
+        }
+        return result == RECORD ? toArray(record) : new String[]{nullFieldIndicator == CSVReaderNullFieldIndicator.NEITHER
+                || nullFieldIndicator == CSVReaderNullFieldIndicator.EMPTY_QUOTES ? "" : null};
+    }
+
+    /**
+     * 只为投影内的列创建字符串, 第一列总是保留, 用于识别空行
+     */
+    private String[] toArray(ByteCSVRecord record) {
+        String[] values = new String[record.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i > 0 && isProjectedOut(i) ? StringUtils.EMPTY : record.getString(i);
+        }
+        return values;
+    }
+
+    @Override
+    protected String convertToCsvValue(String value, boolean applyQuotesToAll) {
+        String text = StringUtils.defaultString(value);
+        boolean containsQuote = text.indexOf(quotechar) >= 0;
+        boolean surroundWithQuotes = applyQuotesToAll || containsQuote
+                || isSurroundWithQuotes(value, text.indexOf(separator) >= 0);
+        String converted = containsQuote ? quoteMatcherPattern.matcher(text).replaceAll(quoteDoubledAsString) : text;
+        return surroundWithQuotes ? quotecharAsString + converted + quotecharAsString : converted;
+    }
+}
@@ -0,0 +1,374 @@
+package com.think.table.reader.csv;
+
+import com.think.table.reader.csv.enums.CSVReaderNullFieldIndicator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * {@link ByteCSVParser} 解析出的一条记录, 只保存各字段在缓冲区中的起止位置, 不复制数据.
+ * <p>字段在被访问时才会创建字符串, 数值字段可以直接从字节解析. 对象会被下一次解析复用,
+ * 因此不能在解析下一条记录之后继续访问.</p>
+ *
+ * @author veione
+ */
+public final class ByteCSVRecord {
+    private static final double[] DOUBLE_POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final float[] FLOAT_POW10 = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
+    /**
+     * double 可以精确表示的最大整数
+     */
+    private static final long DOUBLE_EXACT_MANTISSA = 1L << 53;
+    /**
+     * float 可以精确表示的最大整数
+     */
+    private static final long FLOAT_EXACT_MANTISSA = 1L << 24;
+
+    static final byte FLAG_QUOTED = 1;
+    static final byte FLAG_ESCAPED = 2;
+
+    private final CSVReaderNullFieldIndicator nullFieldIndicator;
+    private ByteBuffer buffer;
+    private byte quote;
+    private byte escape;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private byte[] flags = new byte[16];
+    private int size;
+    private long lineNumber;
+    private long linesRead;
+    private byte[] scratch = new byte[64];
+
+    public ByteCSVRecord() {
+        this(ICSVParser.DEFAULT_NULL_FIELD_INDICATOR);
+    }
+
+    public ByteCSVRecord(CSVReaderNullFieldIndicator nullFieldIndicator) {
+        this(nullFieldIndicator, 0);
+    }
+
+    /**
+     * @param nullFieldIndicator 空字段读取为 {@code null} 的规则
+     * @param linesRead          开始解析位置之前的物理行数, 从文件中间开始解析时用于还原行号
+     */
+    public ByteCSVRecord(CSVReaderNullFieldIndicator nullFieldIndicator, long linesRead) {
+        this.nullFieldIndicator = nullFieldIndicator;
+        this.linesRead = linesRead;
+    }
+
+    void begin(ByteBuffer buffer, byte quote, byte escape) {
+        this.buffer = buffer;
+        this.quote = quote;
+        this.escape = escape;
+        this.size = 0;
+        this.lineNumber = linesRead + 1;
+    }
+
+    void add(int start, int end, byte flag) {
+        if (size == starts.length) {
+            int capacity = size << 1;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        flags[size] = flag;
+        size++;
+    }
+
+    void newLine() {
+        linesRead++;
+    }
+
+    /**
+     * @return 字段数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 记录开始所在的物理行号, 从 1 开始
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return 到目前为止已经读取的物理行数
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * @return 是否为空行
+     */
+    public boolean isEmptyLine() {
+        return size == 0 || (size == 1 && ends[0] == starts[0] && flags[0] == 0);
+    }
+
+    /**
+     * @param col 列下标
+     * @return 字段是否没有内容
+     */
+    public boolean isEmpty(int col) {
+        return ends[col] == starts[col];
+    }
+
+    /**
+     * @param col 列下标
+     * @return 字段是否应该按 {@link CSVReaderNullFieldIndicator} 读取为 {@code null}
+     */
+    public boolean isNull(int col) {
+        if (ends[col] != starts[col]) {
+            return false;
+        }
+        boolean quoted = (flags[col] & FLAG_QUOTED) != 0;
+        return switch (nullFieldIndicator) {
+            case EMPTY_SEPARATORS -> !quoted;
+            case EMPTY_QUOTES -> quoted;
+            case BOTH -> true;
+            case NEITHER -> false;
+        };
+    }
+
+    /**
+     * 解码字段内容, 只在调用时创建字符串
+     *
+     * @param col 列下标
+     * @return 字段内容
+     */
+    public String getString(int col) {
+        if (isNull(col)) {
+            return null;
+        }
+        int start = starts[col];
+        int length = ends[col] - start;
+        if (length == 0) {
+            return "";
+        }
+        if ((flags[col] & FLAG_ESCAPED) != 0) {
+            return unescape(start, ends[col]);
+        }
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = scratch(length);
+        buffer.get(start, bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private String unescape(int start, int end) {
+        byte[] bytes = scratch(end - start);
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if ((b == quote || b == escape) && i + 1 < end) {
+                byte next = buffer.get(i + 1);
+                if (next == quote || (b == escape && next == escape)) {
+                    b = next;
+                    i++;
+                }
+            }
+            bytes[length++] = b;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private byte[] scratch(int length) {
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length << 1)];
+        }
+        return scratch;
+    }
+
+    /**
+     * 直接从字节解析十进制整数, 允许首尾空白
+     *
+     * @param col 列下标
+     * @return 整数值
+     * @throws NumberFormatException 不是十进制整数或者超出 long 范围
+     */
+    public long getLong(int col) {
+        int pos = skipLeading(starts[col], ends[col]);
+        int end = skipTrailing(pos, ends[col]);
+        if ((flags[col] & FLAG_ESCAPED) != 0 || pos == end) {
+            throw numberFormat(col);
+        }
+        boolean negative = false;
+        byte first = buffer.get(pos);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++pos == end) {
+                throw numberFormat(col);
+            }
+        }
+        // 以负数累加, 可以表示 Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; pos < end; pos++) {
+            int digit = buffer.get(pos) - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                throw numberFormat(col);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw numberFormat(col);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * @param col 列下标
+     * @return 整数值
+     * @throws NumberFormatException 不是十进制整数或者超出 int 范围
+     */
+    public int getInt(int col) {
+        long value = getLong(col);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw numberFormat(col);
+        }
+        return (int) value;
+    }
+
+    /**
+     * 直接从字节解析浮点数. 有效数字不超过 15 位并且不带指数时在字节上完成计算, 结果与
+     * {@link Double#parseDouble(String)} 一致, 其他写法回退为字符串解析.
+     *
+     * @param col 列下标
+     * @return 浮点数值
+     * @throws NumberFormatException 不是合法的数字
+     */
+    public double getDouble(int col) {
+        int pos = skipLeading(starts[col], ends[col]);
+        int end = skipTrailing(pos, ends[col]);
+        long mantissa = decimalMantissa(pos, end, DOUBLE_EXACT_MANTISSA);
+        if (mantissa != Long.MIN_VALUE) {
+            int scale = decimalScale(pos, end);
+            if (scale < DOUBLE_POW10.length) {
+                double value = mantissa / DOUBLE_POW10[scale];
+                return isNegative(pos) ? -value : value;
+            }
+        }
+        return Double.parseDouble(requireString(col));
+    }
+
+    /**
+     * @param col 列下标
+     * @return 浮点数值
+     * @throws NumberFormatException 不是合法的数字
+     * @see #getDouble(int)
+     */
+    public float getFloat(int col) {
+        int pos = skipLeading(starts[col], ends[col]);
+        int end = skipTrailing(pos, ends[col]);
+        long mantissa = decimalMantissa(pos, end, FLOAT_EXACT_MANTISSA);
+        if (mantissa != Long.MIN_VALUE) {
+            int scale = decimalScale(pos, end);
+            if (scale < FLOAT_POW10.length) {
+                float value = mantissa / FLOAT_POW10[scale];
+                return isNegative(pos) ? -value : value;
+            }
+        }
+        return Float.parseFloat(requireString(col));
+    }
+
+    /**
+     * 解析 [-+]digits[.digits] 形式的数字, 去掉小数点后作为整数返回
+     *
+     * @return 整数部分, 格式不符或者超过 max 时返回 {@link Long#MIN_VALUE}
+     */
+    private long decimalMantissa(int pos, int end, long max) {
+        if (pos < end && (buffer.get(pos) == '-' || buffer.get(pos) == '+')) {
+            pos++;
+        }
+        long mantissa = 0;
+        boolean digits = false;
+        boolean point = false;
+        for (; pos < end; pos++) {
+            byte b = buffer.get(pos);
+            if (b == '.' && !point) {
+                point = true;
+                continue;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            mantissa = mantissa * 10 + digit;
+            if (mantissa > max) {
+                return Long.MIN_VALUE;
+            }
+            digits = true;
+        }
+        return digits ? mantissa : Long.MIN_VALUE;
+    }
+
+    private int decimalScale(int pos, int end) {
+        for (int i = pos; i < end; i++) {
+            if (buffer.get(i) == '.') {
+                return end - i - 1;
+            }
+        }
+        return 0;
+    }
+
+    private boolean isNegative(int pos) {
+        return buffer.get(pos) == '-';
+    }
+
+    private String requireString(int col) {
+        String value = getString(col);
+        if (value == null) {
+            throw numberFormat(col);
+        }
+        return value;
+    }
+
+    private int skipLeading(int pos, int end) {
+        while (pos < end && isWhitespace(buffer.get(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private int skipTrailing(int start, int end) {
+        while (end > start && isWhitespace(buffer.get(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private NumberFormatException numberFormat(int col) {
+        return new NumberFormatException(String.format("For input string: \"%s\" (line %d, column %d)",
+                getString(col), lineNumber, col + 1));
+    }
+
+    /**
+     * @return 所有字段的字符串形式
+     */
+    public String[] toArray() {
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = getString(i);
+        }
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", Arrays.asList(toArray()));
+    }
+}
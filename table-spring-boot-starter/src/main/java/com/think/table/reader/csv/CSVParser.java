@@ -70,6 +70,10 @@ public class CSVParser extends AbstractCSVParser {
      */
     private final boolean ignoreQuotations;
     private int tokensOnLastCompleteLine = -1;
+    /**
+     * Number of fields already returned for the record continued by {@link #pending}
+     */
+    private int tokensOnPendingLines = 0;
     private boolean inField = false;
 
     /**
@@ -210,10 +214,12 @@ public class CSVParser extends AbstractCSVParser {
         final StringFragmentCopier sfc = new StringFragmentCopier(nextLine);
         boolean inQuotes = false;
         boolean fromQuotedField = false;
+        int firstColumn = 0;
         if (pending != null) {
             sfc.append(pending);
             pending = null;
             inQuotes = !this.ignoreQuotations;
+            firstColumn = tokensOnPendingLines;
         }
 
         while (!sfc.isEmptyInput()) {
@@ -239,7 +245,7 @@ public class CSVParser extends AbstractCSVParser {
                 }
                 inField = !inField;
             } else if (c == separator && !(inQuotes && !ignoreQuotations)) {
-                tokensOnThisLine.add(convertEmptyToNullIfNeeded(sfc.takeOutput(), fromQuotedField));
+                tokensOnThisLine.add(takeToken(sfc, firstColumn + tokensOnThisLine.size(), fromQuotedField));
                 fromQuotedField = false;
                 inField = false;
             } else {
@@ -258,6 +264,7 @@ public class CSVParser extends AbstractCSVParser {
                     // continuing a quoted section, re-append newline
                     sfc.append('\n');
                     pending = sfc.peekOutput();
+                    tokensOnPendingLines = firstColumn + tokensOnThisLine.size();
                     break line_done; // this partial content is not to be added to field list yet
                 } else {
                     throw new IOException(String.format(
@@ -268,7 +275,7 @@ public class CSVParser extends AbstractCSVParser {
                 inField = false;
             }
 
-            tokensOnThisLine.add(convertEmptyToNullIfNeeded(sfc.takeOutput(), fromQuotedField));
+            tokensOnThisLine.add(takeToken(sfc, firstColumn + tokensOnThisLine.size(), fromQuotedField));
         }
 
         tokensOnLastCompleteLine = tokensOnThisLine.size();
@@ -276,6 +283,19 @@ public class CSVParser extends AbstractCSVParser {
 
     }
 
+    /**
+     * Takes the current token. Columns outside the projection are discarded
+     * without creating a string. The first column is always kept so that
+     * blank lines are still recognized.
+     */
+    private String takeToken(StringFragmentCopier sfc, int column, boolean fromQuotedField) {
+        if (column > 0 && isProjectedOut(column)) {
+            sfc.clearOutput();
+            return StringUtils.EMPTY;
+        }
+        return convertEmptyToNullIfNeeded(sfc.takeOutput(), fromQuotedField);
+    }
+
     private void handleQuoteCharButNotStrictQuotes(String nextLine, StringFragmentCopier sfc) {
         if (!strictQuotes) {
             final int i = sfc.i;
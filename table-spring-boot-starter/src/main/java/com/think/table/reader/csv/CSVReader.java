@@ -34,6 +34,7 @@ public class CSVReader implements Closeable, Iterable<String[]> {
 
     public static final boolean DEFAULT_KEEP_CR = false;
     public static final boolean DEFAULT_VERIFY_READER = true;
+    public static final boolean DEFAULT_KEEP_RAW_LINES = false;
     // context size in the exception message
     static final int CONTEXT_MULTILINE_EXCEPTION_MESSAGE_SIZE = 100;
 
@@ -54,7 +55,6 @@ public class CSVReader implements Closeable, Iterable<String[]> {
                             UnsupportedEncodingException.class, UTFDataFormatException.class,
                             ZipException.class, FileNotFoundException.class, MalformedInputException.class));
 
-    public static final int READ_AHEAD_LIMIT = Character.SIZE / Byte.SIZE;
     private static final int MAX_WIDTH = 100;
     protected ICSVParser parser;
     protected int skipLines;
@@ -64,10 +64,21 @@ public class CSVReader implements Closeable, Iterable<String[]> {
     protected boolean linesSkipped;
     protected boolean keepCR;
     protected int multilineLimit = DEFAULT_MULTILINE_LIMIT;
+    protected boolean keepRawLines = DEFAULT_KEEP_RAW_LINES;
 
     protected long linesRead = 0;
     protected long recordsRead = 0;
     protected String[] peekedLine = null;
+    /**
+     * Whether {@link #peekedLine} holds the result of the next record, which
+     * may be {@code null} at the end of input.
+     */
+    protected boolean peeked;
+    /**
+     * The raw lines of the peeked record. Only filled when {@link #keepRawLines}
+     * is enabled, so that reading large files does not retain a copy of every
+     * physical line.
+     */
     final protected Queue<OrderedObject<String>> peekedLines = new LinkedList<>();
 
     /**
@@ -85,7 +96,8 @@ public class CSVReader implements Closeable, Iterable<String[]> {
                         ICSVParser.DEFAULT_IGNORE_QUOTATIONS,
                         ICSVParser.DEFAULT_NULL_FIELD_INDICATOR),
                 DEFAULT_KEEP_CR,
-                DEFAULT_MULTILINE_LIMIT);
+                DEFAULT_MULTILINE_LIMIT,
+                DEFAULT_KEEP_RAW_LINES);
     }
 
     /**
@@ -98,8 +110,9 @@ public class CSVReader implements Closeable, Iterable<String[]> {
      * @param icsvParser     The parser to use to parse input
      * @param keepCR         True to keep carriage returns in data read, false otherwise
      * @param multilineLimit Allow the user to define the limit to the number of lines in a multiline record. Less than one means no limit.
+     * @param keepRawLines   True to keep the raw lines of the current record for error context
      */
-    CSVReader(Reader reader, int line, ICSVParser icsvParser, boolean keepCR, int multilineLimit) {
+    CSVReader(Reader reader, int line, ICSVParser icsvParser, boolean keepCR, int multilineLimit, boolean keepRawLines) {
         this.br =
                 (reader instanceof BufferedReader ?
                         (BufferedReader) reader :
@@ -109,6 +122,7 @@ public class CSVReader implements Closeable, Iterable<String[]> {
         this.parser = icsvParser;
         this.keepCR = keepCR;
         this.multilineLimit = multilineLimit;
+        this.keepRawLines = keepRawLines;
     }
 
     /**
@@ -137,6 +151,26 @@ public class CSVReader implements Closeable, Iterable<String[]> {
         return keepCR;
     }
 
+    /**
+     * Returns if the reader keeps the raw lines of the current record.
+     *
+     * @return True if raw lines are kept for error context, false otherwise.
+     */
+    public boolean keepRawLines() {
+        return keepRawLines;
+    }
+
+    /**
+     * Returns the raw lines of the record most recently read or peeked, with
+     * their line numbers. The lines are only kept when the reader was built
+     * with raw line retention enabled, otherwise the result is always empty.
+     *
+     * @return The raw lines of the current record
+     */
+    public List<OrderedObject<String>> getRawLines() {
+        return List.copyOf(peekedLines);
+    }
+
     /**
      * Reads the entire file into a List with each element being a String[] of
      * tokens.
@@ -188,7 +222,8 @@ public class CSVReader implements Closeable, Iterable<String[]> {
 
     /**
      * Reads the next line from the buffer and converts to a string array.
-     * The results are stored in {@link #peekedLines} and {@link #peekedLine}.
+     * The results are stored in {@link #peekedLine}, and in {@link #peekedLines}
+     * if raw lines are kept.
      *
      * @throws IOException If bad things happen during the read
      */
@@ -196,9 +231,12 @@ public class CSVReader implements Closeable, Iterable<String[]> {
 
         int linesInThisRecord = 0;
         long lastSuccessfulLineRead = linesRead + 1;
+        peekedLines.clear();
         do {
             String nextLine = getNextLine();
-            peekedLines.add(new OrderedObject<>(lastSuccessfulLineRead, nextLine));
+            if (keepRawLines && nextLine != null) {
+                peekedLines.add(new OrderedObject<>(linesRead, nextLine));
+            }
             linesInThisRecord++;
 
             // If no more input is available, check if the record is finished
@@ -279,68 +317,61 @@ public class CSVReader implements Closeable, Iterable<String[]> {
      * @throws IOException If bad things happen during the read
      */
     protected String getNextLine() throws IOException {
-        if (isClosed()) {
-            hasNext = false;
+        if (!hasNext) {
             return null;
         }
 
         if (!this.linesSkipped) {
-            for (int i = 0; i < skipLines; i++) {
-                lineReader.readLine();
+            for (int i = 0; i < skipLines && readPhysicalLine() != null; i++) {
                 linesRead++;
             }
             this.linesSkipped = true;
         }
-        String nextLine = lineReader.readLine();
+        String nextLine = hasNext ? readPhysicalLine() : null;
         if (nextLine == null) {
             hasNext = false;
         } else {
             linesRead++;
         }
 
-        return hasNext ? nextLine : null;
-    }
-
-    /**
-     * Only useful for tests.
-     *
-     * @return The maximum number of lines allowed in a multiline record.
-     */
-    public int getMultilineLimit() {
-        return multilineLimit;
+        return nextLine;
     }
 
     /**
-     * Checks to see if the file is closed.
+     * Reads one physical line. The end of input is detected from the line
+     * reader itself, so no mark/reset is needed on the underlying stream.
      * <p>Certain {@link IOException}s will be passed out, as they are
      * indicative of a real problem, not that the file has already been closed.
-     * These exceptions are:<ul>
-     * <li>CharacterCodingException</li>
-     * <li>CharConversionException</li>
-     * <li>FileNotFoundException</li>
-     * <li>UnsupportedEncodingException</li>
-     * <li>UTFDataFormatException</li>
-     * <li>ZipException</li>
-     * <li>MalformedInputException</li>
-     * </ul></p>
+     * Any other {@link IOException} ends the input.</p>
      *
-     * @return {@code true} if the reader can no longer be read from
+     * @return The line, or {@code null} at the end of input
+     * @throws IOException If one of {@link #PASSTHROUGH_EXCEPTIONS} is thrown
      */
-    protected boolean isClosed() throws IOException {
+    private String readPhysicalLine() throws IOException {
         try {
-            br.mark(READ_AHEAD_LIMIT);
-            int nextByte = br.read();
-            br.reset(); // resets stream position, possible because its buffered
-            return nextByte == -1; // read() returns -1 at end of stream
+            String line = lineReader.readLine();
+            if (line == null) {
+                hasNext = false;
+            }
+            return line;
         } catch (IOException e) {
             if (PASSTHROUGH_EXCEPTIONS.contains(e.getClass())) {
                 throw e;
             }
-
-            return true;
+            hasNext = false;
+            return null;
         }
     }
 
+    /**
+     * Only useful for tests.
+     *
+     * @return The maximum number of lines allowed in a multiline record.
+     */
+    public int getMultilineLimit() {
+        return multilineLimit;
+    }
+
     /**
      * Closes the underlying reader.
      *
@@ -483,14 +514,15 @@ public class CSVReader implements Closeable, Iterable<String[]> {
      */
     private String[] flexibleRead(boolean popLine, boolean validate) throws IOException {
 
-        if (peekedLines.isEmpty()) {
+        if (!peeked) {
             primeNextRecord();
+            peeked = true;
         }
 
         String[] result = peekedLine;
 
         if (popLine) {
-            peekedLines.clear();
+            peeked = false;
             peekedLine = null;
             if (result != null) {
                 recordsRead++;
@@ -42,6 +42,7 @@ import java.io.Reader;
  * @see com.think.table.reader.csv.CSVReader
  */
 public class CSVReaderBuilder extends CSVReaderBaseBuilder<CSVReader> {
+    private boolean keepRawLines = CSVReader.DEFAULT_KEEP_RAW_LINES;
 
     /**
      * Sets the reader to an underlying CSV source.
@@ -87,7 +88,7 @@ public class CSVReaderBuilder extends CSVReaderBaseBuilder<CSVReader> {
     @Override
     public CSVReader build() {
         final ICSVParser parser = getOrCreateCsvParser();
-        return new CSVReader(reader, skipLines, parser, keepCR, multilineLimit);
+        return new CSVReader(reader, skipLines, parser, keepCR, multilineLimit, keepRawLines);
     }
 
     /**
@@ -124,4 +125,17 @@ public class CSVReaderBuilder extends CSVReaderBaseBuilder<CSVReader> {
         this.multilineLimit = multilineLimit;
         return this;
     }
+
+    /**
+     * Sets if the reader keeps the raw lines of each record, available through
+     * {@link CSVReader#getRawLines()}. This is meant for error context only and
+     * is off by default, so that large inputs are read with bounded memory.
+     *
+     * @param keepRawLines True to keep the raw lines of the current record.
+     * @return {@code this}
+     */
+    public CSVReaderBuilder withKeepRawLines(boolean keepRawLines) {
+        this.keepRawLines = keepRawLines;
+        return this;
+    }
 }
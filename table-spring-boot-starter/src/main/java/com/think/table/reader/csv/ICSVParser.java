@@ -114,6 +114,19 @@ public interface ICSVParser {
      */
     String[] parseLine(String nextLine) throws IOException;
 
+    /**
+     * Restricts the columns whose values are materialized. Columns outside the
+     * projection are still tokenized so that positions do not shift, but are
+     * returned as empty strings without copying their content.
+     * <p>Parsers that do not support projection simply ignore it.</p>
+     *
+     * @param columns {@code true} for every column that is used, indexed by
+     *                position; columns beyond the array are kept. {@code null}
+     *                keeps all columns.
+     */
+    default void setProjection(boolean[] columns) {
+    }
+
     /**
      * Essentially a "Reverse parse" where an array of values are concatenating to a
      * csv delimited string.
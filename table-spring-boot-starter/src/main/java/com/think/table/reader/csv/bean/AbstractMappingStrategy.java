@@ -15,12 +15,17 @@
  */
 package com.think.table.reader.csv.bean;
 
+import com.think.table.descriptor.TableDescriptor;
+import com.think.table.descriptor.TableDescriptors;
+import com.think.table.reader.csv.ByteCSVRecord;
 import com.think.table.reader.csv.bean.util.OpencsvUtils;
 import com.think.table.reader.csv.exceptions.CsvBadConverterException;
 import com.think.table.reader.csv.exceptions.CsvBeanIntrospectionException;
 import com.think.table.reader.csv.exceptions.CsvChainedException;
+import com.think.table.reader.csv.exceptions.CsvColumnException;
 import com.think.table.reader.csv.exceptions.CsvConstraintViolationException;
 import com.think.table.reader.csv.exceptions.CsvDataTypeMismatchException;
+import com.think.table.reader.csv.exceptions.CsvError;
 import com.think.table.reader.csv.exceptions.CsvFieldAssignmentException;
 import com.think.table.reader.csv.exceptions.CsvRequiredFieldEmptyException;
 import com.think.table.reader.csv.exceptions.CsvValidationException;
@@ -30,6 +35,7 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.core.convert.support.DefaultConversionService;
 
@@ -81,6 +87,23 @@ public abstract class AbstractMappingStrategy<I, K extends Comparable<K>, C exte
      */
     protected final HeaderIndex headerIndex = new HeaderIndex();
 
+    /**
+     * 按列下标缓存的字段映射, 由 {@link #bindColumns()} 生成, 表头变化时需要重新生成
+     */
+    protected BeanFieldSingleValue<T, K>[] columnFields;
+
+    private Constructor<T> beanConstructor;
+
+    /**
+     * 编译期生成的行工厂, 参数与 {@link #beanConstructor} 一致时代替反射调用构造器
+     */
+    private TableDescriptor<T> rowFactory;
+
+    /**
+     * 按列下标保存的构造参数位置, 没有对应参数的列为 -1
+     */
+    private int[] parameterIndexes;
+
     public AbstractMappingStrategy(ConversionService conversionService) {
         this.conversionService = conversionService;
     }
@@ -272,32 +295,187 @@ public abstract class AbstractMappingStrategy<I, K extends Comparable<K>, C exte
         return type;
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * 使用已解析的列映射和构造器创建对象, 每行只分配对象本身和构造参数数组.
+     */
     @Override
     public T populateNewBean(String[] line)
             throws CsvBeanIntrospectionException, CsvFieldAssignmentException {
         verifyLineLength(line.length);
-        T bean = null;
+        if (columnFields == null) {
+            bindColumns();
+        }
+        BeanFieldSingleValue<T, K>[] fields = columnFields;
+        int mapped = Math.min(line.length, fields.length);
 
         try {
             if (isRecord || isFullyArgumentConstructor) {
-                Object[] values = new Object[line.length];
-                Constructor<T> constructor = createBeanConstructor();
-                for (int col = 0; col < line.length; col++) {
-                    values[col] = getFieldValue(line[col], col);
+                Object[] values = new Object[beanConstructor.getParameterCount()];
+                for (int col = 0; col < mapped; col++) {
+                    if (fields[col] != null && parameterIndexes[col] >= 0) {
+                        try {
+                            values[parameterIndexes[col]] = fields[col].getFieldValue(fields[col].getType(), line[col]);
+                        } catch (Exception e) {
+                            throw columnFailed(col, line[col], e);
+                        }
+                    }
                 }
-                bean = constructor.newInstance(values);
-            } else {
-                bean = createBean();
-                for (int col = 0; col < line.length; col++) {
-                    setFieldValue(bean, line[col], col);
+                return newBean(values);
+            }
+            T bean = createBean();
+            for (int col = 0; col < mapped; col++) {
+                if (fields[col] != null) {
+                    try {
+                        fields[col].setFieldValue(bean, line[col], findHeader(col));
+                    } catch (Exception e) {
+                        throw columnFailed(col, line[col], e);
+                    }
                 }
             }
+            return bean;
+        } catch (CsvColumnException e) {
+            throw e;
         } catch (Exception e) {
-            throw new CsvBeanIntrospectionException(e.getMessage());
+            CsvBeanIntrospectionException csve = new CsvBeanIntrospectionException(e.getMessage());
+            csve.initCause(e);
+            throw csve;
+        }
+    }
+
+    /**
+     * 使用 {@link ByteCSVRecord} 创建对象, 只转换映射到字段的列, 未映射的列不会创建字符串.
+     * 列与字段的对应关系以及构造器在表头确定时解析.
+     *
+     * @param record 字节记录
+     * @return 对象
+     */
+    public T populateNewBean(ByteCSVRecord record)
+            throws CsvBeanIntrospectionException, CsvFieldAssignmentException {
+        int size = record.size();
+        verifyLineLength(size);
+        if (columnFields == null) {
+            bindColumns();
         }
+        BeanFieldSingleValue<T, K>[] fields = columnFields;
+        int mapped = Math.min(size, fields.length);
 
-        return bean;
+        try {
+            if (isRecord || isFullyArgumentConstructor) {
+                Object[] values = new Object[beanConstructor.getParameterCount()];
+                for (int col = 0; col < mapped; col++) {
+                    if (fields[col] != null && parameterIndexes[col] >= 0) {
+                        try {
+                            values[parameterIndexes[col]] = fields[col].getFieldValue(record, col);
+                        } catch (Exception e) {
+                            throw columnFailed(col, record.getString(col), e);
+                        }
+                    }
+                }
+                return newBean(values);
+            }
+            T bean = createBean();
+            for (int col = 0; col < mapped; col++) {
+                if (fields[col] != null) {
+                    try {
+                        fields[col].setFieldValue(bean, record, col, findHeader(col));
+                    } catch (Exception e) {
+                        throw columnFailed(col, record.getString(col), e);
+                    }
+                }
+            }
+            return bean;
+        } catch (CsvFieldAssignmentException e) {
+            throw e;
+        } catch (Exception e) {
+            CsvBeanIntrospectionException csve = new CsvBeanIntrospectionException(e.getMessage());
+            csve.initCause(e);
+            throw csve;
+        }
+    }
+
+    private T newBean(Object[] values) throws ReflectiveOperationException {
+        return rowFactory != null ? rowFactory.newRow(values) : beanConstructor.newInstance(values);
+    }
+
+    /**
+     * 单元格转换失败时生成不带调用栈的错误, 行号由调用方补充
+     *
+     * @param col   列下标
+     * @param value 原始值
+     * @param e     转换时抛出的异常
+     * @return 单元格错误
+     */
+    protected CsvColumnException columnFailed(int col, String value, Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        if (e instanceof ConversionFailedException && e.getCause() != null && e.getCause().getMessage() != null) {
+            // 转换器给出的原因更具体, 例如公式的语法错误位置
+            message = message + ": " + e.getCause().getMessage();
+        }
+        return new CsvColumnException(new CsvError(-1, col + 1, findHeader(col), value, message));
+    }
+
+    /**
+     * 按当前表头解析列与字段的对应关系以及构造器. 表头确定后立即调用, 之后多个线程可以同时使用
+     * {@code populateNewBean}.
+     */
+    @SuppressWarnings("unchecked")
+    protected void bindColumns() {
+        int length = headerIndex.getHeaderIndexLength();
+        BeanFieldSingleValue<T, K>[] fields = new BeanFieldSingleValue[length];
+        for (int col = 0; col < length; col++) {
+            if (findField(col) instanceof BeanFieldSingleValue<T, K> field) {
+                fields[col] = field;
+            }
+        }
+        if (isRecord || isFullyArgumentConstructor) {
+            beanConstructor = createBeanConstructor();
+            rowFactory = TableDescriptors.findRowFactory((Class<T>) type, beanConstructor);
+            parameterIndexes = bindParameters(beanConstructor, rowFactory, fields);
+        }
+        columnFields = fields;
+    }
+
+    /**
+     * 按参数名把列对应到构造参数, 表中可以有未映射的列, 列的顺序也不必与参数一致.
+     * 无法获取参数名时按列的位置对应.
+     */
+    private static int[] bindParameters(Constructor<?> constructor, TableDescriptor<?> rowFactory,
+                                        BeanFieldSingleValue<?, ?>[] fields) {
+        int[] indexes = new int[fields.length];
+        String[] names;
+        try {
+            names = rowFactory != null ? rowFactory.getParameterNames() : BeanUtils.getParameterNames(constructor);
+        } catch (IllegalStateException e) {
+            for (int col = 0; col < fields.length; col++) {
+                indexes[col] = col < constructor.getParameterCount() ? col : -1;
+            }
+            return indexes;
+        }
+        Map<String, Integer> parameterMap = new HashMap<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            parameterMap.put(names[i], i);
+        }
+        for (int col = 0; col < fields.length; col++) {
+            indexes[col] = fields[col] != null ? parameterMap.getOrDefault(fields[col].getField().getName(), -1) : -1;
+        }
+        return indexes;
+    }
+
+    /**
+     * 表头中映射到字段的列, 用于让解析器跳过未映射的列
+     *
+     * @return 按列下标标记是否映射, 表头尚未读取时返回 {@code null}
+     */
+    public boolean[] getMappedColumns() {
+        BeanFieldSingleValue<T, K>[] fields = columnFields;
+        if (fields == null) {
+            return null;
+        }
+        boolean[] mapped = new boolean[fields.length];
+        for (int col = 0; col < fields.length; col++) {
+            mapped[col] = fields[col] != null;
+        }
+        return mapped;
     }
 
     /**
@@ -331,6 +509,7 @@ public abstract class AbstractMappingStrategy<I, K extends Comparable<K>, C exte
         this.type = type;
         this.isRecord = type.isRecord();
         this.isFullyArgumentConstructor = OpencsvUtils.isFullyArgumentConstructor(type);
+        this.columnFields = null;
         loadFieldMap();
     }
 
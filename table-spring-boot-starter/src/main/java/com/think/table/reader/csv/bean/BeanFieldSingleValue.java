@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017 Andrew Rucker Jones.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.think.table.reader.csv.bean;
+
+import com.think.table.reader.csv.ByteCSVRecord;
+import com.think.table.reader.csv.exceptions.CsvConstraintViolationException;
+import com.think.table.reader.csv.exceptions.CsvDataTypeMismatchException;
+import com.think.table.reader.csv.exceptions.CsvRequiredFieldEmptyException;
+import com.think.table.reader.util.TypeUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Field;
+
+/**
+ * This class concerns itself with handling single-valued bean fields.
+ *
+ * @param <T> The type of the bean being populated
+ * @param <I> Type of the index into a multivalued field
+ * @author Andrew Rucker Jones
+ * @since 4.2
+ */
+public class BeanFieldSingleValue<T, I> extends AbstractBeanField<T, I> {
+    /**
+     * 数值字段在 {@link ByteCSVRecord} 上的解析方式, 非数值字段为 {@code null}
+     */
+    private final NumberKind numberKind;
+
+    /**
+     * Simply calls the same constructor in the base class.
+     *
+     * @param type     The type of the class in which this field is found. This is
+     *                 the type as instantiated by opencsv, and not necessarily the
+     *                 type in which the field is declared in the case of
+     *                 inheritance.
+     * @param field    A {@link Field} object.
+     * @param required Whether or not this field is required in input
+     * @see AbstractBeanField#AbstractBeanField(Class, Field, boolean, ConversionService)
+     */
+    public BeanFieldSingleValue(Class<?> type, Field field, boolean required, ConversionService conversionService) {
+        super(type, field, required, conversionService);
+        this.numberKind = NumberKind.of(field.getType());
+    }
+
+    /**
+     * 从字节记录中转换字段值. 十进制数值直接在字节上解析, 不创建字符串; 其他类型以及
+     * 字节解析失败的写法(例如十六进制)解码为字符串后按 {@link #convert(String)} 转换.
+     *
+     * @param record 字节记录
+     * @param col    列下标
+     * @return 转换后的值
+     */
+    public Object getFieldValue(ByteCSVRecord record, int col) throws CsvRequiredFieldEmptyException,
+            CsvConstraintViolationException, CsvDataTypeMismatchException {
+        if (numberKind != null && !record.isEmpty(col)) {
+            try {
+                return numberKind.parse(record, col);
+            } catch (NumberFormatException e) {
+                // 交给转换服务处理, 由它给出原有的转换错误
+            }
+        }
+        return getFieldValue(type, record.getString(col));
+    }
+
+    /**
+     * 从字节记录中转换并设置字段值
+     *
+     * @param bean   对象
+     * @param record 字节记录
+     * @param col    列下标
+     * @param header 列名
+     */
+    public void setFieldValue(Object bean, ByteCSVRecord record, int col, String header)
+            throws CsvDataTypeMismatchException, CsvRequiredFieldEmptyException, CsvConstraintViolationException {
+        assignValueToField(bean, getFieldValue(record, col), header);
+    }
+
+    /**
+     * Passes the string to be converted to the converter.
+     *
+     */
+    // The rest of the Javadoc is inherited
+    @Override
+    protected Object convert(String value) {
+        if (StringUtils.isEmpty(value) && isPrimitive) {
+            // 如果是原始类型的则不能为null,需要使用默认值进行填充
+            return TypeUtils.getPrimitiveValue(field.getType());
+        }
+        return conversionService.convert(value, TypeDescriptor.valueOf(String.class), typeDescriptor);
+    }
+
+    /**
+     * Passes the object to be converted to the converter.
+     *
+     */
+    // The rest of the Javadoc is inherited
+    @Override
+    protected String convertToWrite(Object value) {
+        return (String) conversionService.convert(value, typeDescriptor, TypeDescriptor.valueOf(String.class));
+    }
+
+    private enum NumberKind {
+        INT, LONG, SHORT, BYTE, DOUBLE, FLOAT;
+
+        static NumberKind of(Class<?> fieldType) {
+            Class<?> boxed = ClassUtils.resolvePrimitiveIfNecessary(fieldType);
+            if (boxed == Integer.class) {
+                return INT;
+            } else if (boxed == Long.class) {
+                return LONG;
+            } else if (boxed == Short.class) {
+                return SHORT;
+            } else if (boxed == Byte.class) {
+                return BYTE;
+            } else if (boxed == Double.class) {
+                return DOUBLE;
+            } else if (boxed == Float.class) {
+                return FLOAT;
+            }
+            return null;
+        }
+
+        Object parse(ByteCSVRecord record, int col) {
+            return switch (this) {
+                case INT -> record.getInt(col);
+                case LONG -> record.getLong(col);
+                case SHORT -> (short) narrow(record.getLong(col), Short.MIN_VALUE, Short.MAX_VALUE);
+                case BYTE -> (byte) narrow(record.getLong(col), Byte.MIN_VALUE, Byte.MAX_VALUE);
+                case DOUBLE -> record.getDouble(col);
+                case FLOAT -> record.getFloat(col);
+            };
+        }
+
+        private static long narrow(long value, long min, long max) {
+            if (value < min || value > max) {
+                throw new NumberFormatException("Value out of range: " + value);
+            }
+            return value;
+        }
+    }
+}
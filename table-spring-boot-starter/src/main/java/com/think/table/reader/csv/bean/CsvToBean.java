@@ -19,24 +19,20 @@ package com.think.table.reader.csv.bean;
 import com.think.table.reader.csv.CSVReader;
 import com.think.table.reader.csv.bean.concurrent.CompleteFileReader;
 import com.think.table.reader.csv.bean.concurrent.LineExecutor;
-import com.think.table.reader.csv.bean.concurrent.ProcessCsvLine;
 import com.think.table.reader.csv.bean.concurrent.SingleLineReader;
+import com.think.table.reader.csv.bean.exceptionhandler.CsvErrorCollector;
 import com.think.table.reader.csv.bean.exceptionhandler.CsvExceptionHandler;
 import com.think.table.reader.csv.bean.exceptionhandler.ExceptionHandlerQueue;
 import com.think.table.reader.csv.bean.exceptionhandler.ExceptionHandlerThrow;
+import com.think.table.reader.csv.bean.util.OpencsvUtils;
 import com.think.table.reader.csv.bean.util.OrderedObject;
 import com.think.table.reader.csv.exceptions.CsvException;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.TreeSet;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -53,9 +49,10 @@ import java.util.stream.StreamSupport;
 public class CsvToBean<T> implements Iterable<T> {
 
     /**
-     * A list of all exceptions during parsing and mapping of the input.
+     * All errors captured during parsing and mapping of the input, kept as
+     * stackless records until they are requested.
      */
-    private final List<CsvException> capturedExceptions = new LinkedList<>();
+    private final CsvErrorCollector errors = new CsvErrorCollector();
 
     /**
      * The mapping strategy to be used by this CsvToBean.
@@ -124,7 +121,7 @@ public class CsvToBean<T> implements Iterable<T> {
         CompleteFileReader<T> completeFileReader = new CompleteFileReader<>(
                 csvReader, ignoreEmptyLines,
                 mappingStrategy, exceptionHandler);
-        executor = new LineExecutor<T>(completeFileReader);
+        executor = new LineExecutor<T>(completeFileReader, errors);
         executor.prepare();
         return StreamSupport.stream(executor, false);
     }
@@ -140,9 +137,17 @@ public class CsvToBean<T> implements Iterable<T> {
      * @see #setThrowExceptions(boolean)
      */
     public List<CsvException> getCapturedExceptions() {
-        // The exceptions are stored in different places, dependent on
-        // whether or not the iterator is used.
-        return executor != null ? executor.getCapturedExceptions() : capturedExceptions;
+        return errors.toExceptions();
+    }
+
+    /**
+     * Returns the collector holding all errors captured by the exception
+     * handler, without creating exceptions for them.
+     *
+     * @return The error collector of this read
+     */
+    public CsvErrorCollector getErrorCollector() {
+        return errors;
     }
 
     /**
@@ -261,48 +266,27 @@ public class CsvToBean<T> implements Iterable<T> {
      * A private inner class for implementing an iterator for the input data.
      */
     private class CsvToBeanIterator implements Iterator<T> {
-        private final BlockingQueue<OrderedObject<T>> resultantBeansQueue;
-        private final BlockingQueue<OrderedObject<CsvException>> thrownExceptionsQueue;
         private final SingleLineReader lineReader = new SingleLineReader(csvReader, ignoreEmptyLines);
         private String[] line = null;
         private long lineProcessed = 0;
         private T bean;
 
         CsvToBeanIterator() {
-            resultantBeansQueue = new ArrayBlockingQueue<>(1);
-            thrownExceptionsQueue = new LinkedBlockingQueue<>();
             readSingleLine();
         }
 
-        private void processException() {
-            // At least one exception was thrown
-            OrderedObject<CsvException> o = thrownExceptionsQueue.poll();
-            while (o != null && o.getElement() != null) {
-                capturedExceptions.add(o.getElement());
-                o = thrownExceptionsQueue.poll();
-            }
-        }
-
         private void readLineWithPossibleError() throws IOException {
             // Read a line
             bean = null;
-            while (bean == null && null != (line = lineReader.readNextLine())) {
+            while (bean == null && null != (line = lineReader.readNextLineShared())) {
                 lineProcessed = lineReader.getLinesRead();
 
-                // Create a bean
-                ProcessCsvLine<T> proc = new ProcessCsvLine<>(
-                        lineProcessed, mappingStrategy,
-                        line, resultantBeansQueue, thrownExceptionsQueue,
-                        new TreeSet<>(), exceptionHandler);
-                proc.run();
-
-                if (!thrownExceptionsQueue.isEmpty()) {
-                    processException();
-                } else {
-                    // No exception, so there really must always be a bean
-                    // . . . unless it was filtered
-                    OrderedObject<T> o = resultantBeansQueue.poll();
-                    bean = o == null ? null : o.getElement();
+                // Convert on the calling thread, no queues or per-line task objects
+                try {
+                    bean = mappingStrategy.populateNewBean(line);
+                } catch (CsvException e) {
+                    e.setLine(line);
+                    OpencsvUtils.handleException(e, lineProcessed, exceptionHandler, errors, rawRecord());
                 }
             }
             if (line == null) {
@@ -311,6 +295,19 @@ public class CsvToBean<T> implements Iterable<T> {
             }
         }
 
+        /**
+         * @return The raw text of the record just read, or {@code null} if the
+         * reader does not keep raw lines
+         */
+        private String rawRecord() {
+            if (!csvReader.keepRawLines()) {
+                return null;
+            }
+            return csvReader.getRawLines().stream()
+                    .map(OrderedObject::getElement)
+                    .collect(Collectors.joining("\n"));
+        }
+
         private void readSingleLine() {
             try {
                 readLineWithPossibleError();
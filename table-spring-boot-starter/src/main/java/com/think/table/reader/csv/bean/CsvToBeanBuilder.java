@@ -73,6 +73,11 @@ public class CsvToBeanBuilder<T> {
      */
     private boolean keepCR;
 
+    /**
+     * @see CSVReader#keepRawLines
+     */
+    private boolean keepRawLines;
+
     /**
      * @see CSVReader#skipLines
      */
@@ -260,6 +265,7 @@ public class CsvToBeanBuilder<T> {
         if (multilineLimit != null) {
             csvrb.withMultilineLimit(multilineLimit);
         }
+        csvrb.withKeepRawLines(keepRawLines);
         return csvrb.build();
     }
 
@@ -329,6 +335,17 @@ public class CsvToBeanBuilder<T> {
         return this;
     }
 
+    /**
+     * @param keepRawLines True to attach the raw text of a record to the
+     *                     errors reported for it, false otherwise
+     * @return {@code this}
+     * @see CSVReaderBuilder#withKeepRawLines(boolean)
+     */
+    public CsvToBeanBuilder<T> withKeepRawLines(boolean keepRawLines) {
+        this.keepRawLines = keepRawLines;
+        return this;
+    }
+
     public CsvToBeanBuilder<T> withConversionService(ConversionService conversionService) {
         this.conversionService = conversionService;
         return this;
@@ -68,7 +68,24 @@ abstract public class HeaderNameBaseMappingStrategy<T> extends AbstractMappingSt
         }
 
         // Read the header
-        String[] header = ArrayUtils.nullToEmpty(reader.readNextSilently());
+        captureHeader(reader.readNextSilently());
+
+        // 之后的记录只为映射到字段的列创建字符串
+        reader.getParser().setProjection(getMappedColumns());
+    }
+
+    /**
+     * 使用已经读取的表头初始化列映射, 供不经过 {@link CSVReader} 的解析方式使用
+     *
+     * @param line 表头
+     * @throws CsvRequiredFieldEmptyException 缺少必须的列
+     */
+    public void captureHeader(String[] line) throws CsvRequiredFieldEmptyException {
+        if (type == null) {
+            throw new IllegalStateException("The type has not been set in the MappingStrategy.");
+        }
+
+        String[] header = ArrayUtils.nullToEmpty(line);
         for (int i = 0; i < header.length; i++) {
             // For the case that a header is empty and someone configured
             // empty fields to be null
@@ -77,6 +94,7 @@ abstract public class HeaderNameBaseMappingStrategy<T> extends AbstractMappingSt
             }
         }
         headerIndex.initializeHeaderIndex(header);
+        bindColumns();
 
         // Throw an exception if any required headers are missing
         List<FieldMapByNameEntry<T>> missingRequiredHeaders = fieldMap.determineMissingRequiredHeaders(header);
@@ -1,17 +1,14 @@
 package com.think.table.reader.csv.bean.concurrent;
 
 import com.think.table.reader.csv.bean.MappingStrategy;
+import com.think.table.reader.csv.bean.exceptionhandler.CsvErrorCollector;
 import com.think.table.reader.csv.bean.exceptionhandler.CsvExceptionHandler;
 import com.think.table.reader.csv.bean.util.OrderedObject;
 import com.think.table.reader.csv.exceptions.CsvException;
-import org.apache.commons.collections4.ListValuedMap;
-import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.SortedSet;
 import java.util.Spliterator;
 import java.util.concurrent.BlockingQueue;
@@ -20,7 +17,6 @@ import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 /**
  *
@@ -44,16 +40,9 @@ public class LineExecutor<T> implements Spliterator<T> {
     protected final SortedSet<Long> expectedRecords = new ConcurrentSkipListSet<>();
 
     /**
-     * A multi-valued map for any exceptions captured.
-     * <p>The multi-valued part is important because the same line can throw more
-     * than one exception.</p>
-     * <p><em>All access to this variable must be synchronized.</em></p>
+     * The error collector of the current read.
      */
-    private ListValuedMap<Long, CsvException> thrownExceptionsMap = null;
-    /**
-     * A queue of exceptions thrown by threads during processing.
-     */
-    protected final BlockingQueue<OrderedObject<CsvException>> thrownExceptionsQueue = new LinkedBlockingQueue<>();
+    protected final CsvErrorCollector errors;
 
     private final CompleteFileReader<T> completeFileReader;
 
@@ -62,16 +51,17 @@ public class LineExecutor<T> implements Spliterator<T> {
      *
      * @param completeFileReader The thread that reads lines of input and feeds the
      *                           results to this Executor
+     * @param errors             The error collector of the current read
      */
-    public LineExecutor(CompleteFileReader<T> completeFileReader) {
+    public LineExecutor(CompleteFileReader<T> completeFileReader, CsvErrorCollector errors) {
         this.completeFileReader = completeFileReader;
+        this.errors = errors;
     }
 
     public void prepare() {
         completeFileReader.setExecutor(this);
 
         resultantBeansMap = new ConcurrentSkipListMap<>();
-        thrownExceptionsMap = new ArrayListValuedHashMap<>();
 
         completeFileReader.startRead();
 
@@ -120,7 +110,7 @@ public class LineExecutor<T> implements Spliterator<T> {
         try {
             ProcessCsvLine<T> process = new ProcessCsvLine<>(
                     lineNumber, mapper, line,
-                    resultQueue, thrownExceptionsQueue,
+                    resultQueue, errors,
                     expectedRecords, exceptionHandler);
             process.run();
         } catch (Exception e) {
@@ -157,22 +147,7 @@ public class LineExecutor<T> implements Spliterator<T> {
      * @return All exceptions captured
      */
     public List<CsvException> getCapturedExceptions() {
-        List<CsvException> returnList = null;
-        if (thrownExceptionsMap == null) {
-            returnList = thrownExceptionsQueue.stream()
-                    .filter(Objects::nonNull)
-                    .map(OrderedObject::getElement)
-                    .collect(Collectors.toList());
-        } else {
-            returnList = new LinkedList<>();
-            synchronized (thrownExceptionsMap) {
-                final List<CsvException> finalReturnList = returnList;
-                thrownExceptionsMap.keySet().stream()
-                        .sorted()
-                        .forEach(l -> finalReturnList.addAll(thrownExceptionsMap.get(l)));
-            }
-        }
-        return returnList;
+        return errors.toExceptions();
     }
 
     @Override
@@ -16,6 +16,7 @@
 package com.think.table.reader.csv.bean.concurrent;
 
 import com.think.table.reader.csv.bean.MappingStrategy;
+import com.think.table.reader.csv.bean.exceptionhandler.CsvErrorCollector;
 import com.think.table.reader.csv.bean.exceptionhandler.CsvExceptionHandler;
 import com.think.table.reader.csv.bean.util.OpencsvUtils;
 import com.think.table.reader.csv.bean.util.OrderedObject;
@@ -42,7 +43,7 @@ public class ProcessCsvLine<T> {
     private final MappingStrategy<? extends T> mapper;
     private final String[] line;
     private final BlockingQueue<OrderedObject<T>> resultantBeanQueue;
-    private final BlockingQueue<OrderedObject<CsvException>> thrownExceptionsQueue;
+    private final CsvErrorCollector errors;
     private final SortedSet<Long> expectedRecords;
     private final CsvExceptionHandler exceptionHandler;
 
@@ -53,8 +54,8 @@ public class ProcessCsvLine<T> {
      * @param mapper                The mapping strategy to be used
      * @param line                  The line of input to be transformed into a bean
      * @param resultantBeanQueue    A queue in which to place the bean created
-     * @param thrownExceptionsQueue A queue in which to place a thrown
-     *                              exception, if one is thrown
+     * @param errors                The error collector of the current read, in
+     *                              which a thrown exception is recorded
      * @param expectedRecords       A list of outstanding record numbers so gaps
      *                              in ordering due to filtered input or exceptions
      *                              while converting can be detected.
@@ -64,13 +65,13 @@ public class ProcessCsvLine<T> {
     public ProcessCsvLine(
             long lineNumber, MappingStrategy<? extends T> mapper, String[] line,
             BlockingQueue<OrderedObject<T>> resultantBeanQueue,
-            BlockingQueue<OrderedObject<CsvException>> thrownExceptionsQueue,
+            CsvErrorCollector errors,
             SortedSet<Long> expectedRecords, CsvExceptionHandler exceptionHandler) {
         this.lineNumber = lineNumber;
         this.mapper = mapper;
         this.line = ArrayUtils.clone(line);
         this.resultantBeanQueue = resultantBeanQueue;
-        this.thrownExceptionsQueue = thrownExceptionsQueue;
+        this.errors = errors;
         this.expectedRecords = expectedRecords;
         this.exceptionHandler = exceptionHandler;
     }
@@ -82,7 +83,7 @@ public class ProcessCsvLine<T> {
         } catch (CsvException e) {
             expectedRecords.remove(lineNumber);
             e.setLine(line);
-            OpencsvUtils.handleException(e, lineNumber, exceptionHandler, thrownExceptionsQueue);
+            OpencsvUtils.handleException(e, lineNumber, exceptionHandler, errors);
         } catch (Exception e) {
             e.printStackTrace();
             expectedRecords.remove(lineNumber);
@@ -53,6 +53,20 @@ public class SingleLineReader {
         return getLine();
     }
 
+    /**
+     * 读取下一行, 直接返回 {@link CSVReader} 生成的数组而不做防御性复制,
+     * 调用方不能修改该数组.
+     *
+     * @return 下一行, 没有更多数据时返回 {@code null}
+     * @throws IOException 读取失败
+     */
+    public String[] readNextLineShared() throws IOException {
+        do {
+            line = csvReader.readNext();
+        } while (line != null && isCurrentLineEmpty() && ignoreEmptyLines);
+        return line;
+    }
+
     /**
      * @return The number of lines read from the input this far
      */
@@ -0,0 +1,101 @@
+package com.think.table.reader.csv.bean.exceptionhandler;
+
+import com.think.table.reader.csv.exceptions.CsvError;
+import com.think.table.reader.csv.exceptions.CsvException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 单次读取的错误收集器.
+ * <p>只保留文件中最靠前的 limit 条错误记录, 与添加顺序无关, 错误总数始终准确.
+ * 多个线程可以同时添加错误, 锁只属于这一次读取; 分块并行解析时每块使用自己的收集器, 再按块的顺序 {@link #merge 合并}.</p>
+ *
+ * @author veione
+ */
+public final class CsvErrorCollector {
+    public static final int DEFAULT_LIMIT = 100;
+    private static final Comparator<CsvError> FILE_ORDER = Comparator.comparingLong(CsvError::row)
+            .thenComparingInt(CsvError::column);
+
+    private final int limit;
+    /**
+     * 按文件顺序倒序的堆, 堆顶是保留的错误中最靠后的一条
+     */
+    private final PriorityQueue<CsvError> errors = new PriorityQueue<>(FILE_ORDER.reversed());
+    private final AtomicInteger count = new AtomicInteger();
+
+    public CsvErrorCollector() {
+        this(DEFAULT_LIMIT);
+    }
+
+    public CsvErrorCollector(int limit) {
+        this.limit = limit;
+    }
+
+    public void add(CsvError error) {
+        count.incrementAndGet();
+        if (limit <= 0) {
+            return;
+        }
+        synchronized (errors) {
+            if (errors.size() < limit) {
+                errors.offer(error);
+            } else if (FILE_ORDER.compare(error, errors.peek()) < 0) {
+                errors.poll();
+                errors.offer(error);
+            }
+        }
+    }
+
+    /**
+     * 合并另一个收集器的错误, 例如分块解析时各块的收集器
+     *
+     * @param other 另一个收集器
+     */
+    public void merge(CsvErrorCollector other) {
+        List<CsvError> list = other.getErrors();
+        count.addAndGet(other.getErrorCount() - list.size());
+        for (CsvError error : list) {
+            add(error);
+        }
+    }
+
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    /**
+     * @return 错误总数, 包括超出上限没有保留的错误
+     */
+    public int getErrorCount() {
+        return count.get();
+    }
+
+    /**
+     * @return 按行号、列号排序的错误记录
+     */
+    public List<CsvError> getErrors() {
+        List<CsvError> list;
+        synchronized (errors) {
+            list = new ArrayList<>(errors);
+        }
+        list.sort(FILE_ORDER);
+        return list;
+    }
+
+    /**
+     * @return 按行号、列号排序的异常, 每次调用都会重新创建
+     */
+    public List<CsvException> toExceptions() {
+        List<CsvError> list = getErrors();
+        List<CsvException> exceptions = new ArrayList<>(list.size());
+        for (CsvError error : list) {
+            exceptions.add(error.toException());
+        }
+        return exceptions;
+    }
+}
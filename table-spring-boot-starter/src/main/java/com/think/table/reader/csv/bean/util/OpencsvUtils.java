@@ -15,9 +15,12 @@
  */
 package com.think.table.reader.csv.bean.util;
 
+import com.think.table.reader.csv.bean.exceptionhandler.CsvErrorCollector;
 import com.think.table.reader.csv.bean.exceptionhandler.CsvExceptionHandler;
 import com.think.table.reader.csv.exceptions.CsvBadConverterException;
 import com.think.table.reader.csv.exceptions.CsvChainedException;
+import com.think.table.reader.csv.exceptions.CsvColumnException;
+import com.think.table.reader.csv.exceptions.CsvError;
 import com.think.table.reader.csv.exceptions.CsvException;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeanUtils;
@@ -32,7 +35,6 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -52,56 +54,56 @@ public final class OpencsvUtils {
     }
 
     /**
-     * I find it annoying that when I want to queue something in a blocking
-     * queue, the thread might be interrupted and I have to try again; this
-     * method fixes that.
+     * A function to consolidate code common to handling exceptions thrown
+     * during reading or writing of CSV files.
+     * The proper line number is set for the exception, the exception handler
+     * is run, and the exception is recorded or thrown as necessary.
+     * <p>Captured exceptions are kept as stackless {@link CsvError} records in
+     * the collector of the current read, so concurrent reads never contend on
+     * a shared lock.</p>
      *
-     * @param <E>    The type of the object to be queued
-     * @param queue  The queue the object should be added to
-     * @param object The object to be queued
-     * @since 4.0
+     * @param e                The exception originally thrown
+     * @param lineNumber       The line or record number that caused the exception
+     * @param exceptionHandler The exception handler
+     * @param errors           The error collector of the current read
+     * @since 5.2
      */
-    public static <E> void queueRefuseToAcceptDefeat(BlockingQueue<E> queue, E object) {
-        boolean interrupted = true;
-        while (interrupted) {
-            try {
-                queue.put(object);
-                interrupted = false;
-            } catch (InterruptedException ie) {/* Do nothing. */}
-        }
+    public static void handleException(
+            CsvException e, long lineNumber,
+            CsvExceptionHandler exceptionHandler, CsvErrorCollector errors) {
+        handleException(e, lineNumber, exceptionHandler, errors, null);
     }
 
     /**
-     * A function to consolidate code common to handling exceptions thrown
-     * during reading or writing of CSV files.
-     * The proper line number is set for the exception, the exception handler
-     * is run, and the exception is queued or thrown as necessary.
+     * Same as {@link #handleException(CsvException, long, CsvExceptionHandler, CsvErrorCollector)},
+     * recording errors that do not belong to a single column with the raw
+     * text of the record.
      *
      * @param e                The exception originally thrown
      * @param lineNumber       The line or record number that caused the exception
      * @param exceptionHandler The exception handler
-     * @param queue            The queue for captured exceptions
-     * @since 5.2
+     * @param errors           The error collector of the current read
+     * @param record           The raw text of the record, or {@code null} if it was not kept
      */
-    public static synchronized void handleException(
+    public static void handleException(
             CsvException e, long lineNumber,
-            CsvExceptionHandler exceptionHandler, BlockingQueue<OrderedObject<CsvException>> queue) {
+            CsvExceptionHandler exceptionHandler, CsvErrorCollector errors, String record) {
         e.setLineNumber(lineNumber);
-        CsvException capturedException = null;
         List<CsvException> exceptionList = e instanceof CsvChainedException ?
                 Collections.<CsvException>unmodifiableList(((CsvChainedException) e).getExceptionChain()) :
                 Collections.singletonList(e);
         for (CsvException iteratedException : exceptionList) {
+            CsvException capturedException;
             try {
                 capturedException = exceptionHandler.handleException(iteratedException);
             } catch (CsvException csve) {
-                capturedException = csve;
-                throw new RuntimeException(csve);
-            } finally {
-                if (capturedException != null) {
-                    queueRefuseToAcceptDefeat(queue,
-                            new OrderedObject<>(lineNumber, capturedException));
-                }
+                errors.add(CsvError.of(csve, lineNumber).withRecord(record));
+                // 不带调用栈的单元格错误在这里才创建完整的异常
+                throw new RuntimeException(csve instanceof CsvColumnException columnException
+                        ? columnException.getError().atRow(lineNumber).toException() : csve);
+            }
+            if (capturedException != null) {
+                errors.add(CsvError.of(capturedException, lineNumber).withRecord(record));
             }
         }
     }
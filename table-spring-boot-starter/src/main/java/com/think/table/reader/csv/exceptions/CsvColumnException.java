@@ -0,0 +1,27 @@
+package com.think.table.reader.csv.exceptions;
+
+/**
+ * 单元格转换失败. 不填充调用栈, 只用于把 {@link CsvError} 从映射策略传递给调用方,
+ * 需要向外抛出时使用 {@link CsvError#toException()}.
+ *
+ * @author veione
+ */
+public class CsvColumnException extends CsvFieldAssignmentException {
+    private static final long serialVersionUID = 1L;
+
+    private final CsvError error;
+
+    public CsvColumnException(CsvError error) {
+        super(error.message());
+        this.error = error;
+    }
+
+    public CsvError getError() {
+        return error;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
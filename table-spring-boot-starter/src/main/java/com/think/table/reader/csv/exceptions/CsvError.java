@@ -0,0 +1,71 @@
+package com.think.table.reader.csv.exceptions;
+
+/**
+ * 轻量的解析错误记录, 不包含调用栈, 只有需要抛出时才通过 {@link #toException()} 创建完整的异常.
+ *
+ * @param row     物理行号, 未知时为 -1
+ * @param column  列号, 从 1 开始, 未知时为 -1
+ * @param header  列名
+ * @param value   原始值
+ * @param message 错误描述
+ * @author veione
+ */
+public record CsvError(long row, int column, String header, String value, String message) {
+
+    /**
+     * 根据已经创建的异常生成错误记录
+     *
+     * @param e   异常
+     * @param row 物理行号
+     * @return 错误记录
+     */
+    public static CsvError of(CsvException e, long row) {
+        if (e instanceof CsvColumnException columnException) {
+            return columnException.getError().atRow(row);
+        }
+        return new CsvError(row, -1, null, null, e.getMessage());
+    }
+
+    /**
+     * @param row 物理行号
+     * @return 指定行号的错误记录
+     */
+    public CsvError atRow(long row) {
+        return row == this.row ? this : new CsvError(row, column, header, value, message);
+    }
+
+    /**
+     * 整行的错误没有单元格的原始值, 附带整条记录的原始文本
+     *
+     * @param text 原始记录, 为 {@code null} 时不变
+     * @return 错误记录
+     */
+    public CsvError withRecord(String text) {
+        return text == null || column > 0 || value != null ? this : new CsvError(row, column, header, text, message);
+    }
+
+    /**
+     * @return 带调用栈的异常
+     */
+    public CsvException toException() {
+        CsvException e = new CsvException(toString());
+        e.setLineNumber(row);
+        return e;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append("line ").append(row);
+        if (column > 0) {
+            sb.append(" column ").append(column);
+        }
+        if (header != null) {
+            sb.append(" (").append(header).append(')');
+        }
+        if (value != null) {
+            sb.append(" value [").append(value).append(']');
+        }
+        return sb.append(": ").append(message).toString();
+    }
+}
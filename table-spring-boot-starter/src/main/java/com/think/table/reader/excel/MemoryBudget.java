@@ -0,0 +1,80 @@
+package com.think.table.reader.excel;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * 一次加载的堆内存预算, 以加载开始时的已用堆内存为基线, 定期检查增长量.
+ * <p>已用堆内存包含尚未回收的垃圾以及其他线程的分配, 因此这是一个偏保守的上限,
+ * 超过预算时中止本次加载, 已发布的数据不受影响.</p>
+ *
+ * @author veione
+ */
+public final class MemoryBudget {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    private static final long MB = 1024 * 1024;
+    /**
+     * 不限制内存的预算
+     */
+    public static final MemoryBudget UNLIMITED = new MemoryBudget(0);
+
+    private final long limit;
+    private final long baseline;
+    private long peak;
+
+    private MemoryBudget(long limit) {
+        this.limit = limit;
+        this.baseline = limit > 0 ? used() : 0;
+    }
+
+    /**
+     * 开始一次加载
+     *
+     * @param megabytes 允许的堆内存增长(MB), 0 表示不限制
+     * @return 内存预算
+     */
+    public static MemoryBudget start(int megabytes) {
+        if (megabytes < 0) {
+            throw new IllegalArgumentException("Memory budget must not be negative: " + megabytes);
+        }
+        return megabytes == 0 ? UNLIMITED : new MemoryBudget(megabytes * MB);
+    }
+
+    private static long used() {
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    public boolean isLimited() {
+        return limit > 0;
+    }
+
+    /**
+     * 检查当前的堆内存增长
+     *
+     * @return 是否超过预算
+     */
+    public boolean exceeded() {
+        if (limit <= 0) {
+            return false;
+        }
+        long grown = used() - baseline;
+        if (grown > peak) {
+            peak = grown;
+        }
+        return grown > limit;
+    }
+
+    /**
+     * @return 检查到的最大增长量(MB)
+     */
+    public long getPeakMegabytes() {
+        return peak / MB;
+    }
+
+    /**
+     * @return 预算(MB)
+     */
+    public long getLimitMegabytes() {
+        return limit / MB;
+    }
+}
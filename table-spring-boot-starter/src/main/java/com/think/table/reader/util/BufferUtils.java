@@ -0,0 +1,128 @@
+package com.think.table.reader.util;
+
+import com.think.table.exception.TableReadException;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 按字节解析的读取器共用的缓冲区工具, 以及切分后并行解析、按顺序合并结果的执行器
+ *
+ * @author veione
+ */
+public final class BufferUtils {
+    /**
+     * 并行解析时每个线程分到的块数, 多切几块让各线程负载更均衡
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private BufferUtils() {
+    }
+
+    /**
+     * 文件流直接做内存映射, 其他输入流一次性读入堆内数组
+     *
+     * @param in 输入流
+     * @return 从当前位置到文件末尾的缓冲区
+     * @throws IOException 读取失败
+     */
+    public static ByteBuffer readFully(InputStream in) throws IOException {
+        if (in instanceof FileInputStream fileInputStream) {
+            FileChannel channel = fileInputStream.getChannel();
+            long position = channel.position();
+            long size = channel.size() - position;
+            if (size <= Integer.MAX_VALUE) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+            }
+        }
+        return ByteBuffer.wrap(in.readAllBytes());
+    }
+
+    /**
+     * 跳过开头的 UTF-8 BOM
+     *
+     * @param buffer 缓冲区
+     */
+    public static void skipBom(ByteBuffer buffer) {
+        int pos = buffer.position();
+        if (buffer.limit() - pos >= 3 && buffer.get(pos) == (byte) 0xEF && buffer.get(pos + 1) == (byte) 0xBB
+                && buffer.get(pos + 2) == (byte) 0xBF) {
+            buffer.position(pos + 3);
+        }
+    }
+
+    /**
+     * @param total   需要切分的总量, 字节数或者行数
+     * @param minimum 每块的最小值
+     * @return 在 ForkJoin 公共线程池中并行解析时每块的大小
+     */
+    public static int chunkSize(int total, int minimum) {
+        int chunks = ForkJoinPool.commonPool().getParallelism() * CHUNKS_PER_THREAD;
+        return Math.max(minimum, (int) (((long) total + chunks - 1) / chunks));
+    }
+
+    /**
+     * 在 ForkJoin 公共线程池中并行执行各块, 再按块的顺序把结果交给 consumer. 前面的块完成后立即处理,
+     * 不等待后面的块; 任意一块失败时取消剩余的块, 报告按顺序最靠前的错误.
+     *
+     * @param chunks   按文件顺序排列的块
+     * @param consumer 按顺序处理各块的结果, 在调用线程上执行
+     * @param <R>
+     * @throws TableReadException 某一块或者 consumer 失败
+     */
+    public static <R> void runOrdered(List<Chunk<R>> chunks, ChunkConsumer<R> consumer) throws TableReadException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<ForkJoinTask<R>> tasks = new ArrayList<>(chunks.size());
+        for (Chunk<R> chunk : chunks) {
+            tasks.add(pool.submit(chunk::read));
+        }
+        try {
+            for (ForkJoinTask<R> task : tasks) {
+                consumer.accept(task.get());
+            }
+        } catch (ExecutionException e) {
+            // ForkJoinPool 会把 Callable 抛出的受检异常包装为 RuntimeException
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof TableReadException tableReadException) {
+                    throw tableReadException;
+                }
+            }
+            throw new TableReadException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TableReadException(e);
+        } finally {
+            for (ForkJoinTask<R> task : tasks) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * 可以在工作线程上独立解析的一块
+     *
+     * @param <R> 解析结果
+     */
+    @FunctionalInterface
+    public interface Chunk<R> {
+        R read() throws TableReadException;
+    }
+
+    /**
+     * 按顺序处理各块的解析结果
+     *
+     * @param <R> 解析结果
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer<R> {
+        void accept(R result) throws TableReadException;
+    }
+}
@@ -8,9 +8,11 @@ public final class TypeUtils {
 
     static {
         PRIMITIVE_TYPE_DEFAULT_VALUES.put(int.class, 0);
+        PRIMITIVE_TYPE_DEFAULT_VALUES.put(long.class, 0L);
+        PRIMITIVE_TYPE_DEFAULT_VALUES.put(short.class, (short) 0);
         PRIMITIVE_TYPE_DEFAULT_VALUES.put(double.class, 0.0);
         PRIMITIVE_TYPE_DEFAULT_VALUES.put(float.class, 0F);
-        PRIMITIVE_TYPE_DEFAULT_VALUES.put(byte.class, 0);
+        PRIMITIVE_TYPE_DEFAULT_VALUES.put(byte.class, (byte) 0);
         PRIMITIVE_TYPE_DEFAULT_VALUES.put(boolean.class, false);
         PRIMITIVE_TYPE_DEFAULT_VALUES.put(char.class, '\u0000');
     }
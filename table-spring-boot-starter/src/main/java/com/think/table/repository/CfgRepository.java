@@ -0,0 +1,122 @@
+package com.think.table.repository;
+
+import com.think.table.query.Query;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * Table repository interface, for subclass table repository proxy.
+ *
+ * @param <T>
+ * @param <Serializable>
+ * @author veione
+ */
+public interface CfgRepository<T, Serializable> {
+
+    T findById(Serializable id);
+
+    Optional<T> findById(Predicate<T> predicate);
+
+    List<T> findAll(Predicate<T> predicate);
+
+    /**
+     * 命名查询, 仓库开启查询缓存时结果按名称缓存, 同一个名称必须始终对应相同的条件
+     *
+     * @param name      查询名称
+     * @param predicate 查询条件
+     * @return 不可修改的结果列表
+     * @see com.think.table.annotation.TableRepository#queryCacheSize()
+     */
+    List<T> findAll(String name, Predicate<T> predicate);
+
+    List<T> findAll();
+
+    long count(Predicate<T> predicate);
+
+    boolean exists(Serializable id);
+
+    boolean exists(Predicate<T> predicate);
+
+    Optional<T> findOne(Query query);
+
+    List<T> findAll(Query query);
+
+    long count(Query query);
+
+    boolean exists(Query query);
+
+    /**
+     * 在范围索引字段上查找小于等于 value 的最大值对应的行
+     *
+     * @param field 范围索引字段
+     * @param value 查询值
+     * @return 行, 不存在时返回 {@code null}
+     */
+    T floor(String field, long value);
+
+    T floor(String field, double value);
+
+    /**
+     * 在范围索引字段上查找大于等于 value 的最小值对应的行
+     *
+     * @param field 范围索引字段
+     * @param value 查询值
+     * @return 行, 不存在时返回 {@code null}
+     */
+    T ceiling(String field, long value);
+
+    T ceiling(String field, double value);
+
+    /**
+     * 在范围索引字段上查找闭区间 [from, to] 内的行, 按字段值升序排列
+     *
+     * @param field 范围索引字段
+     * @param from  下界
+     * @param to    上界
+     * @return 行列表
+     */
+    List<T> between(String field, long from, long to);
+
+    List<T> between(String field, double from, double to);
+
+    /**
+     * 读取 {@link com.think.table.annotation.Ref} 字段在加载时解析出的行, 不需要再查找被引用的配置表
+     *
+     * @param row   本表的行
+     * @param field 引用字段名称
+     * @param <R>   被引用的配置类, 集合或者数组字段为 {@code List<被引用的配置类>}
+     * @return 被引用的行, 没有引用时返回 {@code null}
+     */
+    <R> R getRef(T row, String field);
+
+    /**
+     * 按 {@link com.think.table.annotation.Weight} 字段的权重随机抽取一行
+     *
+     * @param random 随机数生成器
+     * @return 行, 没有权重大于 0 的行时返回 {@code null}
+     * @see WeightedSampler#sample(RandomGenerator)
+     */
+    T sample(RandomGenerator random);
+
+    /**
+     * 在分组键对应的组内按权重随机抽取一行
+     *
+     * @param groupKey 分组键
+     * @param random   随机数生成器
+     * @return 行, 分组不存在或者组内没有权重大于 0 的行时返回 {@code null}
+     * @see WeightedSampler#sample(long, RandomGenerator)
+     */
+    T sample(long groupKey, RandomGenerator random);
+
+    T sample(Object groupKey, RandomGenerator random);
+
+    /**
+     * 仓库代理会把参数装箱到数组中, 每秒抽取次数很多时持有该对象直接抽取, 不产生额外对象
+     *
+     * @return 权重抽取器, 始终使用最新发布的数据
+     */
+    WeightedSampler<T> sampler();
+}
@@ -0,0 +1,43 @@
+package com.think.table.repository;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 按 {@link com.think.table.annotation.Weight} 字段的权重随机抽取, 每次抽取都使用最新发布的数据.
+ * <p>通过 {@link CfgRepository#sampler()} 获取后可以长期持有, 调用不经过仓库代理, 不会装箱参数,
+ * 抽取过程不创建对象.</p>
+ *
+ * @param <T> 配置类
+ * @author veione
+ */
+public interface WeightedSampler<T> {
+
+    /**
+     * 在整张表中按权重随机抽取一行, O(1)
+     *
+     * @param random 随机数生成器, 例如 {@code ThreadLocalRandom.current()}
+     * @return 行, 没有权重大于 0 的行时返回 {@code null}
+     * @throws IllegalArgumentException 权重字段声明了分组
+     */
+    T sample(RandomGenerator random);
+
+    /**
+     * 在整数分组键对应的组内按权重随机抽取一行, O(1)
+     *
+     * @param groupKey 分组键
+     * @param random   随机数生成器
+     * @return 行, 分组不存在或者组内没有权重大于 0 的行时返回 {@code null}
+     * @throws IllegalArgumentException 权重字段没有分组
+     */
+    T sample(long groupKey, RandomGenerator random);
+
+    /**
+     * 在分组键对应的组内按权重随机抽取一行, O(1)
+     *
+     * @param groupKey 分组键, 整数类型的分组字段可以使用任意整数类型的键, 其他类型的键 (例如 {@code Double}) 返回 {@code null}
+     * @param random   随机数生成器
+     * @return 行, 分组不存在或者组内没有权重大于 0 的行时返回 {@code null}
+     * @throws IllegalArgumentException 权重字段没有分组
+     */
+    T sample(Object groupKey, RandomGenerator random);
+}
@@ -0,0 +1,131 @@
+package com.think.table.validation;
+
+import com.think.table.TableDefinition;
+import com.think.table.annotation.Indexes;
+import com.think.table.annotation.Range;
+import com.think.table.annotation.Required;
+import com.think.table.annotation.Weight;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 字段注解声明的校验: {@link Required}、{@link Range}、{@link Indexes#unique()} 和 {@link Weight} 不能为负数,
+ * 一次遍历检查除唯一性以外的所有规则, 行数较多时并行遍历; 唯一性按行顺序检查.
+ *
+ * @param <T> 配置类
+ * @author veione
+ */
+final class FieldRuleValidator<T> implements TableValidator<T> {
+    /**
+     * 并行遍历的最小行数
+     */
+    private static final int PARALLEL_THRESHOLD = 8192;
+    private final Class<T> tableClass;
+    private final List<Rule> rules;
+
+    private FieldRuleValidator(Class<T> tableClass, List<Rule> rules) {
+        this.tableClass = tableClass;
+        this.rules = rules;
+    }
+
+    /**
+     * @param definition 配置表定义
+     * @return 校验器, 没有声明任何规则时返回 {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> FieldRuleValidator<T> of(TableDefinition definition) {
+        List<Rule> rules = new ArrayList<>(4);
+        for (Field field : definition.getFields()) {
+            Required required = field.getAnnotation(Required.class);
+            Range range = field.getAnnotation(Range.class);
+            Indexes indexes = field.getAnnotation(Indexes.class);
+            boolean unique = indexes != null && indexes.unique();
+            boolean weight = field.isAnnotationPresent(Weight.class);
+            if (required != null || range != null || unique || weight) {
+                rules.add(new Rule(field.getName(), definition.getAccessor(field), required != null, range, unique, weight));
+            }
+        }
+        return rules.isEmpty() ? null : new FieldRuleValidator<>((Class<T>) definition.getTableClass(), rules);
+    }
+
+    @Override
+    public Class<T> getTableClass() {
+        return tableClass;
+    }
+
+    @Override
+    public void validate(ValidationContext<T> context) {
+        List<T> rows = context.rows();
+        (rows.size() >= PARALLEL_THRESHOLD ? rows.parallelStream() : rows.stream()).forEach(row -> {
+            for (Rule rule : rules) {
+                Object value = rule.accessor.apply(row);
+                if (rule.required && isEmpty(value)) {
+                    context.reject(row, rule.name, "is required");
+                }
+                if (rule.range != null && value instanceof Number number) {
+                    double v = number.doubleValue();
+                    if (!(v >= rule.range.min() && v <= rule.range.max())) {
+                        context.reject(row, rule.name, String.format("%s out of range [%s, %s]", value,
+                                format(rule.range.min()), format(rule.range.max())));
+                    }
+                }
+                if (rule.weight && value instanceof Number number) {
+                    double w = number.doubleValue();
+                    if (!(w >= 0) || Double.isInfinite(w)) {
+                        context.reject(row, rule.name, String.format("weight %s must be a non-negative finite number", value));
+                    }
+                }
+            }
+        });
+        // 唯一性按行顺序检查, 重复值总是报告在后出现的行上, 每次加载的报告一致
+        for (Rule rule : rules) {
+            if (!rule.unique) {
+                continue;
+            }
+            Set<Object> seen = new HashSet<>(Math.max(16, rows.size() * 2));
+            for (T row : rows) {
+                Object value = rule.accessor.apply(row);
+                if (value != null && !seen.add(value)) {
+                    context.reject(row, rule.name, String.format("%s is not unique", value));
+                }
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Field";
+    }
+
+    private static boolean isEmpty(Object value) {
+        if (value == null) {
+            return true;
+        }
+        if (value instanceof CharSequence text) {
+            return text.isEmpty();
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.isEmpty();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.isEmpty();
+        }
+        return value.getClass().isArray() && Array.getLength(value) == 0;
+    }
+
+    private static String format(double bound) {
+        return bound == Math.rint(bound) && !Double.isInfinite(bound) ? Long.toString((long) bound) : Double.toString(bound);
+    }
+
+    private record Rule(String name, Function<Object, Object> accessor, boolean required, Range range, boolean unique,
+                        boolean weight) {
+    }
+}
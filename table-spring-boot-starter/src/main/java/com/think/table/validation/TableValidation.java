@@ -0,0 +1,65 @@
+package com.think.table.validation;
+
+import com.think.table.TableSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * 校验流水线: 字段注解声明的规则和注册的校验器在 ForkJoin 公共线程池中并行执行, 错误汇总为一份报告.
+ * 运行期加载和构建时编译共用.
+ *
+ * @author veione
+ */
+public final class TableValidation {
+
+    private TableValidation() {
+    }
+
+    /**
+     * 校验等待发布的快照
+     *
+     * @param snapshot   快照
+     * @param validators 注册的校验器
+     * @param fieldRules 是否执行字段注解声明的规则, 被依赖的配置表重新加载后只需要重新执行注册的校验器
+     * @param tables     按配置类查找其他配置表的当前快照
+     * @param collector  错误收集器, 可以已经包含引用解析等前置步骤的错误
+     * @param <T>
+     * @return 校验报告
+     */
+    public static <T> ValidationReport validate(TableSnapshot<T> snapshot, List<TableValidator<T>> validators, boolean fieldRules,
+                                                Function<Class<?>, TableSnapshot<?>> tables, ValidationReport.Collector collector) {
+        List<TableValidator<T>> all = new ArrayList<>(validators.size() + 1);
+        FieldRuleValidator<T> rules = fieldRules ? FieldRuleValidator.of(snapshot.getDefinition()) : null;
+        if (rules != null) {
+            all.add(rules);
+        }
+        all.addAll(validators);
+        if (all.size() == 1) {
+            run(all.get(0), snapshot, tables, collector);
+        } else if (!all.isEmpty()) {
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(all.size());
+            for (TableValidator<T> validator : all) {
+                tasks.add(pool.submit(() -> run(validator, snapshot, tables, collector)));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+        return collector.build();
+    }
+
+    private static <T> void run(TableValidator<T> validator, TableSnapshot<T> snapshot,
+                                Function<Class<?>, TableSnapshot<?>> tables, ValidationReport.Collector collector) {
+        ValidationContext<T> context = new ValidationContext<>(validator.getName(), snapshot, tables, collector);
+        try {
+            validator.validate(context);
+        } catch (RuntimeException e) {
+            context.reject("validator failed: " + e);
+        }
+    }
+}
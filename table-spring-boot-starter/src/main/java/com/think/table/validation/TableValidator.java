@@ -0,0 +1,34 @@
+package com.think.table.validation;
+
+/**
+ * 配置表校验器, 注册为 Spring Bean 后自动生效.
+ * <p>每次加载时在新快照发布之前执行, 同一张表的多个校验器并行执行, 任意校验器报告错误时拒绝发布,
+ * 继续使用上一次的数据. 校验器可以通过 {@link ValidationContext#getTable(Class)} 读取其他配置表做跨表校验,
+ * 被读取的配置表需要声明在 {@link com.think.table.annotation.CfgTable#dependsOn()} 中, 以保证它先加载,
+ * 并且在它重新加载后重新执行本表的校验.</p>
+ *
+ * @param <T> 配置类
+ * @author veione
+ */
+public interface TableValidator<T> {
+
+    /**
+     * @return 校验的配置类
+     */
+    Class<T> getTableClass();
+
+    /**
+     * 校验新加载的快照, 通过 {@link ValidationContext#reject} 报告错误. 会被并发调用, 实现需要是线程安全的
+     *
+     * @param context 校验上下文
+     */
+    void validate(ValidationContext<T> context);
+
+    /**
+     * @return 校验器名称, 用于错误报告, 匿名类使用完整类名
+     */
+    default String getName() {
+        String name = getClass().getSimpleName();
+        return name.isEmpty() ? getClass().getName() : name;
+    }
+}
@@ -0,0 +1,81 @@
+package com.think.table.validation;
+
+import com.think.table.TableDefinition;
+import com.think.table.TableSnapshot;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 校验上下文, 每个校验器一个
+ *
+ * @param <T> 配置类
+ * @author veione
+ */
+public final class ValidationContext<T> {
+    private final String validator;
+    private final TableSnapshot<T> snapshot;
+    private final Function<Class<?>, TableSnapshot<?>> tables;
+    private final ValidationReport.Collector collector;
+
+    ValidationContext(String validator, TableSnapshot<T> snapshot, Function<Class<?>, TableSnapshot<?>> tables,
+                      ValidationReport.Collector collector) {
+        this.validator = validator;
+        this.snapshot = snapshot;
+        this.tables = tables;
+        this.collector = collector;
+    }
+
+    public TableDefinition getDefinition() {
+        return snapshot.getDefinition();
+    }
+
+    /**
+     * @return 等待发布的快照, 引用字段已经解析
+     */
+    public TableSnapshot<T> getSnapshot() {
+        return snapshot;
+    }
+
+    public List<T> rows() {
+        return snapshot.rows();
+    }
+
+    /**
+     * 读取其他配置表的当前快照
+     *
+     * @param clazz 配置类
+     * @param <R>
+     * @return 快照, 配置表还没有加载时返回 {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public <R> TableSnapshot<R> getTable(Class<R> clazz) {
+        return (TableSnapshot<R>) tables.apply(clazz);
+    }
+
+    /**
+     * 报告某一行的错误
+     *
+     * @param row     出错的行
+     * @param field   出错的字段, 可以为 {@code null}
+     * @param message 错误信息
+     */
+    public void reject(T row, String field, String message) {
+        Object rowId;
+        try {
+            rowId = getDefinition().getIdValue(row);
+        } catch (IllegalAccessException | RuntimeException e) {
+            rowId = null;
+        }
+        collector.add(new Violation(validator, rowId, field, message));
+    }
+
+    /**
+     * 报告与具体行无关的错误
+     *
+     * @param message 错误信息
+     */
+    public void reject(String message) {
+        collector.add(new Violation(validator, null, null, message));
+    }
+}
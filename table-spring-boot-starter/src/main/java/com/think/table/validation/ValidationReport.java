@@ -0,0 +1,93 @@
+package com.think.table.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 一次加载的校验结果, 汇总所有校验器的错误
+ *
+ * @author veione
+ */
+public final class ValidationReport {
+    /**
+     * 报告中最多保留的错误数量, 超过后只计数
+     */
+    public static final int MAX_VIOLATIONS = 100;
+    private final String tableName;
+    private final List<Violation> violations;
+    private final int violationCount;
+
+    private ValidationReport(String tableName, List<Violation> violations, int violationCount) {
+        this.tableName = tableName;
+        this.violations = violations;
+        this.violationCount = violationCount;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * @return 错误, 最多 {@link #MAX_VIOLATIONS} 条
+     */
+    public List<Violation> getViolations() {
+        return violations;
+    }
+
+    /**
+     * @return 错误总数
+     */
+    public int getViolationCount() {
+        return violationCount;
+    }
+
+    public boolean isValid() {
+        return violationCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        if (isValid()) {
+            return String.format("Table %s is valid", tableName);
+        }
+        StringBuilder builder = new StringBuilder(String.format("Table %s has %d violations", tableName, violationCount));
+        for (Violation violation : violations) {
+            builder.append(System.lineSeparator()).append("  ").append(violation);
+        }
+        if (violationCount > violations.size()) {
+            builder.append(System.lineSeparator()).append("  ...");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 收集错误, 可以被多个校验器并发写入
+     */
+    public static final class Collector {
+        private final String tableName;
+        private final Queue<Violation> violations = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger count = new AtomicInteger();
+
+        public Collector(String tableName) {
+            this.tableName = tableName;
+        }
+
+        public void add(Violation violation) {
+            if (count.getAndIncrement() < MAX_VIOLATIONS) {
+                violations.add(violation);
+            }
+        }
+
+        public boolean isEmpty() {
+            return count.get() == 0;
+        }
+
+        public ValidationReport build() {
+            return new ValidationReport(tableName, Collections.unmodifiableList(new ArrayList<>(violations)), count.get());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.think.table.validation;
+
+/**
+ * 一条校验错误
+ *
+ * @param validator 校验器名称
+ * @param rowId     出错行的主键, 与具体行无关时为 {@code null}
+ * @param field     出错的字段, 与具体字段无关时为 {@code null}
+ * @param message   错误信息
+ * @author veione
+ */
+public record Violation(String validator, Object rowId, String field, String message) {
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder().append('[').append(validator).append(']');
+        if (rowId != null) {
+            builder.append(" id ").append(rowId);
+        }
+        if (field != null) {
+            builder.append(" field ").append(field);
+        }
+        return builder.append(": ").append(message).toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.think.table.reader.csv;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+
+/**
+ * 比较 {@link CSVReader} 保留和不保留原始行时每行的分配字节数.
+ * <p>不是单元测试, 在 IDE 中直接运行或者:
+ * {@code java -cp target/classes:target/test-classes:<依赖> com.think.table.reader.csv.CsvReaderAllocationBenchmark [行数]}</p>
+ *
+ * @author veione
+ */
+public final class CsvReaderAllocationBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private CsvReaderAllocationBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        String csv = generate(rows);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            read(csv, false);
+            read(csv, true);
+        }
+        long dropped = Long.MAX_VALUE;
+        long kept = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            dropped = Math.min(dropped, allocated(threads, csv, false));
+            kept = Math.min(kept, allocated(threads, csv, true));
+        }
+        System.out.printf("rows: %d%n", rows);
+        System.out.printf("raw lines dropped: %d bytes/row%n", dropped / rows);
+        System.out.printf("raw lines kept:    %d bytes/row%n", kept / rows);
+    }
+
+    private static long allocated(com.sun.management.ThreadMXBean threads, String csv, boolean keepRawLines) throws IOException {
+        long start = threads.getCurrentThreadAllocatedBytes();
+        read(csv, keepRawLines);
+        return threads.getCurrentThreadAllocatedBytes() - start;
+    }
+
+    private static long read(String csv, boolean keepRawLines) throws IOException {
+        long fields = 0;
+        try (CSVReader reader = new CSVReaderBuilder(new StringReader(csv))
+                .withCSVParser(new CSVParserBuilder().withSeparator('|').build())
+                .withKeepRawLines(keepRawLines)
+                .build()) {
+            String[] line;
+            while ((line = reader.readNext()) != null) {
+                fields += line.length;
+            }
+        }
+        return fields;
+    }
+
+    private static String generate(int rows) {
+        StringBuilder sb = new StringBuilder(rows * 32);
+        sb.append("id|name|kind|type\n");
+        for (int i = 1; i <= rows; i++) {
+            sb.append(i).append("|task").append(i).append('|').append(i % 7).append('|').append(i % 3).append('\n');
+        }
+        return sb.toString();
+    }
+}